@@ -0,0 +1,47 @@
+package aoko.bench;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import aoko.ui.Ui;
+
+/**
+ * Temporary-directory and output helpers shared by benchmarks.
+ */
+final class BenchmarkFiles {
+    private BenchmarkFiles() {
+        // utility class
+    }
+
+    static Path createTempDirectory() {
+        try {
+            return Files.createTempDirectory("aoko-bench");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void deleteRecursively(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns a UI whose output is discarded, so rendering cost is measured without terminal I/O.
+     */
+    static Ui discardingUi() {
+        return new Ui(new PrintStream(OutputStream.nullOutputStream()));
+    }
+}
@@ -0,0 +1,80 @@
+package aoko.bench;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import aoko.gui.DialogBox;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.layout.HBox;
+
+/**
+ * Measures the cost of creating one chat bubble.
+ *
+ * <p>{@code fxmlTemplate} parses {@code FxmlDialogBox.fxml}, a copy of the layout {@link DialogBox}
+ * used to load per bubble, and styles it the same way; {@code programmatic} is the current
+ * {@link DialogBox} factory. Nodes are built off the JavaFX Application Thread, which is allowed for
+ * nodes that are not yet attached to a showing scene, but the toolkit must be started.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DialogBoxBenchmark {
+    @Param({"1", "40"})
+    private int lines;
+
+    private String text;
+    private Image image;
+
+    @Setup
+    public void setUp() {
+        try {
+            Platform.startup(() -> { });
+        } catch (IllegalStateException alreadyStarted) {
+            // The toolkit can only be started once per JVM.
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; i <= lines; i++) {
+            sb.append(i).append(".[D][ ] ").append(SyntheticTasks.word(i)).append(" (by: Jan 01 2024)\n");
+        }
+        text = sb.toString();
+        image = new Image(DialogBox.class.getResourceAsStream("/images/DaDuke.jpg"));
+    }
+
+    @Benchmark
+    public HBox fxmlTemplate() throws IOException {
+        FXMLLoader loader = new FXMLLoader(DialogBoxBenchmark.class.getResource("/view/FxmlDialogBox.fxml"));
+        HBox root = new HBox();
+        loader.setRoot(root);
+        loader.load();
+        Label dialog = (Label) loader.getNamespace().get("dialog");
+        Label senderName = (Label) loader.getNamespace().get("senderName");
+        dialog.setText(text);
+        senderName.setText("Aoko");
+        dialog.getStyleClass().add("dialog-text");
+        senderName.getStyleClass().add("sender-name");
+        return root;
+    }
+
+    @Benchmark
+    public HBox programmatic() {
+        return DialogBox.getAokoDialog(text, image);
+    }
+}
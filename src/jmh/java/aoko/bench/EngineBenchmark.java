@@ -0,0 +1,92 @@
+package aoko.bench;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import aoko.AokoEngine;
+import aoko.task.QueryCache;
+import aoko.ui.Ui;
+
+/**
+ * Measures end-to-end {@link AokoEngine#process(String, Ui)} for read-only and mutating commands.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class EngineBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private Path directory;
+    private AokoEngine engine;
+    private Ui ui;
+    private int nextQuery;
+
+    /**
+     * Writes a save file of the requested size and loads it into a fresh engine.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = BenchmarkFiles.createTempDirectory();
+        engine = new AokoEngine(SyntheticTasks.writeSaveFile(directory, size, SyntheticTasks.DEFAULT_SEED));
+        ui = BenchmarkFiles.discardingUi();
+        engine.process("unmark 1", ui);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkFiles.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public boolean find() {
+        return engine.process("find " + SyntheticTasks.word(3), ui);
+    }
+
+    /**
+     * Cycles through more distinct two-word queries than the query cache holds, so every call misses the
+     * cache and scans the list, as {@link #find()} did before results were cached.
+     */
+    @Benchmark
+    public boolean findUncached() {
+        int query = nextQuery;
+        nextQuery = (nextQuery + 1) % (QueryCache.DEFAULT_MAX_ENTRIES + 1);
+        return engine.process("find " + SyntheticTasks.word(query) + " " + SyntheticTasks.word(query / 20), ui);
+    }
+
+    /**
+     * Marks the first task and undoes it, so each call persists twice and keeps the undo stack bounded.
+     */
+    @Benchmark
+    public boolean markThenUndo() {
+        engine.process("mark 1", ui);
+        return engine.process("undo", ui);
+    }
+
+    /**
+     * Adds a deadline and immediately undoes it.
+     */
+    @Benchmark
+    public boolean addThenUndo() {
+        engine.process("deadline bench /by 2/12/2019 1800", ui);
+        return engine.process("undo", ui);
+    }
+}
@@ -0,0 +1,200 @@
+package aoko.bench;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import aoko.AokoEngine;
+import aoko.metrics.LatencyHistogram;
+import aoko.ui.Ui;
+
+/**
+ * Replays a generated command stream through {@link AokoEngine} in-process and reports throughput,
+ * latency percentiles, heap high-water mark and save file growth as JSON.
+ *
+ * <p>Options (all optional): {@code --seed}, {@code --size} (target list size), {@code --commands},
+ * {@code --mix}, {@code --workdir}, {@code --out} (results JSON), {@code --emit} (also write the
+ * command stream as a text-ui-test style input file) and {@code --no-prefill}.
+ */
+public class LoadHarness {
+    private final long seed;
+    private final int targetSize;
+    private final int commandCount;
+    private final String mix;
+    private final boolean shouldPrefill;
+    private final Path workDir;
+
+    /**
+     * Creates a harness.
+     */
+    public LoadHarness(long seed, int targetSize, int commandCount, String mix, boolean shouldPrefill,
+            Path workDir) {
+        this.seed = seed;
+        this.targetSize = targetSize;
+        this.commandCount = commandCount;
+        this.mix = mix;
+        this.shouldPrefill = shouldPrefill;
+        this.workDir = workDir;
+    }
+
+    /**
+     * Runs the harness from the command line.
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        LoadHarness harness = new LoadHarness(
+                Long.parseLong(options.getOrDefault("seed", "1")),
+                Integer.parseInt(options.getOrDefault("size", "10000")),
+                Integer.parseInt(options.getOrDefault("commands", "5000")),
+                options.getOrDefault("mix", WorkloadGenerator.DEFAULT_MIX),
+                !options.containsKey("no-prefill"),
+                Paths.get(options.getOrDefault("workdir", "build/tmp/load")));
+
+        if (options.containsKey("emit")) {
+            Path emitPath = Paths.get(options.get("emit"));
+            harness.emit(emitPath);
+            System.out.println("Wrote command stream to " + emitPath);
+        }
+
+        String json = harness.run();
+        Path out = Paths.get(options.getOrDefault("out", "build/reports/load/results.json"));
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.writeString(out, json, StandardCharsets.UTF_8);
+        System.out.println(json);
+        System.out.println("Wrote results to " + out);
+    }
+
+    /**
+     * Writes the command stream that {@link #run()} would replay, one command per line.
+     */
+    public void emit(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, newGenerator().generate(commandCount), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Replays the stream and returns the results as a JSON object.
+     */
+    public String run() throws IOException {
+        Files.createDirectories(workDir);
+        Path saveFile = workDir.resolve("load-" + seed + "-" + targetSize + ".txt");
+        Files.deleteIfExists(saveFile);
+        if (shouldPrefill) {
+            Files.move(SyntheticTasks.writeSaveFile(workDir, targetSize, seed), saveFile);
+        }
+        long initialBytes = Files.exists(saveFile) ? Files.size(saveFile) : 0;
+
+        List<String> commands = newGenerator().generate(commandCount);
+        AokoEngine engine = new AokoEngine(saveFile);
+        Ui ui = BenchmarkFiles.discardingUi();
+        Map<String, LatencyHistogram> latencies = new LinkedHashMap<>();
+        LatencyHistogram overall = new LatencyHistogram();
+
+        resetPeakHeap();
+        long startNanos = System.nanoTime();
+        for (String command : commands) {
+            long commandStart = System.nanoTime();
+            engine.process(command, ui);
+            long elapsed = System.nanoTime() - commandStart;
+            overall.record(elapsed);
+            latencies.computeIfAbsent(command.split(" ", 2)[0], key -> new LatencyHistogram()).record(elapsed);
+        }
+        long totalNanos = System.nanoTime() - startNanos;
+        long peakHeapBytes = peakHeap();
+        long finalBytes = Files.exists(saveFile) ? Files.size(saveFile) : 0;
+
+        return toJson(totalNanos, overall, latencies, peakHeapBytes, initialBytes, finalBytes);
+    }
+
+    private WorkloadGenerator newGenerator() {
+        return new WorkloadGenerator(seed, mix, shouldPrefill ? targetSize : 0, targetSize);
+    }
+
+    private String toJson(long totalNanos, LatencyHistogram overall, Map<String, LatencyHistogram> latencies,
+            long peakHeapBytes, long initialBytes, long finalBytes) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"seed\": ").append(seed).append(",\n");
+        json.append("  \"targetSize\": ").append(targetSize).append(",\n");
+        json.append("  \"commands\": ").append(commandCount).append(",\n");
+        json.append("  \"mix\": \"").append(mix).append("\",\n");
+        json.append("  \"prefill\": ").append(shouldPrefill).append(",\n");
+        json.append("  \"elapsedMs\": ").append(format(totalNanos / 1_000_000.0)).append(",\n");
+        json.append("  \"throughputPerSec\": ")
+                .append(format(commandCount / Math.max(1e-9, totalNanos / 1_000_000_000.0))).append(",\n");
+        json.append("  \"peakHeapBytes\": ").append(peakHeapBytes).append(",\n");
+        json.append("  \"dataFileBytesBefore\": ").append(initialBytes).append(",\n");
+        json.append("  \"dataFileBytesAfter\": ").append(finalBytes).append(",\n");
+        json.append("  \"latencyMs\": {\n");
+        json.append("    \"all\": ").append(latencyJson(overall));
+        for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet()) {
+            json.append(",\n    \"").append(entry.getKey()).append("\": ").append(latencyJson(entry.getValue()));
+        }
+        json.append("\n  }\n");
+        json.append("}\n");
+        return json.toString();
+    }
+
+    private static String latencyJson(LatencyHistogram histogram) {
+        return "{\"count\": " + histogram.count()
+                + ", \"p50\": " + format(histogram.percentileNanos(50) / 1_000_000.0)
+                + ", \"p90\": " + format(histogram.percentileNanos(90) / 1_000_000.0)
+                + ", \"p99\": " + format(histogram.percentileNanos(99) / 1_000_000.0)
+                + ", \"max\": " + format(histogram.maxNanos() / 1_000_000.0) + "}";
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            String name = arg.substring(2);
+            if (name.equals("no-prefill")) {
+                options.put(name, "true");
+            } else if (i + 1 < args.length) {
+                options.put(name, args[++i]);
+            } else {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,49 @@
+package aoko.bench;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import aoko.parser.Parser;
+
+/**
+ * Measures {@link Parser} date parsing for each accepted input shape and for rejected input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ParserBenchmark {
+    private static final Parser.ParsedDateTime EVENT_START =
+            Parser.parseDateTime("2019-08-06 1400");
+
+    @Param({"2019-10-15", "2019-10-15 1800", "2/12/2019 18:00", "2/12/2019", "1600", "next tuesday"})
+    private String input;
+
+    @Benchmark
+    public Parser.ParsedDateTime parseDateTime() {
+        return Parser.parseDateTime(input);
+    }
+
+    @Benchmark
+    public LocalDate parseDateOnly() {
+        return Parser.parseDateOnly(input);
+    }
+
+    @Benchmark
+    public Parser.ParsedDateTime parseEventEnd() {
+        return Parser.parseEventEnd(EVENT_START, input);
+    }
+}
@@ -0,0 +1,145 @@
+package aoko.bench;
+
+import java.nio.file.Path;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import aoko.command.FindCommand;
+import aoko.command.OnCommand;
+import aoko.storage.Storage;
+import aoko.task.Task;
+import aoko.task.TaskList;
+import aoko.ui.Ui;
+
+/**
+ * Measures the read-only {@code find}, {@code on} and {@code list} paths.
+ *
+ * <p>The plain {@code find} and {@code on} benchmarks repeat one query over an unchanged list, so after
+ * the first call they measure a {@link aoko.task.QueryCache} hit. The {@code Uncached} variants make every
+ * cached result stale before each call, so they keep measuring the scan.
+ *
+ * <p>The pending counts compare the done bitset against dereferencing every task.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class QueryBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private Path directory;
+    private Storage storage;
+    private TaskList taskList;
+    private Ui ui;
+    private String onDate;
+
+    /**
+     * Prepares a generated list and a UI that discards output.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        directory = BenchmarkFiles.createTempDirectory();
+        storage = new Storage(directory.resolve("aoko.txt"));
+        taskList = SyntheticTasks.taskList(size, SyntheticTasks.DEFAULT_SEED);
+        ui = BenchmarkFiles.discardingUi();
+        onDate = SyntheticTasks.EPOCH.plusDays(SyntheticTasks.SPAN_DAYS / 2)
+                .format(DateTimeFormatter.ISO_LOCAL_DATE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkFiles.deleteRecursively(directory);
+    }
+
+    /**
+     * Advances the list version before every call by toggling the first task's done state twice, which
+     * leaves the list as it was but makes every cached query result stale.
+     */
+    @State(Scope.Benchmark)
+    public static class StaleCache {
+        @Setup(Level.Invocation)
+        public void invalidate(QueryBenchmark benchmark) {
+            TaskList taskList = benchmark.taskList;
+            if (taskList.get(0).isDone()) {
+                taskList.markNotDone(0);
+                taskList.markDone(0);
+            } else {
+                taskList.markDone(0);
+                taskList.markNotDone(0);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean findCommon() {
+        return new FindCommand(SyntheticTasks.word(0)).execute(ui, storage, taskList);
+    }
+
+    @Benchmark
+    public boolean findRare() {
+        return new FindCommand("#" + (size - 1)).execute(ui, storage, taskList);
+    }
+
+    @Benchmark
+    public boolean on() {
+        return new OnCommand(onDate).execute(ui, storage, taskList);
+    }
+
+    @Benchmark
+    public boolean findCommonUncached(StaleCache staleCache) {
+        return findCommon();
+    }
+
+    @Benchmark
+    public boolean findRareUncached(StaleCache staleCache) {
+        return findRare();
+    }
+
+    @Benchmark
+    public boolean onUncached(StaleCache staleCache) {
+        return on();
+    }
+
+    @Benchmark
+    public void showList() {
+        ui.showList(taskList);
+    }
+
+    @Benchmark
+    public void showPending() {
+        ui.showList(taskList, false);
+    }
+
+    @Benchmark
+    public int countPending() {
+        return taskList.countPending();
+    }
+
+    @Benchmark
+    public int countPendingByScan() {
+        int count = 0;
+        for (Task task : taskList.asUnmodifiableList()) {
+            if (!task.isDone()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,112 @@
+package aoko.bench;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import aoko.storage.Storage;
+import aoko.storage.TaskExporter;
+import aoko.storage.TaskImporter;
+import aoko.task.Task;
+import aoko.task.TaskList;
+
+/**
+ * Measures persistence and undo snapshots in {@link Storage}, exports through {@link TaskExporter} and
+ * imports through {@link TaskImporter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class StorageBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private Path directory;
+    private Storage loadStorage;
+    private Storage saveStorage;
+    private TaskList taskList;
+    private List<String> snapshot;
+    private Path importFile;
+
+    /**
+     * Writes a save file and a CSV export of the requested size and prepares an in-memory list and snapshot.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = BenchmarkFiles.createTempDirectory();
+        loadStorage = new Storage(SyntheticTasks.writeSaveFile(directory, size, SyntheticTasks.DEFAULT_SEED));
+        saveStorage = new Storage(directory.resolve("save-target.txt"));
+        taskList = SyntheticTasks.taskList(size, SyntheticTasks.DEFAULT_SEED);
+        snapshot = saveStorage.snapshot(taskList);
+        importFile = directory.resolve("import.csv");
+        TaskExporter.export(taskList.asUnmodifiableList(), TaskExporter.Format.CSV, importFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkFiles.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public List<Task> load() {
+        return loadStorage.load();
+    }
+
+    @Benchmark
+    public void save() {
+        saveStorage.save(taskList);
+    }
+
+    @Benchmark
+    public List<String> snapshot() {
+        return saveStorage.snapshot(taskList);
+    }
+
+    @Benchmark
+    public TaskList restore() {
+        saveStorage.restore(taskList, snapshot);
+        return taskList;
+    }
+
+    @Benchmark
+    public int exportCsv() throws IOException {
+        return TaskExporter.export(taskList.asUnmodifiableList(), TaskExporter.Format.CSV,
+                directory.resolve("export.csv"));
+    }
+
+    @Benchmark
+    public int exportIcs() throws IOException {
+        return TaskExporter.export(taskList.asUnmodifiableList(), TaskExporter.Format.ICS,
+                directory.resolve("export.ics"));
+    }
+
+    @Benchmark
+    public TaskList importCsv() throws IOException {
+        TaskList target = new TaskList();
+        TaskImporter.importInto(importFile, TaskExporter.Format.CSV, target);
+        return target;
+    }
+
+    @Benchmark
+    public int importCsvAllDuplicates() throws IOException {
+        return TaskImporter.importInto(importFile, TaskExporter.Format.CSV, taskList).duplicates;
+    }
+}
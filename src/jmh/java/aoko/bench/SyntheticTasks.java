@@ -0,0 +1,103 @@
+package aoko.bench;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import aoko.storage.Storage;
+import aoko.task.Deadline;
+import aoko.task.Event;
+import aoko.task.Task;
+import aoko.task.TaskList;
+import aoko.task.Todo;
+
+/**
+ * Generates reproducible, duplicate-free task lists for benchmarks.
+ */
+public final class SyntheticTasks {
+    /** Seed used by all benchmarks unless they need several independent lists. */
+    public static final long DEFAULT_SEED = 42L;
+
+    /** First date used for generated deadlines and events. */
+    public static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    /** Number of days over which generated deadlines and events are spread. */
+    public static final int SPAN_DAYS = 3 * 365;
+
+    private static final String[] WORDS = {
+        "report", "book", "meeting", "review", "groceries", "gym", "invoice", "lecture", "project", "call",
+        "standup", "dentist", "laundry", "budget", "slides", "essay", "rent", "backup", "garden", "tickets"
+    };
+
+    private SyntheticTasks() {
+        // utility class
+    }
+
+    /**
+     * Generates {@code size} distinct tasks: roughly half todos, a quarter deadlines and a quarter events.
+     */
+    public static List<Task> generate(int size, long seed) {
+        Random random = new Random(seed);
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(task(random, i));
+        }
+        return tasks;
+    }
+
+    /**
+     * Builds a {@link TaskList} of generated tasks without the per-add duplicate scan.
+     */
+    public static TaskList taskList(int size, long seed) {
+        TaskList taskList = new TaskList();
+        for (Task task : generate(size, seed)) {
+            taskList.add(task);
+        }
+        return taskList;
+    }
+
+    /**
+     * Writes a save file containing {@code size} generated tasks and returns its path.
+     */
+    public static Path writeSaveFile(Path directory, int size, long seed) throws IOException {
+        Path saveFile = directory.resolve("aoko-" + size + ".txt");
+        new Storage(saveFile).save(taskList(size, seed));
+        return saveFile;
+    }
+
+    /**
+     * Returns a description word, useful for building queries that hit generated tasks.
+     */
+    public static String word(int index) {
+        return WORDS[Math.floorMod(index, WORDS.length)];
+    }
+
+    private static Task task(Random random, int index) {
+        String description = word(random.nextInt(WORDS.length)) + " " + word(random.nextInt(WORDS.length))
+                + " #" + index;
+        LocalDateTime start = EPOCH.plusDays(random.nextInt(SPAN_DAYS)).plusMinutes(15L * random.nextInt(96));
+        boolean hasTime = random.nextBoolean();
+        if (!hasTime) {
+            start = start.toLocalDate().atStartOfDay();
+        }
+
+        Task task;
+        int kind = random.nextInt(4);
+        if (kind == 0) {
+            task = new Deadline(description, start, hasTime);
+        } else if (kind == 1) {
+            LocalDateTime end = hasTime ? start.plusMinutes(30L + 30L * random.nextInt(6)) : start.plusDays(
+                    random.nextInt(3));
+            task = new Event(description, start, hasTime, end, hasTime);
+        } else {
+            task = new Todo(description);
+        }
+        if (random.nextBoolean()) {
+            task.markDone();
+        }
+        return task;
+    }
+}
@@ -0,0 +1,77 @@
+package aoko.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import aoko.task.Task;
+import aoko.task.TaskList;
+import aoko.task.Todo;
+
+/**
+ * Measures duplicate-checked insertion into and construction of a {@link TaskList}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class TaskListBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private List<Task> tasks;
+    private TaskList taskList;
+    private Task existing;
+    private long counter;
+
+    /**
+     * Builds the list under test without duplicate checks so setup cost stays linear.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = SyntheticTasks.generate(size, SyntheticTasks.DEFAULT_SEED);
+        taskList = SyntheticTasks.taskList(size, SyntheticTasks.DEFAULT_SEED);
+        existing = tasks.get(tasks.size() - 1);
+    }
+
+    /**
+     * Adds a new task (full duplicate scan) and removes it again to keep the size fixed.
+     */
+    @Benchmark
+    public boolean addIfNotDuplicate() {
+        boolean added = taskList.addIfNotDuplicate(new Todo("bench task " + counter++));
+        taskList.remove(taskList.size() - 1);
+        return added;
+    }
+
+    /**
+     * Offers a task that duplicates the last entry, so the scan runs over the whole list.
+     */
+    @Benchmark
+    public boolean addDuplicate() {
+        return taskList.addIfNotDuplicate(existing);
+    }
+
+    /**
+     * Constructs a list the way {@code AokoEngine} does after loading a save file.
+     */
+    @Benchmark
+    @Measurement(iterations = 1)
+    public TaskList construct() {
+        return new TaskList(tasks);
+    }
+}
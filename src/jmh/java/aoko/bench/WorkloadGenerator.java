@@ -0,0 +1,155 @@
+package aoko.bench;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates reproducible streams of user commands for load testing.
+ *
+ * <p>The same seed, mix and sizes always produce the same stream. The generator tracks the expected
+ * list size so that index-based commands stay mostly valid. Once the target size is reached, adds
+ * are turned into deletes so the list stays around that size.
+ */
+public class WorkloadGenerator {
+    /**
+     * Command kinds that can appear in a generated stream.
+     */
+    public enum Kind {
+        TODO, DEADLINE, EVENT, MARK, DELETE, FIND, ON, UNDO
+    }
+
+    /** Default mix: mostly adds and marks with a steady share of queries. */
+    public static final String DEFAULT_MIX = "todo=25,deadline=15,event=15,mark=15,delete=10,find=10,on=5,undo=5";
+
+    private static final DateTimeFormatter DMY = DateTimeFormatter.ofPattern("d/M/uuuu", Locale.ENGLISH);
+
+    private final Random random;
+    private final Map<Kind, Integer> weights;
+    private final int totalWeight;
+    private final int targetSize;
+    private int expectedSize;
+    private long serial;
+
+    /**
+     * Creates a generator.
+     *
+     * @param seed Random seed.
+     * @param mix Weights such as {@code "todo=30,find=10"}; kinds that are not listed get weight 0.
+     * @param initialSize Number of tasks already in the list when the stream starts.
+     * @param targetSize List size at which adds turn into deletes.
+     */
+    public WorkloadGenerator(long seed, String mix, int initialSize, int targetSize) {
+        assert initialSize >= 0 : "Initial size must not be negative";
+        assert targetSize >= 0 : "Target size must not be negative";
+        this.random = new Random(seed);
+        this.weights = parseMix(mix);
+        this.totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("Mix must give at least one command a positive weight: " + mix);
+        }
+        this.targetSize = targetSize;
+        this.expectedSize = initialSize;
+    }
+
+    /**
+     * Parses a mix such as {@code "todo=30,deadline=10"} into weights per kind.
+     */
+    public static Map<Kind, Integer> parseMix(String mix) {
+        Map<Kind, Integer> parsed = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            parsed.put(kind, 0);
+        }
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected <command>=<weight> but got: " + entry);
+            }
+            Kind kind = Kind.valueOf(pair[0].trim().toUpperCase(Locale.ROOT));
+            parsed.put(kind, Integer.parseInt(pair[1].trim()));
+        }
+        return parsed;
+    }
+
+    /**
+     * Generates the next {@code count} commands.
+     */
+    public List<String> generate(int count) {
+        List<String> commands = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            commands.add(next());
+        }
+        return commands;
+    }
+
+    /**
+     * Generates one command.
+     */
+    public String next() {
+        Kind kind = pickKind();
+        boolean isAdd = kind == Kind.TODO || kind == Kind.DEADLINE || kind == Kind.EVENT;
+        if (isAdd && expectedSize >= targetSize && expectedSize > 0) {
+            kind = Kind.DELETE;
+        }
+        if ((kind == Kind.MARK || kind == Kind.DELETE) && expectedSize == 0) {
+            kind = Kind.TODO;
+        }
+
+        return switch (kind) {
+        case TODO -> added("todo " + description());
+        case DEADLINE -> added("deadline " + description() + " /by " + randomDate().format(DMY) + " "
+                + String.format(Locale.ROOT, "%02d%02d", random.nextInt(24), 15 * random.nextInt(4)));
+        case EVENT -> added(event());
+        case MARK -> (random.nextBoolean() ? "mark " : "unmark ") + randomIndex();
+        case DELETE -> {
+            String command = "delete " + randomIndex();
+            expectedSize--;
+            yield command;
+        }
+        case FIND -> "find " + SyntheticTasks.word(random.nextInt(20));
+        case ON -> "on " + randomDate();
+        case UNDO -> "undo";
+        };
+    }
+
+    private Kind pickKind() {
+        int roll = random.nextInt(totalWeight);
+        for (Map.Entry<Kind, Integer> entry : weights.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new AssertionError("Weights must cover the roll");
+    }
+
+    private String added(String command) {
+        expectedSize++;
+        return command;
+    }
+
+    private String event() {
+        LocalDate date = randomDate();
+        int startHour = 8 + random.nextInt(10);
+        int endHour = startHour + 1 + random.nextInt(2);
+        return "event " + description() + " /from " + date + " " + String.format(Locale.ROOT, "%02d00", startHour)
+                + " /to " + String.format(Locale.ROOT, "%02d00", endHour);
+    }
+
+    private String description() {
+        return SyntheticTasks.word(random.nextInt(20)) + " load " + serial++;
+    }
+
+    private LocalDate randomDate() {
+        return SyntheticTasks.EPOCH.toLocalDate().plusDays(random.nextInt(SyntheticTasks.SPAN_DAYS));
+    }
+
+    private int randomIndex() {
+        return 1 + random.nextInt(Math.max(1, expectedSize));
+    }
+}
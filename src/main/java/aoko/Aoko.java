@@ -26,6 +26,7 @@ public class Aoko {
         assert engine != null : "Engine should be constructed";
 
         engine.showWelcome(ui);
+        engine.startReminders(System.out::print);
         try (Scanner scanner = new Scanner(System.in)) {
             while (scanner.hasNextLine()) {
                 String userInput = scanner.nextLine().trim();
@@ -40,5 +41,6 @@ public class Aoko {
                 }
             }
         }
+        engine.shutdown();
     }
 }
@@ -1,24 +1,49 @@
 package aoko;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import aoko.command.AokoCommand;
 import aoko.command.CommandFactory;
+import aoko.jfr.CommandExecutionEvent;
+import aoko.jfr.UndoEvent;
+import aoko.metrics.EngineMetrics;
 import aoko.parser.Parser;
+import aoko.reminder.ReminderScheduler;
 import aoko.storage.Storage;
+import aoko.task.QueryCache;
 import aoko.task.TaskList;
+import aoko.task.TaskListListener;
 import aoko.ui.Ui;
 
 /**
  * Stateful execution engine for Aoko commands.
+ *
+ * <p>Commands act on the active workspace, a named task list with its own save file and undo history.
+ * {@code use <name>} switches workspaces; see {@link WorkspaceCache} for how they are loaded and unloaded.
  */
 public class AokoEngine {
+    /** System property naming a file that metrics are written to on {@link #shutdown()}. */
+    public static final String METRICS_FILE_PROPERTY = "aoko.metrics.file";
+
+    /** System property overriding how many minutes before a deadline or event reminders fire. */
+    public static final String REMINDER_LEAD_PROPERTY = "aoko.reminder.lead.minutes";
+
+    /** System property overriding how many workspaces are kept in memory at once. */
+    public static final String MAX_LOADED_WORKSPACES_PROPERTY = "aoko.workspaces.max.loaded";
+
+    /** Number of workspaces kept in memory at once unless {@value #MAX_LOADED_WORKSPACES_PROPERTY} is set. */
+    public static final int DEFAULT_MAX_LOADED_WORKSPACES = 4;
+
     private static class Captured<T> {
         private final String output;
         private final T result;
@@ -51,31 +76,48 @@ public class AokoEngine {
         }
     }
 
-    private final Storage storage;
-    private final TaskList tasks;
-    private final Deque<List<String>> undoStack;
+    private final EngineMetrics metrics;
+    private final WorkspaceCache workspaces;
+    private final List<TaskListListener> hostListeners = new ArrayList<>();
+    private Workspace active;
+    private Storage storage;
+    private TaskList tasks;
+    private ReminderScheduler reminders;
 
     /**
      * Creates an engine backed by the given save path.
      *
-     * @param savePath Path of the save file.
+     * @param savePath Path of the default workspace's save file; other workspaces are saved beside it.
      */
     public AokoEngine(Path savePath) {
+        this(savePath, maxLoadedWorkspaces());
+    }
+
+    AokoEngine(Path savePath, int maxLoadedWorkspaces) {
         assert savePath != null : "Save path must not be null";
-        this.storage = new Storage(savePath);
+        this.metrics = new EngineMetrics();
+        this.workspaces = new WorkspaceCache(savePath, maxLoadedWorkspaces,
+                nanos -> metrics.record(EngineMetrics.Phase.PERSIST, nanos));
+        activate(workspaces.get(workspaces.getDefaultName()));
         assert this.storage != null : "Storage should be constructed";
-
-        var loadedTasks = storage.load();
-        assert loadedTasks != null : "Storage.load() must not return null";
-
-        this.tasks = new TaskList(loadedTasks);
         assert this.tasks != null : "TaskList should be constructed";
-        this.undoStack = new ArrayDeque<>();
+    }
+
+    private static int maxLoadedWorkspaces() {
+        String count = System.getProperty(MAX_LOADED_WORKSPACES_PROPERTY);
+        if (count == null || count.isBlank()) {
+            return DEFAULT_MAX_LOADED_WORKSPACES;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(count.trim()));
+        } catch (NumberFormatException e) {
+            return DEFAULT_MAX_LOADED_WORKSPACES;
+        }
     }
 
     private static boolean isUndoableMutation(Parser.Command command) {
         return switch (command) {
-        case TODO, DEADLINE, EVENT, DELETE, MARK, UNMARK -> true;
+        case TODO, DEADLINE, EVENT, DELETE, MARK, UNMARK, IMPORT, MERGE -> true;
         default -> false;
         };
     }
@@ -99,61 +141,233 @@ public class AokoEngine {
         assert storage != null : "Storage must be initialized";
         assert tasks != null : "Task list must be initialized";
 
+        CommandExecutionEvent event = new CommandExecutionEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
         Parser.ParsedCommand parsed = Parser.parseCommand(userInput);
+        boolean shouldExit = false;
+        try {
+            shouldExit = dispatch(parsed, ui, startNanos);
+            return shouldExit;
+        } finally {
+            metrics.record(parsed.command, System.nanoTime() - startNanos);
+            event.end();
+            if (event.shouldCommit()) {
+                event.setCommand(parsed.command.name());
+                event.setInputLength(userInput.length());
+                event.setShouldExit(shouldExit);
+                event.commit();
+            }
+        }
+    }
+
+    private boolean dispatch(Parser.ParsedCommand parsed, Ui ui, long startNanos) {
+        assert parsed != null : "Parser.parseCommand must not return null";
+        assert parsed.parts != null : "Parsed command parts must not be null";
+        assert parsed.remainder != null : "Parsed remainder must not be null";
 
         if (parsed.command == Parser.Command.UNDO) {
+            metrics.record(EngineMetrics.Phase.PARSE, System.nanoTime() - startNanos);
             undo(ui);
             return false;
         }
+        if (parsed.command == Parser.Command.USE) {
+            metrics.record(EngineMetrics.Phase.PARSE, System.nanoTime() - startNanos);
+            use(parsed.remainder, ui);
+            return false;
+        }
+        if (parsed.command == Parser.Command.STATS) {
+            metrics.record(EngineMetrics.Phase.PARSE, System.nanoTime() - startNanos);
+            QueryCache queryCache = tasks.getQueryCache();
+            ui.showStats(tasks.size(), storage.sizeInBytes(), queryCache.getHits(), queryCache.getMisses(),
+                    metrics.formatTable());
+            return false;
+        }
+
+        AokoCommand command = CommandFactory.fromParsed(parsed, active.listCursor);
+        assert command != null : "CommandFactory must always return a command";
+        metrics.record(EngineMetrics.Phase.PARSE, System.nanoTime() - startNanos);
 
         List<String> beforeSnapshot = null;
         if (isUndoableMutation(parsed.command)) {
-            beforeSnapshot = storage.snapshot(tasks);
+            beforeSnapshot = timedSnapshot();
         }
+        long versionBefore = tasks.getVersion();
 
-        assert parsed != null : "Parser.parseCommand must not return null";
-        assert parsed.parts != null : "Parsed command parts must not be null";
-        assert parsed.remainder != null : "Parsed remainder must not be null";
-
-        AokoCommand command = CommandFactory.fromParsed(parsed);
         boolean shouldExit;
+        long executeStartNanos = System.nanoTime();
         try {
             shouldExit = command.execute(ui, storage, tasks);
         } catch (RuntimeException e) {
             ui.showMessageBlock("Something went wrong while executing that command.");
             return false;
+        } finally {
+            metrics.record(EngineMetrics.Phase.EXECUTE, System.nanoTime() - executeStartNanos);
         }
-        assert command != null : "CommandFactory must always return a command";
         if (shouldExit) {
             ui.showBye();
         }
 
-        if (!shouldExit && beforeSnapshot != null) {
-            List<String> afterSnapshot = storage.snapshot(tasks);
-            if (!afterSnapshot.equals(beforeSnapshot)) {
-                undoStack.push(beforeSnapshot);
-            }
+        if (!shouldExit && beforeSnapshot != null && tasks.getVersion() != versionBefore) {
+            active.undoStack.push(beforeSnapshot);
         }
         return shouldExit;
     }
 
+    private List<String> timedSnapshot() {
+        long startNanos = System.nanoTime();
+        List<String> snapshot = storage.snapshot(tasks);
+        metrics.record(EngineMetrics.Phase.UNDO_SNAPSHOT, System.nanoTime() - startNanos);
+        return snapshot;
+    }
+
+    /**
+     * Switches to workspace {@code name}, or lists the workspaces if no name is given.
+     */
+    private void use(String rawName, Ui ui) {
+        if (rawName.isBlank()) {
+            ui.showWorkspaces(List.copyOf(workspaces.names()), active.name);
+            return;
+        }
+        String name = Workspace.normalizeName(rawName);
+        if (name == null) {
+            ui.showMessageBlock("Workspace names use letters, digits, - and _ (e.g., \"use work\").");
+            return;
+        }
+        if (!name.equals(active.name)) {
+            for (TaskListListener listener : hostListeners) {
+                tasks.removeListener(listener);
+            }
+            activate(workspaces.get(name));
+            for (TaskListListener listener : hostListeners) {
+                tasks.addListener(listener);
+                listener.tasksReplaced(tasks.asUnmodifiableList());
+            }
+        }
+        ui.showWorkspace(name, tasks.size());
+    }
+
+    private void activate(Workspace workspace) {
+        active = workspace;
+        storage = workspace.storage;
+        tasks = workspace.tasks;
+    }
+
+    /**
+     * Returns the name of the active workspace.
+     */
+    public String getWorkspaceName() {
+        return active.name;
+    }
+
+    /**
+     * Registers a listener for changes to the task list and immediately passes it the current contents
+     * through {@link TaskListListener#tasksReplaced(List)}. After {@code use} switches workspaces, the
+     * listener follows the new list and is passed its contents the same way.
+     *
+     * <p>Call this on the thread that runs commands, so the initial contents and later changes arrive in order.
+     */
+    public void addTaskListListener(TaskListListener listener) {
+        assert listener != null : "Listener must not be null";
+        hostListeners.add(listener);
+        tasks.addListener(listener);
+        listener.tasksReplaced(tasks.asUnmodifiableList());
+    }
+
+    /**
+     * Starts reminding the user of upcoming deadlines and event starts.
+     *
+     * <p>Each reminder is rendered like any other reply and passed to {@code sink} from a background thread.
+     * Call this on the thread that runs commands, as for {@link #addTaskListListener(TaskListListener)}.
+     */
+    public void startReminders(Consumer<String> sink) {
+        assert sink != null : "Reminder sink must not be null";
+        if (reminders != null) {
+            return;
+        }
+        reminders = new ReminderScheduler(Clock.systemDefaultZone(), reminderLead(),
+                due -> sink.accept(render(ui -> ui.showReminders(due))));
+        addTaskListListener(reminders);
+        reminders.start();
+    }
+
+    private static Duration reminderLead() {
+        String minutes = System.getProperty(REMINDER_LEAD_PROPERTY);
+        if (minutes == null || minutes.isBlank()) {
+            return ReminderScheduler.DEFAULT_LEAD;
+        }
+        try {
+            return Duration.ofMinutes(Math.max(0, Long.parseLong(minutes.trim())));
+        } catch (NumberFormatException e) {
+            return ReminderScheduler.DEFAULT_LEAD;
+        }
+    }
+
+    private static String render(Consumer<Ui> printer) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PrintStream ps = new PrintStream(baos, true, StandardCharsets.UTF_8)) {
+            printer.accept(new Ui(ps));
+            return baos.toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Returns the latency metrics collected by this engine.
+     */
+    public EngineMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Releases engine resources before the application exits, including the reminder thread.
+     *
+     * <p>If the {@value #METRICS_FILE_PROPERTY} system property is set, the metrics table is written
+     * to that file.
+     */
+    public void shutdown() {
+        if (reminders != null) {
+            reminders.stop();
+        }
+        String metricsFile = System.getProperty(METRICS_FILE_PROPERTY);
+        if (metricsFile == null || metricsFile.isBlank()) {
+            return;
+        }
+        try {
+            metrics.dump(Paths.get(metricsFile.trim()));
+        } catch (IOException e) {
+            System.err.println("Failed to write metrics: " + e.getMessage());
+        }
+    }
+
     /**
      * Undoes the most recent successful state-changing command.
      */
     private void undo(Ui ui) {
         assert ui != null : "ui must not be null";
 
-        if (undoStack.isEmpty()) {
+        if (active.undoStack.isEmpty()) {
             ui.showUndoEmpty();
             return;
         }
 
-        List<String> snapshot = undoStack.pop();
+        UndoEvent event = new UndoEvent();
+        event.begin();
+        List<String> snapshot = active.undoStack.pop();
+        boolean succeeded = false;
         try {
             storage.restore(tasks, snapshot);
+            succeeded = true;
             ui.showUndoSuccess();
         } catch (RuntimeException e) {
             ui.showMessageBlock("Failed to undo the most recent change.");
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.setRemainingHistory(active.undoStack.size());
+                event.setRestoredTaskCount(tasks.size());
+                event.setSucceeded(succeeded);
+                event.commit();
+            }
         }
     }
 
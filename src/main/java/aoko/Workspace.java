@@ -0,0 +1,72 @@
+package aoko;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.LongConsumer;
+import java.util.regex.Pattern;
+
+import aoko.command.ListCursor;
+import aoko.storage.Storage;
+import aoko.task.TaskList;
+
+/**
+ * One named task list with its save file, undo history and paging position.
+ */
+final class Workspace {
+    private static final Pattern NAME = Pattern.compile("[a-z0-9][a-z0-9_-]{0,63}");
+
+    final String name;
+    final Storage storage;
+    final TaskList tasks;
+    final Deque<List<String>> undoStack = new ArrayDeque<>();
+    final ListCursor listCursor = new ListCursor();
+    private final long loadedVersion;
+
+    private Workspace(String name, Storage storage, TaskList tasks) {
+        this.name = name;
+        this.storage = storage;
+        this.tasks = tasks;
+        this.loadedVersion = tasks.getVersion();
+        tasks.addListener(listCursor);
+    }
+
+    /**
+     * Loads a workspace from its save file; a missing file gives an empty list.
+     *
+     * @param saveObserver Receives the duration of every save, in nanoseconds.
+     */
+    static Workspace load(String name, Path savePath, LongConsumer saveObserver) {
+        assert name != null : "Workspace name must not be null";
+        assert savePath != null : "Save path must not be null";
+        Storage storage = new Storage(savePath);
+        storage.setSaveObserver(saveObserver);
+        return new Workspace(name, storage, new TaskList(storage.load()));
+    }
+
+    /**
+     * Lower-cases a workspace name and checks it: a letter or digit, then up to 63 letters, digits,
+     * {@code -} or {@code _}, so every name is also a safe file name.
+     *
+     * @return Normalized name, or {@code null} if invalid.
+     */
+    static String normalizeName(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        String name = raw.trim().toLowerCase(Locale.ROOT);
+        return NAME.matcher(name).matches() ? name : null;
+    }
+
+    /**
+     * Saves the list if it changed since it was loaded and that change has not been saved yet.
+     */
+    void flush() {
+        long version = tasks.getVersion();
+        if (version != loadedVersion && version != storage.getSavedVersion()) {
+            storage.save(tasks);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package aoko;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.LongConsumer;
+
+/**
+ * Keeps the most recently used workspaces in memory, loading others from the data directory on demand.
+ *
+ * <p>Workspace {@code name} is saved as {@code name.txt} beside the default save file, which keeps its own
+ * path. Resident workspaces are kept in access order; once more than the limit are loaded, the least
+ * recently used one is flushed to disk and dropped along with its undo history, so memory follows the
+ * number of lists in use rather than the number on disk.
+ */
+final class WorkspaceCache {
+    private static final String EXTENSION = ".txt";
+
+    private final Path directory;
+    private final String defaultName;
+    private final Path defaultPath;
+    private final int maxLoaded;
+    private final LongConsumer saveObserver;
+    private final LinkedHashMap<String, Workspace> loaded = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Creates a cache whose default workspace is saved at {@code defaultPath}.
+     *
+     * @param maxLoaded Largest number of workspaces kept in memory; at least 1.
+     * @param saveObserver Receives the duration of every save, in nanoseconds.
+     */
+    WorkspaceCache(Path defaultPath, int maxLoaded, LongConsumer saveObserver) {
+        assert defaultPath != null : "Default save path must not be null";
+        assert maxLoaded >= 1 : "At least one workspace must stay loaded";
+        Path parent = defaultPath.toAbsolutePath().getParent();
+        this.directory = parent == null ? defaultPath.toAbsolutePath() : parent;
+        this.defaultPath = defaultPath;
+        String fileName = defaultPath.getFileName().toString();
+        String baseName = fileName.endsWith(EXTENSION)
+                ? fileName.substring(0, fileName.length() - EXTENSION.length())
+                : fileName;
+        String normalized = Workspace.normalizeName(baseName);
+        this.defaultName = normalized == null ? "default" : normalized;
+        this.maxLoaded = maxLoaded;
+        this.saveObserver = saveObserver;
+    }
+
+    String getDefaultName() {
+        return defaultName;
+    }
+
+    /**
+     * Returns a workspace, loading it if it is not in memory and unloading the least recently used one if
+     * that takes the cache past its limit.
+     *
+     * @param name Normalized workspace name.
+     */
+    Workspace get(String name) {
+        assert Workspace.normalizeName(name) != null : "Invalid workspace name: " + name;
+        Workspace workspace = loaded.get(name);
+        if (workspace != null) {
+            return workspace;
+        }
+        workspace = Workspace.load(name, pathOf(name), saveObserver);
+        loaded.put(name, workspace);
+        Iterator<Workspace> leastRecent = loaded.values().iterator();
+        while (loaded.size() > maxLoaded) {
+            leastRecent.next().flush();
+            leastRecent.remove();
+        }
+        return workspace;
+    }
+
+    boolean isLoaded(String name) {
+        return loaded.containsKey(name);
+    }
+
+    /**
+     * Returns the names of all workspaces, in memory or on disk, in alphabetical order.
+     */
+    Set<String> names() {
+        Set<String> names = new TreeSet<>(loaded.keySet());
+        names.add(defaultName);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String baseName = fileName.substring(0, fileName.length() - EXTENSION.length());
+                if (baseName.equals(Workspace.normalizeName(baseName)) && Files.isRegularFile(file)) {
+                    names.add(baseName);
+                }
+            }
+        } catch (IOException e) {
+            // the directory does not exist until something is saved
+        }
+        return names;
+    }
+
+    private Path pathOf(String name) {
+        return name.equals(defaultName) ? defaultPath : directory.resolve(name + EXTENSION);
+    }
+
+    /**
+     * Returns the number of workspaces in memory.
+     */
+    int loadedCount() {
+        return loaded.size();
+    }
+}
@@ -7,25 +7,46 @@ import aoko.parser.Parser;
  */
 public class CommandFactory {
     /**
-     * Maps a parsed command to the corresponding executable command object.
+     * Maps a parsed command to the corresponding executable command object, with no paged listing to
+     * continue.
      */
     public static AokoCommand fromParsed(Parser.ParsedCommand parsed) {
+        return fromParsed(parsed, new ListCursor());
+    }
+
+    /**
+     * Maps a parsed command to the corresponding executable command object.
+     *
+     * @param listCursor Position shared by paged {@code list} and {@code more} commands.
+     */
+    public static AokoCommand fromParsed(Parser.ParsedCommand parsed, ListCursor listCursor) {
         assert parsed != null : "Parsed command must not be null";
         assert parsed.command != null : "Parsed command type must not be null";
         assert parsed.parts != null : "Parsed parts must not be null";
         assert parsed.parts.length >= 1 : "Parsed parts must include the command word";
         assert parsed.remainder != null : "Parsed remainder must not be null";
         return switch (parsed.command) {
-        case LIST -> new ListCommand();
+        case LIST -> new ListCommand(parsed.remainder, listCursor);
+        case MORE -> new MoreCommand(listCursor);
         case ON -> new OnCommand(parsed.remainder);
         case FIND -> new FindCommand(parsed.remainder);
+        case QUERY -> new QueryCommand(parsed.remainder);
+        case UPCOMING -> new UpcomingCommand(parsed.parts);
+        case OVERDUE -> new OverdueCommand();
+        case FREE -> new FreeCommand(parsed.remainder);
+        case SUMMARY -> new SummaryCommand();
+        case EXPORT -> new ExportCommand(parsed.remainder);
+        case IMPORT -> new ImportCommand(parsed.remainder);
+        case MERGE -> new MergeCommand(parsed.remainder);
         case DELETE -> new DeleteCommand(parsed.parts);
         case MARK -> new MarkCommand(parsed.parts);
         case UNMARK -> new UnmarkCommand(parsed.parts);
         case TODO -> new TodoCommand(parsed.remainder);
         case DEADLINE -> new DeadlineCommand(parsed.remainder);
         case EVENT -> new EventCommand(parsed.remainder);
+        case USE -> new UnknownCommand();
         case UNDO -> new UnknownCommand();
+        case STATS -> new UnknownCommand();
         case BYE -> new ByeCommand();
         case UNKNOWN -> new UnknownCommand();
         };
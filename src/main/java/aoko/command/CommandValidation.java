@@ -28,7 +28,12 @@ final class CommandValidation {
         return index;
     }
 
-    static void addTaskAndPersist(Task task, TaskList tasks, Storage storage, Ui ui) {
+    /**
+     * Adds a task unless it duplicates one already in the list, then saves and confirms.
+     *
+     * @return Whether the task was added.
+     */
+    static boolean addTaskAndPersist(Task task, TaskList tasks, Storage storage, Ui ui) {
         assert task != null : "task must not be null";
         assert tasks != null : "tasks must not be null";
         assert storage != null : "storage must not be null";
@@ -38,10 +43,11 @@ final class CommandValidation {
             ui.showMessageBlock(
                     "Hah. Nice try.",
                     "That exact task is already in your list - I'm a magician, not a copy machine.");
-            return;
+            return false;
         }
 
         storage.save(tasks);
         ui.showAdded(task, tasks.size());
+        return true;
     }
 }
@@ -1,5 +1,7 @@
 package aoko.command;
 
+import java.util.List;
+
 import aoko.parser.Parser;
 import aoko.storage.Storage;
 import aoko.task.Deadline;
@@ -15,14 +17,17 @@ public class DeadlineCommand implements AokoCommand {
             "Please use: deadline <description> /by <by> (e.g., \"deadline return book /by Sunday\").";
 
     private final String remainder;
+    private final List<String> tags;
 
     /**
      * Creates a deadline command.
      *
-     * @param remainder User input after the command word.
+     * @param remainder User input after the command word; {@code #tag} words anywhere in it become tags.
      */
     public DeadlineCommand(String remainder) {
-        this.remainder = remainder == null ? "" : remainder;
+        Parser.TaggedText tagged = Parser.extractTags(remainder);
+        this.remainder = tagged.text;
+        this.tags = tagged.tags;
         assert this.remainder != null : "Remainder must not be null";
     }
 
@@ -58,6 +63,7 @@ public class DeadlineCommand implements AokoCommand {
 
         Task task = new Deadline(description, dateTime.dateTime, dateTime.hasTime);
         assert task != null : "Constructed task must not be null";
+        task.setTags(tags);
         CommandValidation.addTaskAndPersist(task, tasks, storage, ui);
         return false;
     }
@@ -1,28 +1,40 @@
 package aoko.command;
 
+import java.time.LocalDate;
+import java.util.List;
+
 import aoko.parser.Parser;
 import aoko.storage.Storage;
 import aoko.task.Event;
+import aoko.task.Recurrence;
+import aoko.task.RecurringEvent;
 import aoko.task.Task;
 import aoko.task.TaskList;
 import aoko.ui.Ui;
 
 /**
- * Adds an event task with a start and end date/time.
+ * Adds an event task with a start and end date/time, optionally repeating.
+ *
+ * <p>The event is added even if it clashes with other undone events; the clashes are listed afterwards.
  */
 public class EventCommand implements AokoCommand {
     private static final String EVENT_USAGE = "Please use: event <description> /from <from> /to <to> "
             + "(e.g., \"event project meeting /from Mon 2pm /to 4pm\").";
+    private static final String REPEAT_USAGE = "To repeat an event, add: /every <day|week|month> "
+            + "[/until <date> | /count <n>] (e.g., \"/every week /until 2025-12-31\").";
 
     private final String remainder;
+    private final List<String> tags;
 
     /**
      * Creates an event command.
      *
-     * @param remainder User input after the command word.
+     * @param remainder User input after the command word; {@code #tag} words anywhere in it become tags.
      */
     public EventCommand(String remainder) {
-        this.remainder = remainder == null ? "" : remainder;
+        Parser.TaggedText tagged = Parser.extractTags(remainder);
+        this.remainder = tagged.text;
+        this.tags = tagged.tags;
         assert this.remainder != null : "Remainder must not be null";
     }
 
@@ -40,9 +52,10 @@ public class EventCommand implements AokoCommand {
             return false;
         }
 
+        int everyIndex = remainder.indexOf("/every", toIndex);
         String description = remainder.substring(0, fromIndex).trim();
         String from = remainder.substring(fromIndex + 5, toIndex).trim();
-        String to = remainder.substring(toIndex + 3).trim();
+        String to = remainder.substring(toIndex + 3, everyIndex < 0 ? remainder.length() : everyIndex).trim();
         if (description.isEmpty() || from.isEmpty() || to.isEmpty()) {
             ui.showMessageBlock(EVENT_USAGE);
             return false;
@@ -76,14 +89,65 @@ public class EventCommand implements AokoCommand {
 
         assert !toParsed.dateTime.isBefore(fromParsed.dateTime) : "Event end must not be before start";
 
-        Task task = new Event(
-            description,
-            fromParsed.dateTime,
-            fromParsed.hasTime,
-            toParsed.dateTime,
-            toParsed.hasTime);
+        Task task;
+        if (everyIndex < 0) {
+            task = new Event(
+                description,
+                fromParsed.dateTime,
+                fromParsed.hasTime,
+                toParsed.dateTime,
+                toParsed.hasTime);
+        } else {
+            Recurrence recurrence = parseRecurrence(remainder.substring(everyIndex + 6));
+            if (recurrence == null) {
+                ui.showMessageBlock(REPEAT_USAGE);
+                return false;
+            }
+            if (recurrence.getUntil() != null && recurrence.getUntil().isBefore(fromParsed.dateTime.toLocalDate())) {
+                ui.showMessageBlock("The repeat end must not be before the event start.");
+                return false;
+            }
+            task = new RecurringEvent(description, fromParsed.dateTime, fromParsed.hasTime, toParsed.dateTime,
+                    toParsed.hasTime, recurrence);
+        }
         assert task != null : "Constructed task must not be null";
-        CommandValidation.addTaskAndPersist(task, tasks, storage, ui);
+        task.setTags(tags);
+        List<Task> conflicts = tasks.getEventIndex().conflictsWith(task);
+        if (CommandValidation.addTaskAndPersist(task, tasks, storage, ui) && !conflicts.isEmpty()) {
+            ui.showConflicts(conflicts);
+        }
         return false;
     }
+
+    /**
+     * Parses {@code <day|week|month> [/until <date> | /count <n>]}.
+     *
+     * @return Parsed rule, or {@code null} if invalid.
+     */
+    private static Recurrence parseRecurrence(String raw) {
+        int untilIndex = raw.indexOf("/until");
+        int countIndex = raw.indexOf("/count");
+        if (untilIndex >= 0 && countIndex >= 0) {
+            return null;
+        }
+        int endIndex = Math.max(untilIndex, countIndex);
+        Recurrence.Frequency frequency = Recurrence.Frequency.parse(
+                endIndex < 0 ? raw : raw.substring(0, endIndex));
+        if (frequency == null) {
+            return null;
+        }
+        if (untilIndex >= 0) {
+            LocalDate until = Parser.parseDateOnly(raw.substring(untilIndex + 6));
+            return until == null ? null : Recurrence.until(frequency, until);
+        }
+        if (countIndex >= 0) {
+            try {
+                int count = Integer.parseInt(raw.substring(countIndex + 6).trim());
+                return count < 1 ? null : Recurrence.times(frequency, count);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return Recurrence.forever(frequency);
+    }
 }
@@ -0,0 +1,59 @@
+package aoko.command;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import aoko.storage.Storage;
+import aoko.storage.TaskExporter;
+import aoko.task.TaskList;
+import aoko.ui.Ui;
+
+/**
+ * Writes every task to a file as CSV, JSON Lines or iCalendar.
+ */
+public class ExportCommand implements AokoCommand {
+    private static final String USAGE = "Please use: export <csv|jsonl|ics> <path> "
+            + "(e.g., \"export csv data/tasks.csv\").";
+
+    private final String remainder;
+
+    /**
+     * Creates an export command.
+     *
+     * @param remainder User input after the command word: the format, then the path.
+     */
+    public ExportCommand(String remainder) {
+        this.remainder = remainder == null ? "" : remainder.trim();
+    }
+
+    @Override
+    public boolean execute(Ui ui, Storage storage, TaskList tasks) {
+        assert ui != null : "UI must not be null";
+        assert storage != null : "Storage must not be null";
+        assert tasks != null : "Task list must not be null";
+
+        String[] words = remainder.split("\\s+", 2);
+        TaskExporter.Format format = TaskExporter.Format.parse(words[0]);
+        if (format == null || words.length < 2) {
+            ui.showMessageBlock(USAGE);
+            return false;
+        }
+
+        Path path;
+        try {
+            path = Paths.get(words[1].trim());
+        } catch (InvalidPathException e) {
+            ui.showMessageBlock("That doesn't look like a file path: " + words[1].trim());
+            return false;
+        }
+        try {
+            int count = TaskExporter.export(tasks.asUnmodifiableList(), format, path);
+            ui.showExported(count, format.name(), path);
+        } catch (IOException e) {
+            ui.showMessageBlock("Couldn't write " + path + ": " + e.getMessage());
+        }
+        return false;
+    }
+}
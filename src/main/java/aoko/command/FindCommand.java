@@ -2,16 +2,30 @@ package aoko.command;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
 
+import aoko.parser.Parser;
 import aoko.storage.Storage;
+import aoko.task.FuzzyIndex;
 import aoko.task.Task;
 import aoko.task.TaskList;
 import aoko.ui.Ui;
 
 /**
  * Finds tasks whose description contains a given keyword.
+ *
+ * <p>A keyword starting with {@code ~} is matched fuzzily instead: every word of it must be within a few
+ * edits of some word of the description, and results are ranked by how close they are. {@code /max <n>}
+ * sets the number of edits allowed per word.
+ *
+ * <p>{@code #tag} words in the keyword find the tasks carrying all of those tags; any other words must
+ * then also appear in the description.
  */
 public class FindCommand implements AokoCommand {
+    private static final String FUZZY_PREFIX = "~";
+    private static final String MAX_FLAG = "/max";
+
     private final String keyword;
 
     /**
@@ -36,16 +50,81 @@ public class FindCommand implements AokoCommand {
             return false;
         }
 
+        if (keyword.startsWith(FUZZY_PREFIX)) {
+            findFuzzy(ui, tasks, keyword.substring(FUZZY_PREFIX.length()));
+            return false;
+        }
+
+        Parser.TaggedText tagged = Parser.extractTags(keyword);
+        if (!tagged.tags.isEmpty()) {
+            findTagged(ui, tasks, tagged.tags, tagged.text.toLowerCase());
+            return false;
+        }
+
         String needle = keyword.toLowerCase();
+        List<Task> matches = tasks.getQueryCache().get("find:" + needle, () -> scan(tasks, needle));
+        ui.showFind(matches);
+        return false;
+    }
+
+    private static void findFuzzy(Ui ui, TaskList tasks, String query) {
+        int maxDistance = -1;
+        int maxIndex = query.indexOf(MAX_FLAG);
+        if (maxIndex >= 0) {
+            try {
+                maxDistance = Integer.parseInt(query.substring(maxIndex + MAX_FLAG.length()).trim());
+            } catch (NumberFormatException e) {
+                maxDistance = Integer.MIN_VALUE;
+            }
+            query = query.substring(0, maxIndex);
+        }
+        List<String> words = FuzzyIndex.words(query);
+        if (words.isEmpty() || (maxIndex >= 0 && (maxDistance < 0 || maxDistance > FuzzyIndex.MAX_DISTANCE))) {
+            ui.showMessageBlock("Please use: find ~<keyword> [/max <0-" + FuzzyIndex.MAX_DISTANCE + ">] "
+                    + "(e.g., \"find ~bok\" or \"find ~meeting /max 1\").");
+            return;
+        }
+
+        String normalized = String.join(" ", words);
+        int distance = maxDistance;
+        List<Task> matches = tasks.getQueryCache().get("fuzzy:" + distance + ":" + normalized,
+                () -> rank(tasks.getFuzzyIndex().search(normalized, distance)));
+        ui.showFind(matches);
+    }
+
+    private static void findTagged(Ui ui, TaskList tasks, List<String> tags, String needle) {
+        TreeSet<String> normalized = new TreeSet<>();
+        for (String tag : tags) {
+            normalized.add(tag.toLowerCase(Locale.ROOT));
+        }
+        List<Task> matches = tasks.getQueryCache().get("tags:" + String.join(" ", normalized) + ":" + needle,
+                () -> filter(tasks.getTagIndex().withAllTags(normalized), needle));
+        ui.showFind(matches);
+    }
+
+    private static List<Task> rank(List<FuzzyIndex.Match> matches) {
+        List<Task> ranked = new ArrayList<>(matches.size());
+        for (FuzzyIndex.Match match : matches) {
+            ranked.add(match.getTask());
+        }
+        return ranked;
+    }
+
+    private static List<Task> scan(TaskList tasks, String needle) {
+        return filter(tasks.asUnmodifiableList(), needle);
+    }
+
+    private static List<Task> filter(List<Task> candidates, String needle) {
+        if (needle.isEmpty()) {
+            return candidates;
+        }
         List<Task> matches = new ArrayList<>();
-        for (Task task : tasks.asUnmodifiableList()) {
+        for (Task task : candidates) {
             assert task != null : "Task list must not contain null entries";
             if (task.getDescription().toLowerCase().contains(needle)) {
                 matches.add(task);
             }
         }
-
-        ui.showFind(matches);
-        return false;
+        return matches;
     }
 }
@@ -0,0 +1,67 @@
+package aoko.command;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import aoko.parser.Parser;
+import aoko.storage.Storage;
+import aoko.task.EventIndex;
+import aoko.task.TaskList;
+import aoko.ui.Ui;
+
+/**
+ * Lists the gaps between undone events on a date that are at least a given length.
+ */
+public class FreeCommand implements AokoCommand {
+    /** Shortest slot shown when no duration is given. */
+    static final Duration DEFAULT_DURATION = Duration.ofMinutes(30);
+
+    private static final String FREE_USAGE = "Please use: free <date> [duration] "
+            + "(e.g., \"free 2019-10-15\" or \"free 2/12/2019 1h30m\").";
+
+    private final String remainder;
+
+    /**
+     * Creates a free command.
+     *
+     * @param remainder User input after the command word.
+     */
+    public FreeCommand(String remainder) {
+        this.remainder = remainder == null ? "" : remainder;
+    }
+
+    @Override
+    public boolean execute(Ui ui, Storage storage, TaskList tasks) {
+        assert ui != null : "UI must not be null";
+        assert storage != null : "Storage must not be null";
+        assert tasks != null : "Task list must not be null";
+
+        String[] args = remainder.trim().split("\\s+");
+        if (remainder.trim().isEmpty() || args.length > 2) {
+            ui.showMessageBlock(FREE_USAGE);
+            return false;
+        }
+
+        LocalDate date = Parser.parseDateOnly(args[0]);
+        if (date == null) {
+            ui.showMessageBlock(
+                    "I couldn't understand that date.",
+                    "Try: yyyy-MM-dd (e.g., 2019-10-15) or d/M/yyyy (e.g., 2/12/2019)");
+            return false;
+        }
+
+        Duration minLength = DEFAULT_DURATION;
+        if (args.length == 2) {
+            minLength = Parser.parseDuration(args[1]);
+            if (minLength == null) {
+                ui.showMessageBlock("I couldn't understand that duration.", "Try: 45m, 2h or 1h30m");
+                return false;
+            }
+        }
+
+        List<EventIndex.Slot> slots = tasks.getEventIndex().freeSlots(date, minLength);
+        ui.showFreeSlots(date, slots);
+        return false;
+    }
+}
@@ -0,0 +1,81 @@
+package aoko.command;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import aoko.storage.Storage;
+import aoko.storage.TaskExporter;
+import aoko.storage.TaskImporter;
+import aoko.task.TaskList;
+import aoko.ui.Ui;
+
+/**
+ * Adds every new task from a CSV, JSON Lines or iCalendar file, then saves once.
+ */
+public class ImportCommand implements AokoCommand {
+    private static final String USAGE = "Please use: import [csv|jsonl|ics] <path>; without a format, the file "
+            + "must end in .csv, .jsonl or .ics (e.g., \"import data/tasks.csv\").";
+
+    private final String remainder;
+
+    /**
+     * Creates an import command.
+     *
+     * @param remainder User input after the command word: an optional format, then the path.
+     */
+    public ImportCommand(String remainder) {
+        this.remainder = remainder == null ? "" : remainder.trim();
+    }
+
+    @Override
+    public boolean execute(Ui ui, Storage storage, TaskList tasks) {
+        assert ui != null : "UI must not be null";
+        assert storage != null : "Storage must not be null";
+        assert tasks != null : "Task list must not be null";
+
+        String[] words = remainder.split("\\s+", 2);
+        TaskExporter.Format format = words.length == 2 ? TaskExporter.Format.parse(words[0]) : null;
+        String rawPath = format == null ? remainder : words[1].trim();
+        if (rawPath.isEmpty()) {
+            ui.showMessageBlock(USAGE);
+            return false;
+        }
+
+        Path path;
+        try {
+            path = Paths.get(rawPath);
+        } catch (InvalidPathException e) {
+            ui.showMessageBlock("That doesn't look like a file path: " + rawPath);
+            return false;
+        }
+        if (format == null) {
+            format = TaskImporter.formatOf(path);
+        }
+        if (format == null) {
+            ui.showMessageBlock(USAGE);
+            return false;
+        }
+
+        int sizeBefore = tasks.size();
+        try {
+            TaskImporter.Result result = TaskImporter.importInto(path, format, tasks);
+            if (result.imported > 0) {
+                storage.save(tasks);
+            }
+            ui.showImported(result.imported, result.duplicates, result.rejected, tasks.size());
+        } catch (NoSuchFileException e) {
+            ui.showMessageBlock("I couldn't find " + path + ".");
+        } catch (IOException e) {
+            int imported = tasks.size() - sizeBefore;
+            if (imported > 0) {
+                storage.save(tasks);
+            }
+            ui.showMessageBlock("Couldn't read " + path + ": " + e.getMessage(),
+                    "Imported " + imported + " tasks before the error.");
+        }
+        return false;
+    }
+}
@@ -5,15 +5,102 @@ import aoko.task.TaskList;
 import aoko.ui.Ui;
 
 /**
- * Lists all tasks currently in the task list.
+ * Lists the tasks in the task list: all of them, only the done or pending ones, or just their counts.
+ *
+ * <p>Given an offset, and optionally a page size, it prints one page instead and leaves a {@link ListCursor}
+ * behind for {@code more}. Rows go straight to the output as they are read, so a page costs the same
+ * however long the list is.
  */
 public class ListCommand implements AokoCommand {
+    /** Number of tasks on a page when only an offset is given. */
+    static final int DEFAULT_PAGE_SIZE = 20;
+
+    private static final String USAGE = "Please use: list [done|pending] [offset] [limit], or list count "
+            + "(e.g., \"list 40 20\" shows tasks 41 to 60).";
+
+    private final String view;
+    private final ListCursor cursor;
+
+    /**
+     * Creates a list command that shows every task.
+     */
+    public ListCommand() {
+        this("", new ListCursor());
+    }
+
+    /**
+     * Creates a list command.
+     *
+     * @param view Remainder after the command word: {@code [done|pending] [offset] [limit]} or {@code count}.
+     * @param cursor Where a paged listing records its position for {@code more}.
+     */
+    public ListCommand(String view, ListCursor cursor) {
+        this.view = view;
+        this.cursor = cursor;
+    }
+
     @Override
     public boolean execute(Ui ui, Storage storage, TaskList tasks) {
         assert ui != null : "UI must not be null";
         assert storage != null : "Storage must not be null";
         assert tasks != null : "Task list must not be null";
-        ui.showList(tasks);
+        assert view != null : "View must not be null";
+        assert cursor != null : "Cursor must not be null";
+
+        String[] words = view.trim().toLowerCase().split("\\s+");
+        if (words[0].equals("count") && words.length == 1) {
+            ui.showListCounts(tasks.size(), tasks.countDone(), tasks.countPending());
+            return false;
+        }
+
+        Boolean isDone = switch (words[0]) {
+        case "done" -> true;
+        case "pending" -> false;
+        default -> null;
+        };
+        int first = isDone == null ? 0 : 1;
+        if (words[0].isEmpty() || words.length == first) {
+            cursor.clear();
+            if (isDone == null) {
+                ui.showList(tasks);
+            } else {
+                ui.showList(tasks, isDone);
+            }
+            return false;
+        }
+
+        Integer offset = parseCount(words, first, 0);
+        Integer limit = parseCount(words, first + 1, DEFAULT_PAGE_SIZE);
+        if (words.length > first + 2 || offset == null || limit == null || limit < 1) {
+            ui.showMessageBlock(USAGE);
+            return false;
+        }
+        int fromIndex = isDone == null ? offset : tasks.indexOfNthWithDone(offset, isDone);
+        showPage(ui, tasks, cursor, isDone, fromIndex < 0 ? tasks.size() : fromIndex, limit);
         return false;
     }
+
+    /**
+     * Prints a page starting at list index {@code fromIndex} and moves the cursor past it.
+     */
+    static void showPage(Ui ui, TaskList tasks, ListCursor cursor, Boolean isDone, int fromIndex, int limit) {
+        int next = ui.showListPage(tasks, isDone, fromIndex, limit);
+        if (next < 0) {
+            cursor.clear();
+        } else {
+            cursor.moveTo(isDone, tasks.positionKey(next), limit);
+        }
+    }
+
+    private static Integer parseCount(String[] words, int index, int fallback) {
+        if (index >= words.length) {
+            return fallback;
+        }
+        try {
+            int value = Integer.parseInt(words[index]);
+            return value < 0 ? null : value;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
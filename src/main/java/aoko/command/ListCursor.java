@@ -0,0 +1,53 @@
+package aoko.command;
+
+import java.util.List;
+
+import aoko.task.Task;
+import aoko.task.TaskListListener;
+
+/**
+ * Remembers where the last page of {@code list} stopped, so {@code more} can continue from there.
+ *
+ * <p>The position is kept as the {@link aoko.task.TaskList#positionKey} of the next task rather than its
+ * number, so deleting or adding tasks between pages neither repeats nor skips the tasks still to come.
+ * Replacing the whole list, as {@code undo} does, gives every task a new key, so a cursor registered as a
+ * listener of its list forgets its position then instead of resuming at the wrong task.
+ */
+public class ListCursor implements TaskListListener {
+    private boolean hasNext;
+    private Boolean isDone;
+    private long nextKey;
+    private int limit;
+
+    boolean hasNext() {
+        return hasNext;
+    }
+
+    Boolean getDoneFilter() {
+        return isDone;
+    }
+
+    long getNextKey() {
+        return nextKey;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    void moveTo(Boolean isDone, long nextKey, int limit) {
+        this.hasNext = true;
+        this.isDone = isDone;
+        this.nextKey = nextKey;
+        this.limit = limit;
+    }
+
+    void clear() {
+        hasNext = false;
+    }
+
+    @Override
+    public void tasksReplaced(List<Task> tasks) {
+        clear();
+    }
+}
@@ -39,9 +39,8 @@ public class MarkCommand implements AokoCommand {
 
         assert index >= 1 && index <= tasks.size() : "Validated index must be within range";
 
-        Task task = tasks.get(index - 1);
+        Task task = tasks.markDone(index - 1);
         assert task != null : "Getting a valid index should return a task";
-        task.markDone();
         storage.save(tasks);
         ui.showMarked(task);
         return false;
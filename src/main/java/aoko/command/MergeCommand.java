@@ -0,0 +1,70 @@
+package aoko.command;
+
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import aoko.storage.Storage;
+import aoko.task.Task;
+import aoko.task.TaskList;
+import aoko.task.TaskMerger;
+import aoko.ui.Ui;
+
+/**
+ * Merges the tasks from another Aoko save file into the task list, then saves once.
+ */
+public class MergeCommand implements AokoCommand {
+    private static final String USAGE = "Please use: merge <path> [keep-done|keep-current|prefer-incoming] "
+            + "(e.g., \"merge backup/aoko.txt prefer-incoming\").";
+
+    private final String remainder;
+
+    /**
+     * Creates a merge command.
+     *
+     * @param remainder User input after the command word: the path, then an optional done-state policy.
+     */
+    public MergeCommand(String remainder) {
+        this.remainder = remainder == null ? "" : remainder.trim();
+    }
+
+    @Override
+    public boolean execute(Ui ui, Storage storage, TaskList tasks) {
+        assert ui != null : "UI must not be null";
+        assert storage != null : "Storage must not be null";
+        assert tasks != null : "Task list must not be null";
+
+        int lastSpace = remainder.lastIndexOf(' ');
+        TaskMerger.Policy policy = lastSpace < 0 ? null : TaskMerger.Policy.parse(remainder.substring(lastSpace + 1));
+        String rawPath = policy == null ? remainder : remainder.substring(0, lastSpace).trim();
+        if (policy == null) {
+            policy = TaskMerger.Policy.KEEP_DONE;
+        }
+        if (rawPath.isEmpty()) {
+            ui.showMessageBlock(USAGE);
+            return false;
+        }
+
+        Path path;
+        try {
+            path = Paths.get(rawPath);
+        } catch (InvalidPathException e) {
+            ui.showMessageBlock("That doesn't look like a file path: " + rawPath);
+            return false;
+        }
+        if (!Files.isRegularFile(path)) {
+            ui.showMessageBlock("I couldn't find " + path + ".");
+            return false;
+        }
+
+        List<Task> incoming = new Storage(path).load();
+        TaskMerger.Result result = TaskMerger.merge(tasks, incoming, policy);
+        if (result.added > 0 || result.updated > 0) {
+            storage.save(tasks);
+        }
+        ui.showMerged(result.added, result.updated, result.unchanged, tasks.size());
+        return false;
+    }
+}
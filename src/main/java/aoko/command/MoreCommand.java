@@ -0,0 +1,37 @@
+package aoko.command;
+
+import aoko.storage.Storage;
+import aoko.task.TaskList;
+import aoko.ui.Ui;
+
+/**
+ * Shows the next page of the last paged {@code list}.
+ */
+public class MoreCommand implements AokoCommand {
+    private final ListCursor cursor;
+
+    /**
+     * Creates a more command.
+     *
+     * @param cursor Position left behind by the last paged listing.
+     */
+    public MoreCommand(ListCursor cursor) {
+        this.cursor = cursor;
+    }
+
+    @Override
+    public boolean execute(Ui ui, Storage storage, TaskList tasks) {
+        assert ui != null : "UI must not be null";
+        assert storage != null : "Storage must not be null";
+        assert tasks != null : "Task list must not be null";
+        assert cursor != null : "Cursor must not be null";
+
+        if (!cursor.hasNext()) {
+            ui.showMessageBlock("Nothing more to show. Start a page with \"list <offset> [limit]\" first.");
+            return false;
+        }
+        ListCommand.showPage(ui, tasks, cursor, cursor.getDoneFilter(), tasks.indexAtOrAfterKey(cursor.getNextKey()),
+                cursor.getLimit());
+        return false;
+    }
+}
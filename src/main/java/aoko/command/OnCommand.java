@@ -1,6 +1,7 @@
 package aoko.command;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -8,12 +9,15 @@ import aoko.parser.Parser;
 import aoko.storage.Storage;
 import aoko.task.Deadline;
 import aoko.task.Event;
+import aoko.task.RecurringEvent;
 import aoko.task.Task;
 import aoko.task.TaskList;
 import aoko.ui.Ui;
 
 /**
  * Lists deadline/event tasks that occur on a specified date.
+ *
+ * <p>A recurring event that occurs on the date is listed as that day's occurrence.
  */
 public class OnCommand implements AokoCommand {
     private final String remainder;
@@ -49,6 +53,12 @@ public class OnCommand implements AokoCommand {
             return false;
         }
 
+        List<Task> matches = tasks.getQueryCache().get("on:" + date, () -> scan(tasks, date));
+        ui.showOn(date, matches);
+        return false;
+    }
+
+    private static List<Task> scan(TaskList tasks, LocalDate date) {
         List<Task> matches = new ArrayList<>();
         for (Task task : tasks.asUnmodifiableList()) {
             assert task != null : "Task list must not contain null entries";
@@ -66,10 +76,12 @@ public class OnCommand implements AokoCommand {
                         && (date.isEqual(toDate) || date.isBefore(toDate))) {
                     matches.add(task);
                 }
+                continue;
+            }
+            if (task instanceof RecurringEvent recurring) {
+                matches.addAll(recurring.occurrencesBetween(date.atStartOfDay(), date.atTime(LocalTime.MAX), 1));
             }
         }
-
-        ui.showOn(date, matches);
-        return false;
+        return matches;
     }
 }
@@ -0,0 +1,39 @@
+package aoko.command;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import aoko.storage.Storage;
+import aoko.task.Task;
+import aoko.task.TaskList;
+import aoko.ui.Ui;
+
+/**
+ * Lists undone deadlines whose due date has passed, oldest first.
+ */
+public class OverdueCommand implements AokoCommand {
+    private final Clock clock;
+
+    /**
+     * Creates an overdue command that uses the system clock.
+     */
+    public OverdueCommand() {
+        this(Clock.systemDefaultZone());
+    }
+
+    OverdueCommand(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean execute(Ui ui, Storage storage, TaskList tasks) {
+        assert ui != null : "UI must not be null";
+        assert storage != null : "Storage must not be null";
+        assert tasks != null : "Task list must not be null";
+
+        List<Task> overdue = tasks.getDeadlineIndex().overdue(LocalDateTime.now(clock));
+        ui.showOverdue(overdue);
+        return false;
+    }
+}
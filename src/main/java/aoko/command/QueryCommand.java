@@ -0,0 +1,59 @@
+package aoko.command;
+
+import java.util.List;
+
+import aoko.query.Query;
+import aoko.query.QueryPlan;
+import aoko.storage.Storage;
+import aoko.task.Task;
+import aoko.task.TaskList;
+import aoko.ui.Ui;
+
+/**
+ * Lists tasks matching a filter such as {@code type:D done:0 before:2026-12-01 text:report}.
+ *
+ * <p>Starting the filter with {@code explain} also shows how the query was answered.
+ */
+public class QueryCommand implements AokoCommand {
+    private static final String EXPLAIN = "explain";
+
+    private final String remainder;
+
+    /**
+     * Creates a query command.
+     *
+     * @param remainder User input after the command word.
+     */
+    public QueryCommand(String remainder) {
+        this.remainder = remainder == null ? "" : remainder.trim();
+    }
+
+    @Override
+    public boolean execute(Ui ui, Storage storage, TaskList tasks) {
+        assert ui != null : "UI must not be null";
+        assert storage != null : "Storage must not be null";
+        assert tasks != null : "Task list must not be null";
+
+        String filter = remainder;
+        boolean isExplain = filter.equals(EXPLAIN) || filter.startsWith(EXPLAIN + " ");
+        if (isExplain) {
+            filter = filter.substring(EXPLAIN.length()).trim();
+        }
+
+        Query query;
+        try {
+            query = Query.parse(filter);
+        } catch (IllegalArgumentException e) {
+            ui.showMessageBlock(e.getMessage(), "Please use: query [explain] " + Query.SYNTAX);
+            return false;
+        }
+
+        QueryPlan plan = QueryPlan.plan(query, tasks);
+        if (isExplain) {
+            ui.showQueryPlan(plan.describe());
+        }
+        List<Task> matches = tasks.getQueryCache().get("query:" + query, plan::execute);
+        ui.showFind(matches);
+        return false;
+    }
+}
@@ -0,0 +1,41 @@
+package aoko.command;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+import aoko.storage.Storage;
+import aoko.task.TaskAggregates;
+import aoko.task.TaskList;
+import aoko.ui.Ui;
+
+/**
+ * Shows open and done counts per task type and per week due, read from incrementally kept aggregates.
+ */
+public class SummaryCommand implements AokoCommand {
+    /** Number of weeks, starting with the current one, listed individually. */
+    static final int WEEKS_SHOWN = 8;
+
+    private final Clock clock;
+
+    /**
+     * Creates a summary command that uses the system clock.
+     */
+    public SummaryCommand() {
+        this(Clock.systemDefaultZone());
+    }
+
+    SummaryCommand(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean execute(Ui ui, Storage storage, TaskList tasks) {
+        assert ui != null : "UI must not be null";
+        assert storage != null : "Storage must not be null";
+        assert tasks != null : "Task list must not be null";
+
+        LocalDate thisWeek = TaskAggregates.weekOf(LocalDate.now(clock));
+        ui.showSummary(tasks.getAggregates(), thisWeek, WEEKS_SHOWN);
+        return false;
+    }
+}
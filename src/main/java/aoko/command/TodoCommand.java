@@ -1,5 +1,8 @@
 package aoko.command;
 
+import java.util.List;
+
+import aoko.parser.Parser;
 import aoko.storage.Storage;
 import aoko.task.Task;
 import aoko.task.TaskList;
@@ -14,14 +17,17 @@ public class TodoCommand implements AokoCommand {
             "Please provide a description for a todo (e.g., \"todo borrow book\").";
 
     private final String remainder;
+    private final List<String> tags;
 
     /**
      * Creates a todo command.
      *
-     * @param remainder User input after the command word.
+     * @param remainder User input after the command word; {@code #tag} words anywhere in it become tags.
      */
     public TodoCommand(String remainder) {
-        this.remainder = remainder == null ? "" : remainder;
+        Parser.TaggedText tagged = Parser.extractTags(remainder);
+        this.remainder = tagged.text;
+        this.tags = tagged.tags;
         assert this.remainder != null : "Remainder must not be null";
     }
 
@@ -39,6 +45,7 @@ public class TodoCommand implements AokoCommand {
 
         Task task = new Todo(remainder.trim());
         assert task != null : "Constructed task must not be null";
+        task.setTags(tags);
         CommandValidation.addTaskAndPersist(task, tasks, storage, ui);
         return false;
     }
@@ -39,9 +39,8 @@ public class UnmarkCommand implements AokoCommand {
 
         assert index >= 1 && index <= tasks.size() : "Validated index must be within range";
 
-        Task task = tasks.get(index - 1);
+        Task task = tasks.markNotDone(index - 1);
         assert task != null : "Getting a valid index should return a task";
-        task.markNotDone();
         storage.save(tasks);
         ui.showUnmarked(task);
         return false;
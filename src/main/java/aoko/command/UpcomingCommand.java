@@ -0,0 +1,58 @@
+package aoko.command;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import aoko.parser.Parser;
+import aoko.storage.Storage;
+import aoko.task.Task;
+import aoko.task.TaskList;
+import aoko.ui.Ui;
+
+/**
+ * Lists the next undone deadlines and events, soonest first.
+ */
+public class UpcomingCommand implements AokoCommand {
+    /** Number of tasks shown when no count is given. */
+    static final int DEFAULT_COUNT = 5;
+
+    private final String[] parts;
+    private final Clock clock;
+
+    /**
+     * Creates an upcoming command.
+     *
+     * @param parts Tokenized user input (command and optional count).
+     */
+    public UpcomingCommand(String[] parts) {
+        this(parts, Clock.systemDefaultZone());
+    }
+
+    UpcomingCommand(String[] parts, Clock clock) {
+        this.parts = parts;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean execute(Ui ui, Storage storage, TaskList tasks) {
+        assert ui != null : "UI must not be null";
+        assert storage != null : "Storage must not be null";
+        assert tasks != null : "Task list must not be null";
+        assert parts != null : "Tokenized parts must not be null";
+
+        int count = DEFAULT_COUNT;
+        if (parts.length > 1) {
+            Integer parsed = Parser.parseIndex(parts);
+            if (parsed == null || parsed < 1) {
+                ui.showMessageBlock("Please provide a positive number of tasks to show (e.g., \"upcoming 3\").");
+                return false;
+            }
+            count = parsed;
+        }
+
+        List<Task> upcoming = tasks.getDeadlineIndex().upcoming(LocalDateTime.now(clock), count);
+        ui.showUpcoming(upcoming);
+        return false;
+    }
+}
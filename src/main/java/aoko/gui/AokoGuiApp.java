@@ -17,6 +17,7 @@ import javafx.stage.Stage;
  */
 public class AokoGuiApp extends Application {
     private AokoEngine engine;
+    private MainWindow mainWindow;
 
     private static Path resolveSavePath(List<String> rawArgs) {
         assert rawArgs == null || !rawArgs.contains(null) 
@@ -45,10 +46,10 @@ public class AokoGuiApp extends Application {
             AnchorPane ap = fxmlLoader.load();
             assert ap != null : "Main window root must not be null";
 
-            MainWindow controller = fxmlLoader.getController();
-            assert controller != null : "MainWindow controller must not be null";
-            controller.setEngine(engine);
-            controller.showBotMessage(engine.welcomeToString());
+            mainWindow = fxmlLoader.getController();
+            assert mainWindow != null : "MainWindow controller must not be null";
+            mainWindow.setEngine(engine);
+            mainWindow.showBotMessage(engine.welcomeToString());
 
             Scene scene = new Scene(ap);
             stage.setTitle("Aoko");
@@ -58,4 +59,14 @@ public class AokoGuiApp extends Application {
             throw new IllegalStateException("Failed to load GUI layout", e);
         }
     }
+
+    @Override
+    public void stop() {
+        if (mainWindow != null) {
+            mainWindow.shutdown();
+        }
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
 }
@@ -0,0 +1,67 @@
+package aoko.gui;
+
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.image.Image;
+
+/**
+ * Transcript cell that renders a {@link ChatMessage} part with a reused {@link DialogBox}.
+ *
+ * <p>The list view only creates enough cells to fill the viewport and rebinds them while scrolling,
+ * so each cell builds at most one dialog box per speaker over its lifetime.
+ */
+class ChatCell extends ListCell<ChatMessage> {
+    /** Horizontal space kept free for the list view's scroll bar and insets. */
+    private static final double SCROLL_BAR_ALLOWANCE = 20.0;
+
+    private final ListView<ChatMessage> listView;
+    private final Image userImage;
+    private final Image aokoImage;
+    private DialogBox userBox;
+    private DialogBox aokoBox;
+
+    ChatCell(ListView<ChatMessage> listView, Image userImage, Image aokoImage) {
+        assert listView != null : "Transcript list view must not be null";
+        assert userImage != null : "User image must not be null";
+        assert aokoImage != null : "Bot image must not be null";
+        this.listView = listView;
+        this.userImage = userImage;
+        this.aokoImage = aokoImage;
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        setPrefWidth(0);
+    }
+
+    @Override
+    protected void updateItem(ChatMessage item, boolean isEmpty) {
+        super.updateItem(item, isEmpty);
+        if (isEmpty || item == null) {
+            setGraphic(null);
+            return;
+        }
+
+        DialogBox box = boxFor(item.getSpeaker());
+        box.showMessage(item);
+        setGraphic(box);
+    }
+
+    private DialogBox boxFor(ChatMessage.Speaker speaker) {
+        if (speaker == ChatMessage.Speaker.USER) {
+            if (userBox == null) {
+                userBox = newBox(speaker, userImage);
+            }
+            return userBox;
+        }
+        if (aokoBox == null) {
+            aokoBox = newBox(speaker, aokoImage);
+        }
+        return aokoBox;
+    }
+
+    private DialogBox newBox(ChatMessage.Speaker speaker, Image img) {
+        DialogBox box = DialogBox.create(speaker, img);
+        box.prefWidthProperty().bind(listView.widthProperty().subtract(SCROLL_BAR_ALLOWANCE));
+        box.maxWidthProperty().bind(box.prefWidthProperty());
+        return box;
+    }
+}
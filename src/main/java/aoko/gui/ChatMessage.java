@@ -0,0 +1,171 @@
+package aoko.gui;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One row of the chat transcript: a slice of a message from the user or from Aoko.
+ *
+ * <p>Long messages are split into parts of at most {@link #LINES_PER_PART} lines so the transcript
+ * only lays out the parts that are scrolled into view. Parts keep offsets into the original text
+ * instead of copies, and the displayed text is only built when a cell shows the part.
+ */
+final class ChatMessage {
+    /**
+     * Who sent a message.
+     */
+    enum Speaker {
+        USER("Alice"),
+        AOKO("Aoko");
+
+        private final String displayName;
+
+        Speaker(String displayName) {
+            this.displayName = displayName;
+        }
+
+        String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    /** Maximum number of lines rendered by a single transcript row. */
+    static final int LINES_PER_PART = 40;
+
+    private static final int MIN_DIVIDER_LENGTH = 5;
+
+    private final Speaker speaker;
+    private final String source;
+    private final int start;
+    private final int end;
+    private final boolean isFirstPart;
+    private final boolean isLastPart;
+    private final boolean hasDividers;
+
+    private ChatMessage(Speaker speaker, String source, int start, int end, boolean isFirstPart,
+            boolean isLastPart, boolean hasDividers) {
+        this.speaker = speaker;
+        this.source = source;
+        this.start = start;
+        this.end = end;
+        this.isFirstPart = isFirstPart;
+        this.isLastPart = isLastPart;
+        this.hasDividers = hasDividers;
+    }
+
+    /**
+     * Splits a message into transcript rows of at most {@link #LINES_PER_PART} lines each.
+     */
+    static List<ChatMessage> split(Speaker speaker, String text) {
+        return split(speaker, text, LINES_PER_PART);
+    }
+
+    /**
+     * Splits a message into transcript rows of at most {@code linesPerPart} lines each.
+     */
+    static List<ChatMessage> split(Speaker speaker, String text, int linesPerPart) {
+        assert speaker != null : "Speaker must not be null";
+        assert text != null : "Message text must not be null";
+        assert linesPerPart > 0 : "Parts must hold at least one line";
+
+        List<Integer> partStarts = new ArrayList<>();
+        partStarts.add(0);
+        boolean hasDividers = false;
+        int linesInPart = 0;
+        int lineStart = 0;
+        while (lineStart < text.length()) {
+            int lineEnd = lineEnd(text, lineStart);
+            if (isDivider(text, lineStart, lineEnd)) {
+                hasDividers = true;
+            } else if (linesInPart == linesPerPart) {
+                partStarts.add(lineStart);
+                linesInPart = 1;
+            } else {
+                linesInPart++;
+            }
+            lineStart = lineEnd + 1;
+        }
+
+        List<ChatMessage> parts = new ArrayList<>(partStarts.size());
+        for (int i = 0; i < partStarts.size(); i++) {
+            boolean isLast = i == partStarts.size() - 1;
+            int partEnd = isLast ? text.length() : partStarts.get(i + 1);
+            parts.add(new ChatMessage(speaker, text, partStarts.get(i), partEnd, i == 0, isLast, hasDividers));
+        }
+        return parts;
+    }
+
+    Speaker getSpeaker() {
+        return speaker;
+    }
+
+    boolean isFirstPart() {
+        return isFirstPart;
+    }
+
+    boolean isLastPart() {
+        return isLastPart;
+    }
+
+    /**
+     * Returns whether the message was framed by divider lines, which are drawn as separators instead.
+     */
+    boolean hasDividers() {
+        return hasDividers;
+    }
+
+    /**
+     * Builds the text shown for this part, without divider lines or blank space around the message.
+     */
+    String displayText() {
+        StringBuilder text = new StringBuilder(end - start);
+        boolean isFirstLine = true;
+        int lineStart = start;
+        while (lineStart < end) {
+            int lineEnd = Math.min(lineEnd(source, lineStart), end);
+            if (!isDivider(source, lineStart, lineEnd)) {
+                int contentEnd = lineEnd > lineStart && source.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+                if (!isFirstLine) {
+                    text.append('\n');
+                }
+                isFirstLine = false;
+                text.append(source, lineStart, contentEnd);
+            }
+            lineStart = lineEnd + 1;
+        }
+
+        String shown = text.toString();
+        if (isFirstPart) {
+            shown = shown.stripLeading();
+        }
+        if (isLastPart) {
+            shown = shown.stripTrailing();
+        }
+        return shown;
+    }
+
+    private static int lineEnd(String text, int from) {
+        int newline = text.indexOf('\n', from);
+        return newline < 0 ? text.length() : newline;
+    }
+
+    private static boolean isDivider(String text, int from, int to) {
+        int first = from;
+        int last = to;
+        while (first < last && Character.isWhitespace(text.charAt(first))) {
+            first++;
+        }
+        while (last > first && Character.isWhitespace(text.charAt(last - 1))) {
+            last--;
+        }
+        if (last - first < MIN_DIVIDER_LENGTH) {
+            return false;
+        }
+        for (int i = first; i < last; i++) {
+            if (text.charAt(i) != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
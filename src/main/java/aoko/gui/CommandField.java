@@ -0,0 +1,37 @@
+package aoko.gui;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import javafx.scene.control.TextField;
+import javafx.scene.input.Clipboard;
+
+/**
+ * Text field for commands that hands multi-line pastes to a handler as one batch.
+ *
+ * <p>A plain {@link TextField} drops the line breaks of pasted text, which would merge several
+ * commands into one. When a handler is set, pasted text with more than one line is passed to it
+ * instead of being inserted, and anything already typed is left in the field.
+ */
+public class CommandField extends TextField {
+    private Consumer<List<String>> multiLinePasteHandler;
+
+    /**
+     * Sets the handler that receives the lines of a multi-line paste, or {@code null} to paste normally.
+     */
+    public void setOnMultiLinePaste(Consumer<List<String>> handler) {
+        this.multiLinePasteHandler = handler;
+    }
+
+    @Override
+    public void paste() {
+        Clipboard clipboard = Clipboard.getSystemClipboard();
+        String pasted = clipboard.hasString() ? clipboard.getString() : null;
+        if (multiLinePasteHandler == null || pasted == null || pasted.lines().count() < 2) {
+            super.paste();
+            return;
+        }
+
+        multiLinePasteHandler.accept(pasted.lines().toList());
+    }
+}
@@ -1,12 +1,11 @@
 package aoko.gui;
 
-import java.io.IOException;
 import java.util.Collections;
 
+import aoko.jfr.DialogBoxCreationEvent;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
@@ -14,6 +13,8 @@ import javafx.scene.control.Separator;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import javafx.scene.shape.Circle;
 import javafx.scene.text.TextAlignment;
@@ -21,51 +22,51 @@ import javafx.scene.text.TextAlignment;
 /**
  * Represents a dialog box consisting of an ImageView to represent the speaker's face
  * and a label containing text from the speaker.
+ *
+ * <p>The node graph is built in code rather than loaded from FXML, so creating a bubble does not parse
+ * a layout file. The bubble styles come from {@link #STYLESHEET}, which the transcript applies once.
  */
 public class DialogBox extends HBox {
-    @FXML
-    private Label dialog;
-
-    @FXML
-    private Label senderName;
-
-    @FXML
-    private VBox messageContainer;
-
-    @FXML
-    private VBox messageBubble;
-
-    @FXML
-    private Separator topDivider;
-
-    @FXML
-    private Separator bottomDivider;
-
-    @FXML
-    private ImageView displayPicture;
-
-    private DialogBox(String name, String text, Image img) {
+    /** Stylesheet for dialog boxes; add it to an ancestor such as the transcript instead of each box. */
+    static final String STYLESHEET = DialogBox.class.getResource("/css/dialog-box.css").toExternalForm();
+
+    private static final double OUTER_PADDING = 15.0;
+    private static final double SIDE_PADDING = 5.0;
+    private static final double AVATAR_SIZE = 36.0;
+
+    private final Label dialog = new Label();
+    private final Label senderName = new Label();
+    private final VBox messageContainer = new VBox(2.0);
+    private final VBox messageBubble = new VBox(4.0);
+    private final Separator topDivider = new Separator();
+    private final Separator bottomDivider = new Separator();
+    private final ImageView displayPicture = new ImageView();
+
+    private DialogBox(String name, Image img) {
         assert name != null : "Dialog speaker name must not be null";
-        assert text != null : "Dialog text must not be null";
         assert img != null : "Dialog image must not be null";
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(DialogBox.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            throw new IllegalStateException("Failed to load dialog box layout", e);
-        }
-
-        assert dialog != null : "FXML dialog label must be injected";
-        assert senderName != null : "FXML sender name label must be injected";
-        assert displayPicture != null : "FXML image view must be injected";
-        setNameTextAndImage(name, text, img);
+        setAlignment(Pos.TOP_RIGHT);
+        setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+        setPrefWidth(400.0);
+        setPadding(new Insets(OUTER_PADDING, SIDE_PADDING, OUTER_PADDING, SIDE_PADDING));
+
+        senderName.setWrapText(false);
+        dialog.setWrapText(true);
+        dialog.setMinHeight(Region.USE_PREF_SIZE);
+        setDividerVisible(topDivider, false);
+        setDividerVisible(bottomDivider, false);
+        displayPicture.setId("displayPicture");
+        displayPicture.setPickOnBounds(true);
+
+        messageBubble.getChildren().addAll(topDivider, dialog, bottomDivider);
+        messageContainer.getChildren().addAll(senderName, messageBubble);
+        HBox.setHgrow(messageContainer, Priority.ALWAYS);
+        getChildren().addAll(messageContainer, displayPicture);
+        setNameAndImage(name, img);
     }
 
-    private void setNameTextAndImage(String name, String text, Image img) {
+    private void setNameAndImage(String name, Image img) {
         senderName.setText(name);
-        setDialogTextWithDividers(text);
         displayPicture.setImage(img);
 
         senderName.getStyleClass().add("sender-name");
@@ -84,29 +85,23 @@ public class DialogBox extends HBox {
         makeAvatarCircularAndSmall();
     }
 
-    private void setDialogTextWithDividers(String rawText) {
-        assert rawText != null : "Dialog text must not be null";
-
-        String[] lines = rawText.split("\\R", -1);
-        boolean hasDividerLines = false;
-        StringBuilder cleaned = new StringBuilder();
-        for (String line : lines) {
-            assert line != null : "Message line must not be null";
-            String trimmed = line.trim();
-            if (trimmed.length() >= 5 && trimmed.chars().allMatch(ch -> ch == '_')) {
-                hasDividerLines = true;
-                continue;
-            }
-            cleaned.append(line).append("\n");
-        }
-
-        String cleanedText = cleaned.toString();
-        cleanedText = cleanedText.replaceAll("^\\s+", "");
-        cleanedText = cleanedText.replaceAll("\\s+$", "");
-        dialog.setText(cleanedText);
-
-        setDividerVisible(topDivider, hasDividerLines);
-        setDividerVisible(bottomDivider, hasDividerLines);
+    /**
+     * Shows one part of a message, so that a single dialog box can be reused for different messages.
+     *
+     * <p>The sender name and avatar are only shown on the first part, and the dividers only frame the
+     * first and last parts, so consecutive parts read as one continuous bubble.
+     */
+    void showMessage(ChatMessage part) {
+        assert part != null : "Message part must not be null";
+        dialog.setText(part.displayText());
+
+        setDividerVisible(topDivider, part.hasDividers() && part.isFirstPart());
+        setDividerVisible(bottomDivider, part.hasDividers() && part.isLastPart());
+        senderName.setVisible(part.isFirstPart());
+        senderName.setManaged(part.isFirstPart());
+        displayPicture.setVisible(part.isFirstPart());
+        setPadding(new Insets(part.isFirstPart() ? OUTER_PADDING : 0, SIDE_PADDING,
+                part.isLastPart() ? OUTER_PADDING : 0, SIDE_PADDING));
     }
 
     private void setDividerVisible(Separator divider, boolean isVisible) {
@@ -116,7 +111,7 @@ public class DialogBox extends HBox {
     }
 
     private void makeAvatarCircularAndSmall() {
-        double avatarSize = 36;
+        double avatarSize = AVATAR_SIZE;
         displayPicture.setFitWidth(avatarSize);
         displayPicture.setFitHeight(avatarSize);
         displayPicture.setPreserveRatio(true);
@@ -127,11 +122,30 @@ public class DialogBox extends HBox {
         displayPicture.setClip(clip);
     }
 
-    private static DialogBox create(String name, String text, Image img, boolean shouldFlip) {
-        DialogBox dialogBox = new DialogBox(name, text, img);
-        if (shouldFlip) {
+    /**
+     * Creates an empty dialog box for the given speaker; fill it with {@link #showMessage(ChatMessage)}.
+     */
+    static DialogBox create(ChatMessage.Speaker speaker, Image img) {
+        assert speaker != null : "Speaker must not be null";
+        DialogBoxCreationEvent event = new DialogBoxCreationEvent();
+        event.begin();
+        DialogBox dialogBox = new DialogBox(speaker.getDisplayName(), img);
+        if (speaker == ChatMessage.Speaker.AOKO) {
             dialogBox.flip();
         }
+        event.end();
+        if (event.shouldCommit()) {
+            event.setSpeaker(speaker.getDisplayName());
+            event.commit();
+        }
+        return dialogBox;
+    }
+
+    private static DialogBox createWithText(ChatMessage.Speaker speaker, String text, Image img) {
+        assert text != null : "Dialog text must not be null";
+        DialogBox dialogBox = create(speaker, img);
+        dialogBox.getStylesheets().add(STYLESHEET);
+        dialogBox.showMessage(ChatMessage.split(speaker, text, Integer.MAX_VALUE).get(0));
         return dialogBox;
     }
 
@@ -139,17 +153,12 @@ public class DialogBox extends HBox {
      * Flips the dialog box such that the ImageView is on the left and text on the right.
      */
     private void flip() {
-        assert dialog != null : "Dialog label must be initialized";
         ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
         assert tmp != null : "Children list must not be null";
         Collections.reverse(tmp);
         getChildren().setAll(tmp);
         setAlignment(Pos.TOP_LEFT);
 
-        assert messageContainer != null : "Message container must be initialized";
-        assert messageBubble != null : "Message bubble must be initialized";
-        assert senderName != null : "Sender name must be initialized";
-
         messageContainer.setAlignment(Pos.TOP_LEFT);
         senderName.setAlignment(Pos.CENTER_LEFT);
         messageBubble.getStyleClass().add("reply-label");
@@ -160,10 +169,10 @@ public class DialogBox extends HBox {
     }
 
     public static DialogBox getUserDialog(String text, Image img) {
-        return create("Alice", text, img, false);
+        return createWithText(ChatMessage.Speaker.USER, text, img);
     }
 
     public static DialogBox getAokoDialog(String text, Image img) {
-        return create("Aoko", text, img, true);
+        return createWithText(ChatMessage.Speaker.AOKO, text, img);
     }
 }
@@ -1,85 +1,182 @@
 package aoko.gui;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import aoko.AokoEngine;
 import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
-import javafx.scene.control.TextField;
+import javafx.scene.control.ListView;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 
 /**
  * Controller for the main GUI.
+ *
+ * <p>Commands run on a single background thread so that slow saves or large listings do not block the
+ * JavaFX Application Thread. Submitted commands are echoed to the transcript at once, so the user sees
+ * them accepted; ones submitted while another is running wait in the executor's queue and run in order.
+ * Finished replies are collected in a queue and appended to the transcript by one
+ * {@link Platform#runLater(Runnable)} per burst, rather than one per reply.
  */
 public class MainWindow extends AnchorPane {
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<ChatMessage> transcript;
     @FXML
-    private TextField userInput;
+    private CommandField userInput;
     @FXML
     private Button sendButton;
+    @FXML
+    private TaskTablePanel taskPanel;
 
     private AokoEngine engine;
 
+    private final ObservableList<ChatMessage> messages = FXCollections.observableArrayList();
+    private final ExecutorService engineExecutor = Executors.newSingleThreadExecutor(MainWindow::newEngineThread);
+    private final Queue<List<ChatMessage>> pendingReplies = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean isFlushScheduled = new AtomicBoolean();
+    private volatile boolean hasExited;
+
     private final Image userImage = new Image(this.getClass().getResourceAsStream("/images/DaUser.jpg"));
     private final Image aokoImage = new Image(this.getClass().getResourceAsStream("/images/DaDuke.jpg"));
 
     @FXML
     public void initialize() {
-        assert scrollPane != null : "FXML scrollPane must be injected";
-        assert dialogContainer != null : "FXML dialogContainer must be injected";
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        assert transcript != null : "FXML transcript must be injected";
+        assert userInput != null : "FXML userInput must be injected";
+        transcript.getStylesheets().add(DialogBox.STYLESHEET);
+        transcript.setItems(messages);
+        transcript.setCellFactory(view -> new ChatCell(view, userImage, aokoImage));
+        transcript.setFocusTraversable(false);
+        userInput.setOnMultiLinePaste(this::submit);
     }
 
-    /** Injects the engine instance */
+    /** Injects the engine instance, connects the task table to its task list and starts reminders */
     public void setEngine(AokoEngine engine) {
         assert engine != null : "Engine must not be null";
+        assert taskPanel != null : "FXML taskPanel must be injected";
         this.engine = engine;
+        engineExecutor.execute(() -> {
+            engine.addTaskListListener(taskPanel.getTaskListListener());
+            engine.startReminders(text -> Platform.runLater(() -> showBotMessage(text)));
+        });
     }
 
+    /**
+     * Appends a message from Aoko to the transcript.
+     */
     public void showBotMessage(String text) {
-        assert dialogContainer != null : "Dialog container must be initialized";
         assert text != null : "Bot message text must not be null";
-        dialogContainer.getChildren().add(DialogBox.getAokoDialog(text, aokoImage));
+        appendMessages(ChatMessage.split(ChatMessage.Speaker.AOKO, text));
+    }
+
+    /**
+     * Stops accepting commands and waits for the command in flight, if any, so the engine can be shut down.
+     */
+    public void shutdown() {
+        engineExecutor.shutdown();
+        try {
+            engineExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Thread newEngineThread(Runnable task) {
+        Thread thread = new Thread(task, "aoko-engine");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private void appendMessages(List<ChatMessage> parts) {
+        assert transcript != null : "Transcript must be initialized";
+        messages.addAll(parts);
+        transcript.scrollTo(messages.size() - 1);
     }
 
     @FXML
     @SuppressWarnings("unused")
     private void handleUserInput() {
+        assert userInput != null : "FXML userInput must be injected";
+        String input = userInput.getText();
+        userInput.clear();
+        submit(input == null ? List.of() : List.of(input));
+    }
+
+    /**
+     * Echoes the given commands, then runs them in order on the engine thread; their replies are appended
+     * together.
+     */
+    private void submit(List<String> inputs) {
         if (engine == null) {
             assert false : "Engine should be set before handling user input";
             return;
         }
 
-        assert userInput != null : "FXML userInput must be injected";
-        assert dialogContainer != null : "FXML dialogContainer must be injected";
-        assert sendButton != null : "FXML sendButton must be injected";
-        assert userImage != null : "User image must be loaded";
-        assert aokoImage != null : "Bot image must be loaded";
-
-        String input = userInput.getText();
-        if (input == null) {
-            input = "";
+        List<String> commands = new ArrayList<>();
+        for (String input : inputs) {
+            String trimmed = input == null ? "" : input.trim();
+            if (!trimmed.isEmpty()) {
+                commands.add(trimmed);
+            }
         }
-        input = input.trim();
-        if (input.isEmpty()) {
+        if (commands.isEmpty() || hasExited) {
             return;
         }
+        List<ChatMessage> echoed = new ArrayList<>();
+        for (String command : commands) {
+            echoed.addAll(ChatMessage.split(ChatMessage.Speaker.USER, command));
+        }
+        appendMessages(echoed);
+        engineExecutor.execute(() -> runBatch(commands));
+    }
 
-        AokoEngine.EngineResponse response = engine.processToString(input);
-        assert response != null : "Engine response must not be null";
-        assert response.output != null : "Engine response output must not be null";
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getAokoDialog(response.output, aokoImage)
-        );
-        userInput.clear();
+    private void runBatch(List<String> commands) {
+        List<ChatMessage> parts = new ArrayList<>();
+        for (String command : commands) {
+            if (hasExited) {
+                break;
+            }
+            AokoEngine.EngineResponse response = engine.processToString(command);
+            assert response != null : "Engine response must not be null";
+            assert response.output != null : "Engine response output must not be null";
+            parts.addAll(ChatMessage.split(ChatMessage.Speaker.AOKO, response.output));
+            if (response.shouldExit) {
+                hasExited = true;
+            }
+        }
+        postReplies(parts);
+    }
+
+    private void postReplies(List<ChatMessage> parts) {
+        pendingReplies.add(parts);
+        if (isFlushScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::flushReplies);
+        }
+    }
+
+    private void flushReplies() {
+        isFlushScheduled.set(false);
+        List<ChatMessage> parts = new ArrayList<>();
+        for (List<ChatMessage> reply = pendingReplies.poll(); reply != null; reply = pendingReplies.poll()) {
+            parts.addAll(reply);
+        }
+        if (!parts.isEmpty()) {
+            appendMessages(parts);
+        }
 
-        if (response.shouldExit) {
+        if (hasExited) {
             userInput.setDisable(true);
             sendButton.setDisable(true);
             Platform.exit();
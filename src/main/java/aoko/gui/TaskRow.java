@@ -0,0 +1,97 @@
+package aoko.gui;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import aoko.task.Deadline;
+import aoko.task.Event;
+import aoko.task.RecurringEvent;
+import aoko.task.Task;
+
+/**
+ * Immutable copy of one task for the task table.
+ *
+ * <p>Rows are created on the engine thread and read on the JavaFX Application Thread, so they copy
+ * the fields they show instead of referring to the mutable {@link Task}.
+ */
+final class TaskRow {
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("MMM dd yyyy", Locale.ENGLISH);
+    private static final DateTimeFormatter DATE_TIME =
+            DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm", Locale.ENGLISH);
+
+    private final String type;
+    private final boolean isDone;
+    private final String description;
+    private final LocalDateTime start;
+    private final boolean hasStartTime;
+    private final LocalDateTime end;
+    private final boolean hasEndTime;
+
+    private TaskRow(String type, boolean isDone, String description, LocalDateTime start, boolean hasStartTime,
+            LocalDateTime end, boolean hasEndTime) {
+        this.type = type;
+        this.isDone = isDone;
+        this.description = description;
+        this.start = start;
+        this.hasStartTime = hasStartTime;
+        this.end = end;
+        this.hasEndTime = hasEndTime;
+    }
+
+    /**
+     * Copies the fields of a task; deadlines use their due date as the start, and recurring events their
+     * first occurrence.
+     */
+    static TaskRow of(Task task) {
+        assert task != null : "Task must not be null";
+        if (task instanceof Deadline deadline) {
+            return new TaskRow("D", task.isDone(), task.getDescription(), deadline.getBy(), deadline.hasTime(),
+                    null, false);
+        }
+        if (task instanceof Event event) {
+            return new TaskRow("E", task.isDone(), task.getDescription(), event.getFrom(), event.hasFromTime(),
+                    event.getTo(), event.hasToTime());
+        }
+        if (task instanceof RecurringEvent recurring) {
+            return new TaskRow("R", task.isDone(), task.getDescription(), recurring.getFrom(),
+                    recurring.hasFromTime(), recurring.getTo(), recurring.hasToTime());
+        }
+        return new TaskRow("T", task.isDone(), task.getDescription(), null, false, null, false);
+    }
+
+    String getType() {
+        return type;
+    }
+
+    boolean isDone() {
+        return isDone;
+    }
+
+    String getDescription() {
+        return description;
+    }
+
+    LocalDateTime getStart() {
+        return start;
+    }
+
+    LocalDateTime getEnd() {
+        return end;
+    }
+
+    String formatStart() {
+        return format(start, hasStartTime);
+    }
+
+    String formatEnd() {
+        return format(end, hasEndTime);
+    }
+
+    private static String format(LocalDateTime value, boolean hasTime) {
+        if (value == null) {
+            return "";
+        }
+        return value.format(hasTime ? DATE_TIME : DATE);
+    }
+}
@@ -0,0 +1,125 @@
+package aoko.gui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import aoko.task.Task;
+import aoko.task.TaskListListener;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * Mirrors a task list as an observable list of {@link TaskRow}s for the task table.
+ *
+ * <p>Changes arrive on the engine thread as {@link TaskListListener} callbacks. Each one is turned
+ * into a small edit of the row list and queued, and the queue is applied on the JavaFX Application
+ * Thread by one {@link Platform#runLater(Runnable)} per burst. Only the affected rows change, so
+ * sorted and filtered views over {@link #getRows()} update incrementally. Consecutive adds, such as those
+ * from an import or merge, are applied as one {@code addAll}, so the views see one change however many
+ * rows arrive.
+ */
+class TaskTableModel implements TaskListListener {
+    private final ObservableList<TaskRow> rows = FXCollections.observableArrayList();
+    private final Queue<Consumer<ObservableList<TaskRow>>> pendingEdits = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean isFlushScheduled = new AtomicBoolean();
+
+    /**
+     * Inserts one row; kept apart from other edits so that runs of inserts can be combined.
+     */
+    private static final class Insert implements Consumer<ObservableList<TaskRow>> {
+        private final int index;
+        private final TaskRow row;
+
+        private Insert(int index, TaskRow row) {
+            this.index = index;
+            this.row = row;
+        }
+
+        @Override
+        public void accept(ObservableList<TaskRow> target) {
+            target.add(index, row);
+        }
+    }
+
+    /**
+     * Returns the rows, in task list order; only touch them on the JavaFX Application Thread.
+     */
+    ObservableList<TaskRow> getRows() {
+        return rows;
+    }
+
+    @Override
+    public void taskAdded(int index, Task task) {
+        post(new Insert(index, TaskRow.of(task)));
+    }
+
+    @Override
+    public void taskRemoved(int index, Task task) {
+        post(target -> target.remove(index));
+    }
+
+    @Override
+    public void taskDoneChanged(int index, Task task) {
+        TaskRow row = TaskRow.of(task);
+        post(target -> target.set(index, row));
+    }
+
+    @Override
+    public void tasksReplaced(List<Task> tasks) {
+        List<TaskRow> replacement = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            replacement.add(TaskRow.of(task));
+        }
+        post(target -> target.setAll(replacement));
+    }
+
+    private void post(Consumer<ObservableList<TaskRow>> edit) {
+        pendingEdits.add(edit);
+        if (isFlushScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::flush);
+        }
+    }
+
+    private void flush() {
+        isFlushScheduled.set(false);
+        Consumer<ObservableList<TaskRow>> edit = pendingEdits.poll();
+        while (edit != null) {
+            if (!(edit instanceof Insert first)) {
+                edit.accept(rows);
+                edit = pendingEdits.poll();
+                continue;
+            }
+            List<TaskRow> run = new ArrayList<>();
+            run.add(first.row);
+            edit = pendingEdits.poll();
+            while (edit instanceof Insert next && next.index == first.index + run.size()) {
+                run.add(next.row);
+                edit = pendingEdits.poll();
+            }
+            insertAll(first.index, run);
+        }
+    }
+
+    /**
+     * Inserts a run of rows as one change. A run at least as long as the table replaces the rows outright,
+     * so sorted views re-sort once instead of placing every new row in turn.
+     */
+    private void insertAll(int index, List<TaskRow> run) {
+        if (run.size() == 1) {
+            rows.add(index, run.get(0));
+        } else if (run.size() < rows.size()) {
+            rows.addAll(index, run);
+        } else {
+            List<TaskRow> replacement = new ArrayList<>(rows.size() + run.size());
+            replacement.addAll(rows.subList(0, index));
+            replacement.addAll(run);
+            replacement.addAll(rows.subList(index, rows.size()));
+            rows.setAll(replacement);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package aoko.gui;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.function.Function;
+
+import aoko.task.TaskListListener;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import javafx.geometry.Insets;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+
+/**
+ * Side panel listing every task in a sortable, filterable table.
+ *
+ * <p>The table reads from a {@link TaskTableModel} that follows the engine's task list through change
+ * events. Sorting and filtering are done by views over the model's rows, on the JavaFX Application
+ * Thread, and never involve the engine.
+ */
+public class TaskTablePanel extends VBox {
+    private static final String ALL = "All";
+    private static final String PENDING = "Pending";
+    private static final String DONE = "Done";
+
+    private final TaskTableModel model = new TaskTableModel();
+    private final FilteredList<TaskRow> filteredRows = new FilteredList<>(model.getRows());
+    private final SortedList<TaskRow> sortedRows = new SortedList<>(filteredRows);
+    private final TableView<TaskRow> table = new TableView<>(sortedRows);
+    private final TextField filterField = new TextField();
+    private final ChoiceBox<String> statusFilter =
+            new ChoiceBox<>(FXCollections.observableArrayList(ALL, PENDING, DONE));
+
+    /**
+     * Creates an empty panel; connect it to an engine with {@link #getTaskListListener()}.
+     */
+    public TaskTablePanel() {
+        super(4.0);
+        setPadding(new Insets(4.0));
+        getStyleClass().add("task-panel");
+
+        filterField.setPromptText("Filter descriptions");
+        statusFilter.setValue(ALL);
+        filterField.textProperty().addListener((observable, oldValue, newValue) -> updateFilter());
+        statusFilter.valueProperty().addListener((observable, oldValue, newValue) -> updateFilter());
+        HBox.setHgrow(filterField, Priority.ALWAYS);
+        HBox filters = new HBox(4.0, filterField, statusFilter);
+
+        sortedRows.comparatorProperty().bind(table.comparatorProperty());
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        table.setPlaceholder(new Label("No tasks"));
+        table.getColumns().add(numberColumn());
+        table.getColumns().add(textColumn("Type", TaskRow::getType, 45));
+        table.getColumns().add(textColumn("Done", row -> row.isDone() ? "X" : "", 45));
+        table.getColumns().add(textColumn("Description", TaskRow::getDescription, 200));
+        table.getColumns().add(dateColumn("By / From", TaskRow::getStart, TaskRow::formatStart));
+        table.getColumns().add(dateColumn("To", TaskRow::getEnd, TaskRow::formatEnd));
+        VBox.setVgrow(table, Priority.ALWAYS);
+
+        getChildren().addAll(filters, table);
+    }
+
+    /**
+     * Returns the listener that keeps this panel in sync with a task list.
+     */
+    public TaskListListener getTaskListListener() {
+        return model;
+    }
+
+    private void updateFilter() {
+        String needle = filterField.getText() == null ? "" : filterField.getText().trim().toLowerCase(Locale.ROOT);
+        String status = statusFilter.getValue();
+        if (needle.isEmpty() && ALL.equals(status)) {
+            filteredRows.setPredicate(null);
+            return;
+        }
+        filteredRows.setPredicate(row -> matchesStatus(row, status)
+                && (needle.isEmpty() || row.getDescription().toLowerCase(Locale.ROOT).contains(needle)));
+    }
+
+    private static boolean matchesStatus(TaskRow row, String status) {
+        if (PENDING.equals(status)) {
+            return !row.isDone();
+        }
+        if (DONE.equals(status)) {
+            return row.isDone();
+        }
+        return true;
+    }
+
+    /**
+     * Shows the 1-based task number used by commands, which follows list order rather than the view order.
+     */
+    private TableColumn<TaskRow, TaskRow> numberColumn() {
+        TableColumn<TaskRow, TaskRow> column = new TableColumn<>("#");
+        column.setSortable(false);
+        column.setPrefWidth(55);
+        column.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue()));
+        column.setCellFactory(col -> new TableCell<>() {
+            @Override
+            protected void updateItem(TaskRow item, boolean isEmpty) {
+                super.updateItem(item, isEmpty);
+                if (isEmpty || item == null || getIndex() < 0 || getIndex() >= sortedRows.size()) {
+                    setText(null);
+                    return;
+                }
+                int filteredIndex = sortedRows.getSourceIndex(getIndex());
+                setText(Integer.toString(filteredRows.getSourceIndex(filteredIndex) + 1));
+            }
+        });
+        return column;
+    }
+
+    private static TableColumn<TaskRow, String> textColumn(String title, Function<TaskRow, String> getter,
+            double prefWidth) {
+        TableColumn<TaskRow, String> column = new TableColumn<>(title);
+        column.setPrefWidth(prefWidth);
+        column.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(getter.apply(data.getValue())));
+        return column;
+    }
+
+    private static TableColumn<TaskRow, TaskRow> dateColumn(String title,
+            Function<TaskRow, LocalDateTime> key, Function<TaskRow, String> formatter) {
+        TableColumn<TaskRow, TaskRow> column = new TableColumn<>(title);
+        column.setPrefWidth(120);
+        column.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue()));
+        column.setComparator(Comparator.comparing(key, Comparator.nullsLast(Comparator.naturalOrder())));
+        column.setCellFactory(col -> new TableCell<>() {
+            @Override
+            protected void updateItem(TaskRow item, boolean isEmpty) {
+                super.updateItem(item, isEmpty);
+                setText(isEmpty || item == null ? null : formatter.apply(item));
+            }
+        });
+        return column;
+    }
+}
@@ -0,0 +1,39 @@
+package aoko.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering one call to {@code AokoEngine.process}.
+ */
+@Name("aoko.CommandExecution")
+@Label("Aoko Command Execution")
+@Category({"Aoko", "Engine"})
+@Description("Parsing, executing and persisting a single user command")
+@StackTrace(false)
+public class CommandExecutionEvent extends jdk.jfr.Event {
+    @Label("Command")
+    private String command;
+
+    @Label("Input Length")
+    @Description("Number of characters in the raw user input")
+    private int inputLength;
+
+    @Label("Exit Requested")
+    private boolean shouldExit;
+
+    public void setCommand(String command) {
+        this.command = command;
+    }
+
+    public void setInputLength(int inputLength) {
+        this.inputLength = inputLength;
+    }
+
+    public void setShouldExit(boolean shouldExit) {
+        this.shouldExit = shouldExit;
+    }
+}
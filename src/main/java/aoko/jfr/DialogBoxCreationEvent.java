@@ -0,0 +1,24 @@
+package aoko.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering the construction of one GUI chat bubble on the JavaFX Application Thread.
+ */
+@Name("aoko.DialogBoxCreation")
+@Label("Aoko Dialog Box Creation")
+@Category({"Aoko", "GUI"})
+@Description("Building a chat bubble node for user or Aoko messages")
+@StackTrace(false)
+public class DialogBoxCreationEvent extends jdk.jfr.Event {
+    @Label("Speaker")
+    private String speaker;
+
+    public void setSpeaker(String speaker) {
+        this.speaker = speaker;
+    }
+}
@@ -0,0 +1,40 @@
+package aoko.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering {@code Storage.load}.
+ */
+@Name("aoko.StorageLoad")
+@Label("Aoko Storage Load")
+@Category({"Aoko", "Storage"})
+@Description("Reading and decoding the save file")
+@StackTrace(false)
+public class StorageLoadEvent extends jdk.jfr.Event {
+    @Label("Path")
+    private String path;
+
+    @Label("Bytes Read")
+    @DataAmount
+    private long bytes;
+
+    @Label("Task Count")
+    private int taskCount;
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    public void setTaskCount(int taskCount) {
+        this.taskCount = taskCount;
+    }
+}
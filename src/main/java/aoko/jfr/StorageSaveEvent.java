@@ -0,0 +1,47 @@
+package aoko.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering {@code Storage.save}.
+ */
+@Name("aoko.StorageSave")
+@Label("Aoko Storage Save")
+@Category({"Aoko", "Storage"})
+@Description("Encoding the task list and writing the save file")
+@StackTrace(false)
+public class StorageSaveEvent extends jdk.jfr.Event {
+    @Label("Path")
+    private String path;
+
+    @Label("Bytes Written")
+    @DataAmount
+    private long bytes;
+
+    @Label("Task Count")
+    private int taskCount;
+
+    @Label("Succeeded")
+    private boolean succeeded;
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    public void setTaskCount(int taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    public void setSucceeded(boolean succeeded) {
+        this.succeeded = succeeded;
+    }
+}
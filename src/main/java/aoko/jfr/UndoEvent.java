@@ -0,0 +1,39 @@
+package aoko.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering one {@code undo}, including restoring and persisting the snapshot.
+ */
+@Name("aoko.Undo")
+@Label("Aoko Undo")
+@Category({"Aoko", "Engine"})
+@Description("Restoring the most recent undo snapshot")
+@StackTrace(false)
+public class UndoEvent extends jdk.jfr.Event {
+    @Label("Remaining History")
+    @Description("Undo entries left after this operation")
+    private int remainingHistory;
+
+    @Label("Restored Task Count")
+    private int restoredTaskCount;
+
+    @Label("Succeeded")
+    private boolean succeeded;
+
+    public void setRemainingHistory(int remainingHistory) {
+        this.remainingHistory = remainingHistory;
+    }
+
+    public void setRestoredTaskCount(int restoredTaskCount) {
+        this.restoredTaskCount = restoredTaskCount;
+    }
+
+    public void setSucceeded(boolean succeeded) {
+        this.succeeded = succeeded;
+    }
+}
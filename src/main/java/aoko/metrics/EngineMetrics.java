@@ -0,0 +1,126 @@
+package aoko.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import aoko.parser.Parser;
+
+/**
+ * Latency histograms for each phase of command processing and for each command type.
+ *
+ * <p>All histograms are created up front, so recording is lock-free and allocation-free.
+ */
+public class EngineMetrics {
+    /**
+     * Phases of {@code AokoEngine.process} that are timed separately.
+     */
+    public enum Phase {
+        /** Tokenizing input and creating the command object. */
+        PARSE,
+        /** Running the command, including any persistence it triggers and printing its reply. */
+        EXECUTE,
+        /** Writing the task list to disk. */
+        PERSIST,
+        /** Encoding the task list before a mutation for undo. */
+        UNDO_SNAPSHOT
+    }
+
+    private static final String ROW_FORMAT = "%-16s %8s %10s %10s %10s %10s";
+
+    private final Map<Phase, LatencyHistogram> phases = new EnumMap<>(Phase.class);
+    private final Map<Parser.Command, LatencyHistogram> commands = new EnumMap<>(Parser.Command.class);
+
+    /**
+     * Creates empty histograms for every phase and command.
+     */
+    public EngineMetrics() {
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new LatencyHistogram());
+        }
+        for (Parser.Command command : Parser.Command.values()) {
+            commands.put(command, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Records the duration of one phase.
+     */
+    public void record(Phase phase, long nanos) {
+        assert phase != null : "Phase must not be null";
+        phases.get(phase).record(nanos);
+    }
+
+    /**
+     * Records the end-to-end duration of one command, which also counts it.
+     */
+    public void record(Parser.Command command, long nanos) {
+        assert command != null : "Command must not be null";
+        commands.get(command).record(nanos);
+    }
+
+    /**
+     * Returns the histogram for a phase.
+     */
+    public LatencyHistogram phase(Phase phase) {
+        return phases.get(phase);
+    }
+
+    /**
+     * Returns the histogram for a command; its count is the number of times the command ran.
+     */
+    public LatencyHistogram command(Parser.Command command) {
+        return commands.get(command);
+    }
+
+    /**
+     * Formats a table with count, p50, p90, p99 and max (in milliseconds) for every phase and every
+     * command that has been recorded at least once.
+     */
+    public List<String> formatTable() {
+        List<String> rows = new ArrayList<>();
+        rows.add(String.format(Locale.ROOT, ROW_FORMAT, "(ms)", "count", "p50", "p90", "p99", "max"));
+        for (Phase phase : Phase.values()) {
+            rows.add(formatRow(phase.name().toLowerCase(Locale.ROOT), phases.get(phase)));
+        }
+        for (Parser.Command command : Parser.Command.values()) {
+            LatencyHistogram histogram = commands.get(command);
+            if (histogram.count() > 0) {
+                rows.add(formatRow(command.name().toLowerCase(Locale.ROOT), histogram));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Writes {@link #formatTable()} to a file, replacing any previous contents.
+     */
+    public void dump(Path file) throws IOException {
+        assert file != null : "Dump file must not be null";
+        Path parent = file.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.write(file, formatTable(), StandardCharsets.UTF_8);
+    }
+
+    private static String formatRow(String name, LatencyHistogram histogram) {
+        return String.format(Locale.ROOT, ROW_FORMAT,
+                name,
+                histogram.count(),
+                millis(histogram.percentileNanos(50)),
+                millis(histogram.percentileNanos(90)),
+                millis(histogram.percentileNanos(99)),
+                millis(histogram.maxNanos()));
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,99 @@
+package aoko.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with logarithmic buckets, in the style of HdrHistogram.
+ *
+ * <p>Values below 32 get one bucket each; above that, every power of two is split into 16 linear
+ * sub-buckets, so any recorded value is reported with at most ~6% relative error. Recording is a
+ * couple of atomic increments and never allocates, so it is safe to call on hot paths from any thread.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT * 2;
+    private static final int BUCKET_COUNT = bucketIndex(Long.MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records one observation.
+     *
+     * @param nanos Duration in nanoseconds; negative values are clamped to zero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.incrementAndGet();
+        totalNanos.addAndGet(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Returns the number of recorded observations.
+     */
+    public long count() {
+        return totalCount.get();
+    }
+
+    /**
+     * Returns the sum of all recorded durations in nanoseconds.
+     */
+    public long totalNanos() {
+        return totalNanos.get();
+    }
+
+    /**
+     * Returns the largest recorded duration in nanoseconds (exact, not bucketed).
+     */
+    public long maxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Returns the value at the given percentile, as the upper bound of the bucket that contains it.
+     *
+     * @param percentile Percentile in {@code [0, 100]}.
+     * @return Duration in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long percentileNanos(double percentile) {
+        assert percentile >= 0 && percentile <= 100 : "Percentile must be within [0, 100]";
+        long total = totalCount.get();
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (magnitude << SUB_BUCKET_BITS) + (int) (value >>> magnitude);
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int magnitude = (index >>> SUB_BUCKET_BITS) - 1;
+        long subBucket = index - ((long) magnitude << SUB_BUCKET_BITS);
+        long upper = ((subBucket + 1) << magnitude) - 1;
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+}
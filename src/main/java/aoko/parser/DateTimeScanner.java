@@ -0,0 +1,267 @@
+package aoko.parser;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * Single-pass, exception-free scanner for the date/time shapes accepted by {@link Parser}.
+ *
+ * <p>The shape is chosen by inspecting characters, and fields are validated the same way
+ * {@code ResolverStyle.STRICT} formatters would. Every method returns {@code null} for input that
+ * the equivalent formatter chain would reject. Inputs that only a formatter can interpret exactly
+ * (signed or extended years, fractional seconds) are reported by {@link #needsFormatter(String)}
+ * so callers can defer to the formatter chain for them.
+ */
+final class DateTimeScanner {
+    /** Maximum digits read for variable-width fields such as {@code d}, {@code M} and {@code H}. */
+    private static final int MAX_VARIABLE_DIGITS = 19;
+
+    /** Cap for accumulated field values; anything above it is invalid for every field anyway. */
+    private static final int VALUE_CAP = 1_000_000;
+
+    private final String text;
+    private int pos;
+
+    private DateTimeScanner(String text) {
+        this.text = text;
+        this.pos = 0;
+    }
+
+    /**
+     * Returns whether the trimmed input uses a feature that the scanner does not interpret itself.
+     *
+     * <p>These are year signs ({@code +}/{@code -} in a year position) and fractional seconds. Such
+     * inputs are rare and are handed to the formatter chain to keep results identical.
+     */
+    static boolean needsFormatter(String s) {
+        assert s != null : "Input must not be null";
+        return s.indexOf('+') >= 0
+                || s.indexOf('.') >= 0
+                || s.startsWith("-")
+                || s.contains("/-");
+    }
+
+    /**
+     * Scans {@code yyyy-MM-dd}, {@code yyyy-MM-dd HHmm}, {@code yyyy-MM-dd HH:mm}, {@code d/M/yyyy},
+     * {@code d/M/yyyy HHmm} or {@code d/M/yyyy H:mm}.
+     *
+     * @return Parsed value, or {@code null} if the input matches none of the shapes.
+     */
+    static Parser.ParsedDateTime scanDateTime(String s) {
+        assert s != null : "Input must not be null";
+        DateTimeScanner scanner = new DateTimeScanner(s);
+        LocalDate date;
+        boolean isIso = scanner.isIsoDateShape();
+        if (isIso) {
+            date = scanner.isoDate();
+        } else {
+            date = scanner.dmyDate();
+        }
+        if (date == null) {
+            return null;
+        }
+        if (scanner.atEnd()) {
+            return new Parser.ParsedDateTime(date.atStartOfDay(), false);
+        }
+        if (!scanner.literal(' ')) {
+            return null;
+        }
+
+        LocalTime time = isIso ? scanner.fixedTime() : scanner.dmyTime();
+        if (time == null || !scanner.atEnd()) {
+            return null;
+        }
+        return new Parser.ParsedDateTime(LocalDateTime.of(date, time), true);
+    }
+
+    /**
+     * Scans {@code yyyy-MM-dd} or {@code d/M/yyyy}.
+     *
+     * @return Parsed date, or {@code null} if the input matches neither shape.
+     */
+    static LocalDate scanDate(String s) {
+        assert s != null : "Input must not be null";
+        DateTimeScanner scanner = new DateTimeScanner(s);
+        LocalDate date = scanner.isIsoDateShape() ? scanner.isoDate() : scanner.dmyDate();
+        return date != null && scanner.atEnd() ? date : null;
+    }
+
+    /**
+     * Scans a time-only value in {@code HHmm}, {@code H:mm} or {@code HH:mm}.
+     *
+     * @return Parsed time, or {@code null} if the input matches none of the shapes.
+     */
+    static LocalTime scanTime(String s) {
+        assert s != null : "Input must not be null";
+        DateTimeScanner scanner = new DateTimeScanner(s);
+        LocalTime time = s.indexOf(':') >= 0 ? scanner.variableHourTime() : scanner.compactTime();
+        return time != null && scanner.atEnd() ? time : null;
+    }
+
+    /**
+     * Scans the persisted forms {@code yyyy-MM-dd} and {@code yyyy-MM-ddTHH:mm[:ss]}.
+     *
+     * @return Parsed value, or {@code null} if the input matches neither shape.
+     */
+    static Parser.ParsedDateTime scanIsoDateOrDateTime(String s) {
+        assert s != null : "Input must not be null";
+        DateTimeScanner scanner = new DateTimeScanner(s);
+        LocalDate date = scanner.isoDate();
+        if (date == null) {
+            return null;
+        }
+        if (scanner.atEnd()) {
+            return new Parser.ParsedDateTime(date.atStartOfDay(), false);
+        }
+        if (!scanner.literal('T')) {
+            return null;
+        }
+
+        int hour = scanner.digits(2, 2);
+        if (hour < 0 || !scanner.literal(':')) {
+            return null;
+        }
+        int minute = scanner.digits(2, 2);
+        int second = 0;
+        if (minute >= 0 && scanner.literal(':')) {
+            second = scanner.digits(2, 2);
+        }
+        if (!scanner.atEnd() || !isValidTime(hour, minute) || second < 0 || second > 59) {
+            return null;
+        }
+        return new Parser.ParsedDateTime(LocalDateTime.of(date, LocalTime.of(hour, minute, second)), true);
+    }
+
+    private boolean isIsoDateShape() {
+        return text.length() > 4 && text.charAt(4) == '-';
+    }
+
+    /**
+     * Reads {@code yyyy-MM-dd} with an unsigned four-digit year.
+     */
+    private LocalDate isoDate() {
+        int year = digits(4, 4);
+        if (year < 0 || !literal('-')) {
+            return null;
+        }
+        int month = digits(2, 2);
+        if (month < 0 || !literal('-')) {
+            return null;
+        }
+        int day = digits(2, 2);
+        return toDate(year, month, day);
+    }
+
+    /**
+     * Reads {@code d/M/yyyy}, where day and month take one or more digits.
+     */
+    private LocalDate dmyDate() {
+        int day = digits(1, MAX_VARIABLE_DIGITS);
+        if (day < 0 || !literal('/')) {
+            return null;
+        }
+        int month = digits(1, MAX_VARIABLE_DIGITS);
+        if (month < 0 || !literal('/')) {
+            return null;
+        }
+        int year = digits(4, 4);
+        if (year >= 0 && pos < text.length() && isDigit(text.charAt(pos))) {
+            // An unsigned year longer than four digits is rejected by the strict formatter.
+            return null;
+        }
+        return toDate(year, month, day);
+    }
+
+    /**
+     * Reads the time that follows a {@code d/M/yyyy} date: {@code HHmm} or {@code H:mm}.
+     */
+    private LocalTime dmyTime() {
+        return text.indexOf(':', pos) >= 0 ? variableHourTime() : compactTime();
+    }
+
+    /**
+     * Reads the time that follows an ISO date: {@code HHmm} or {@code HH:mm}.
+     */
+    private LocalTime fixedTime() {
+        if (text.indexOf(':', pos) < 0) {
+            return compactTime();
+        }
+        int hour = digits(2, 2);
+        if (hour < 0 || !literal(':')) {
+            return null;
+        }
+        return toTime(hour, digits(2, 2));
+    }
+
+    /**
+     * Reads {@code HHmm}.
+     */
+    private LocalTime compactTime() {
+        int hour = digits(2, 2);
+        if (hour < 0) {
+            return null;
+        }
+        return toTime(hour, digits(2, 2));
+    }
+
+    /**
+     * Reads {@code H:mm}, where the hour takes one or more digits.
+     */
+    private LocalTime variableHourTime() {
+        int hour = digits(1, MAX_VARIABLE_DIGITS);
+        if (hour < 0 || !literal(':')) {
+            return null;
+        }
+        return toTime(hour, digits(2, 2));
+    }
+
+    /**
+     * Reads between {@code min} and {@code max} ASCII digits.
+     *
+     * @return The value (capped at {@link #VALUE_CAP}), or {@code -1} if fewer than {@code min} digits follow.
+     */
+    private int digits(int min, int max) {
+        int start = pos;
+        int value = 0;
+        while (pos < text.length() && pos - start < max && isDigit(text.charAt(pos))) {
+            value = Math.min(value * 10 + (text.charAt(pos) - '0'), VALUE_CAP);
+            pos++;
+        }
+        return pos - start >= min ? value : -1;
+    }
+
+    private boolean literal(char expected) {
+        if (pos < text.length() && text.charAt(pos) == expected) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean atEnd() {
+        return pos == text.length();
+    }
+
+    private static boolean isDigit(char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    private static LocalDate toDate(int year, int month, int day) {
+        if (year < 0 || month < 1 || month > 12 || day < 1) {
+            return null;
+        }
+        int monthLength = Month.of(month).length(Year.isLeap(year));
+        return day <= monthLength ? LocalDate.of(year, month, day) : null;
+    }
+
+    private static LocalTime toTime(int hour, int minute) {
+        return isValidTime(hour, minute) ? LocalTime.of(hour, minute) : null;
+    }
+
+    private static boolean isValidTime(int hour, int minute) {
+        return hour >= 0 && hour <= 23 && minute >= 0 && minute <= 59;
+    }
+}
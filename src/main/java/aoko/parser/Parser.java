@@ -1,11 +1,17 @@
 package aoko.parser;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Parses raw user input into command words, arguments, and date/time values.
@@ -32,8 +38,13 @@ public class Parser {
         DateTimeFormatter.ofPattern("HH:mm").withResolverStyle(ResolverStyle.STRICT)
     };
 
+    private static final Pattern TAG = Pattern.compile("#(\\p{Alpha}[\\p{Alnum}_-]*)");
+
+    private static final Pattern DURATION = Pattern.compile("(?:(\\d{1,6})h)?(?:(\\d{1,7})m?)?");
+
     public enum Command {
-        LIST, MARK, UNMARK, DELETE, TODO, DEADLINE, EVENT, ON, FIND, UNDO, BYE, UNKNOWN;
+        LIST, MORE, MARK, UNMARK, DELETE, TODO, DEADLINE, EVENT, ON, FIND, QUERY, UPCOMING, OVERDUE, FREE, SUMMARY,
+        EXPORT, IMPORT, MERGE, USE, UNDO, STATS, BYE, UNKNOWN;
 
         static Command parse(String token) {
             if (token == null) {
@@ -41,6 +52,7 @@ public class Parser {
             }
             return switch (token.toLowerCase()) {
                 case "list" -> LIST;
+                case "more" -> MORE;
                 case "mark" -> MARK;
                 case "unmark" -> UNMARK;
                 case "delete" -> DELETE;
@@ -49,7 +61,17 @@ public class Parser {
                 case "event" -> EVENT;
                 case "on" -> ON;
                 case "find" -> FIND;
+                case "query" -> QUERY;
+                case "upcoming" -> UPCOMING;
+                case "overdue" -> OVERDUE;
+                case "free" -> FREE;
+                case "summary" -> SUMMARY;
+                case "export" -> EXPORT;
+                case "import" -> IMPORT;
+                case "merge" -> MERGE;
+                case "use" -> USE;
                 case "undo" -> UNDO;
+                case "stats" -> STATS;
                 case "bye" -> BYE;
                 default -> UNKNOWN;
             };
@@ -97,6 +119,25 @@ public class Parser {
         }
     }
 
+    /**
+     * Represents text with its {@code #tag} words taken out.
+     */
+    public static class TaggedText {
+        public final String text;
+        public final List<String> tags;
+
+        /**
+         * Creates tagged text.
+         *
+         * @param text Text without the tag words.
+         * @param tags Tag names without {@code #}, in the order they appeared.
+         */
+        TaggedText(String text, List<String> tags) {
+            this.text = text;
+            this.tags = tags;
+        }
+    }
+
     /**
      * Parses a raw input line into a command word and remainder.
      */
@@ -111,6 +152,35 @@ public class Parser {
         return new ParsedCommand(command, parts, remainder);
     }
 
+    /**
+     * Returns whether a word is a tag: {@code #} followed by a letter, then letters, digits, {@code _} or
+     * {@code -}. Words such as {@code #12} are not tags, so issue numbers can stay in descriptions.
+     */
+    public static boolean isTag(String word) {
+        return word != null && TAG.matcher(word).matches();
+    }
+
+    /**
+     * Takes the tag words out of {@code raw}. If there are none, the text is returned unchanged; otherwise
+     * the remaining words are joined with single spaces.
+     */
+    public static TaggedText extractTags(String raw) {
+        String s = raw == null ? "" : raw;
+        if (s.indexOf('#') < 0) {
+            return new TaggedText(s, List.of());
+        }
+        List<String> words = new ArrayList<>();
+        List<String> tags = new ArrayList<>();
+        for (String word : s.trim().split("\\s+")) {
+            if (isTag(word)) {
+                tags.add(word.substring(1));
+            } else {
+                words.add(word);
+            }
+        }
+        return tags.isEmpty() ? new TaggedText(s, List.of()) : new TaggedText(String.join(" ", words), tags);
+    }
+
     /**
      * Parses a 1-based task index from a tokenized command.
      *
@@ -136,32 +206,10 @@ public class Parser {
         if (s.isEmpty()) {
             return null;
         }
-
-        try {
-            LocalDate date = LocalDate.parse(s, DateTimeFormatter.ISO_LOCAL_DATE);
-            return new ParsedDateTime(date.atStartOfDay(), false);
-        } catch (DateTimeParseException ignored) {
-            // fall through
-        }
-
-        for (DateTimeFormatter formatter : DATE_TIME_FORMATS) {
-            try {
-                return new ParsedDateTime(LocalDateTime.parse(s, formatter), true);
-            } catch (DateTimeParseException ignored) {
-                // try next
-            }
-        }
-
-        for (DateTimeFormatter formatter : DATE_ONLY_FORMATS) {
-            try {
-                LocalDate date = LocalDate.parse(s, formatter);
-                return new ParsedDateTime(date.atStartOfDay(), false);
-            } catch (DateTimeParseException ignored) {
-                // try next
-            }
+        if (DateTimeScanner.needsFormatter(s)) {
+            return parseDateTimeWithFormatters(s);
         }
-
-        return null;
+        return DateTimeScanner.scanDateTime(s);
     }
 
     /**
@@ -174,22 +222,32 @@ public class Parser {
         if (s.isEmpty()) {
             return null;
         }
-
-        try {
-            return LocalDate.parse(s, DateTimeFormatter.ISO_LOCAL_DATE);
-        } catch (DateTimeParseException ignored) {
-            // fall through
+        if (DateTimeScanner.needsFormatter(s)) {
+            return parseDateOnlyWithFormatters(s);
         }
+        return DateTimeScanner.scanDate(s);
+    }
 
-        for (DateTimeFormatter formatter : DATE_ONLY_FORMATS) {
-            try {
-                return LocalDate.parse(s, formatter);
-            } catch (DateTimeParseException ignored) {
-                // try next
-            }
+    /**
+     * Parses a length of time such as {@code 90}, {@code 45m}, {@code 2h} or {@code 1h30m}; plain numbers
+     * are minutes.
+     *
+     * @return Parsed positive duration, or {@code null} if invalid.
+     */
+    public static Duration parseDuration(String raw) {
+        String s = raw == null ? "" : raw.trim().toLowerCase(Locale.ROOT);
+        Matcher matcher = DURATION.matcher(s);
+        if (s.isEmpty() || !matcher.matches()) {
+            return null;
+        }
+        try {
+            long hours = matcher.group(1) == null ? 0 : Long.parseLong(matcher.group(1));
+            long minutes = matcher.group(2) == null ? 0 : Long.parseLong(matcher.group(2));
+            Duration duration = Duration.ofHours(hours).plusMinutes(minutes);
+            return duration.isZero() ? null : duration;
+        } catch (NumberFormatException | ArithmeticException e) {
+            return null;
         }
-
-        return null;
     }
 
     /**
@@ -200,22 +258,10 @@ public class Parser {
         if (s.isEmpty()) {
             return null;
         }
-
-        if (s.contains("T")) {
-            try {
-                return new ParsedDateTime(LocalDateTime.parse(
-                        s, DateTimeFormatter.ISO_LOCAL_DATE_TIME), true);
-            } catch (DateTimeParseException e) {
-                return null;
-            }
-        }
-
-        try {
-            LocalDate date = LocalDate.parse(s, DateTimeFormatter.ISO_LOCAL_DATE);
-            return new ParsedDateTime(date.atStartOfDay(), false);
-        } catch (DateTimeParseException e) {
-            return null;
+        if (DateTimeScanner.needsFormatter(s)) {
+            return parseIsoDateOrDateTimeWithFormatters(s);
         }
+        return DateTimeScanner.scanIsoDateOrDateTime(s);
     }
 
     /**
@@ -239,21 +285,87 @@ public class Parser {
             return new ParsedDateTime(LocalDateTime.of(date, LocalTime.MIDNIGHT), true);
         }
 
-        LocalTime time = null;
-        for (DateTimeFormatter formatter : TIME_ONLY_FORMATS) {
+        LocalTime time = DateTimeScanner.needsFormatter(s)
+                ? parseTimeWithFormatters(s)
+                : DateTimeScanner.scanTime(s);
+        if (time == null) {
+            return null;
+        }
+
+        LocalDate date = fromParsed.dateTime.toLocalDate();
+        return new ParsedDateTime(LocalDateTime.of(date, time), true);
+    }
+
+    /**
+     * Formatter-chain fallback for {@link #parseDateTime(String)}, used only for inputs the
+     * {@link DateTimeScanner} defers (e.g., signed years).
+     */
+    private static ParsedDateTime parseDateTimeWithFormatters(String s) {
+        try {
+            LocalDate date = LocalDate.parse(s, DateTimeFormatter.ISO_LOCAL_DATE);
+            return new ParsedDateTime(date.atStartOfDay(), false);
+        } catch (DateTimeParseException ignored) {
+            // fall through
+        }
+
+        for (DateTimeFormatter formatter : DATE_TIME_FORMATS) {
             try {
-                time = LocalTime.parse(s, formatter);
-                break;
+                return new ParsedDateTime(LocalDateTime.parse(s, formatter), true);
             } catch (DateTimeParseException ignored) {
                 // try next
             }
         }
 
-        if (time == null) {
+        LocalDate date = parseDmyDateWithFormatters(s);
+        return date == null ? null : new ParsedDateTime(date.atStartOfDay(), false);
+    }
+
+    private static LocalDate parseDateOnlyWithFormatters(String s) {
+        try {
+            return LocalDate.parse(s, DateTimeFormatter.ISO_LOCAL_DATE);
+        } catch (DateTimeParseException ignored) {
+            // fall through
+        }
+        return parseDmyDateWithFormatters(s);
+    }
+
+    private static LocalDate parseDmyDateWithFormatters(String s) {
+        for (DateTimeFormatter formatter : DATE_ONLY_FORMATS) {
+            try {
+                return LocalDate.parse(s, formatter);
+            } catch (DateTimeParseException ignored) {
+                // try next
+            }
+        }
+        return null;
+    }
+
+    private static ParsedDateTime parseIsoDateOrDateTimeWithFormatters(String s) {
+        if (s.contains("T")) {
+            try {
+                return new ParsedDateTime(LocalDateTime.parse(
+                        s, DateTimeFormatter.ISO_LOCAL_DATE_TIME), true);
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+
+        try {
+            LocalDate date = LocalDate.parse(s, DateTimeFormatter.ISO_LOCAL_DATE);
+            return new ParsedDateTime(date.atStartOfDay(), false);
+        } catch (DateTimeParseException e) {
             return null;
         }
+    }
 
-        LocalDate date = fromParsed.dateTime.toLocalDate();
-        return new ParsedDateTime(LocalDateTime.of(date, time), true);
+    private static LocalTime parseTimeWithFormatters(String s) {
+        for (DateTimeFormatter formatter : TIME_ONLY_FORMATS) {
+            try {
+                return LocalTime.parse(s, formatter);
+            } catch (DateTimeParseException ignored) {
+                // try next
+            }
+        }
+        return null;
     }
 }
@@ -0,0 +1,184 @@
+package aoko.query;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import aoko.parser.Parser;
+import aoko.task.Deadline;
+import aoko.task.DeadlineIndex;
+import aoko.task.Event;
+import aoko.task.RecurringEvent;
+import aoko.task.Task;
+
+/**
+ * Conjunction of filter clauses parsed from {@code field:value} words.
+ *
+ * <p>Supported fields are {@code type:} ({@code T}, {@code D}, {@code E} or {@code R}, comma-separated
+ * for any of several), {@code done:} ({@code 0} or {@code 1}), {@code before:} and {@code after:}
+ * (a date, compared with when a deadline is due or an event first starts) and {@code text:} (a
+ * case-insensitive part of the description; may be repeated). A task matches if it satisfies every
+ * clause.
+ */
+public final class Query {
+    /** Describes the grammar for usage messages. */
+    public static final String SYNTAX = "type:<T|D|E|R>[,...] done:<0|1> before:<date> after:<date> text:<word>";
+
+    private final Set<String> types;
+    private final Boolean isDone;
+    private final LocalDate before;
+    private final LocalDate after;
+    private final List<String> texts;
+
+    private Query(Set<String> types, Boolean isDone, LocalDate before, LocalDate after, List<String> texts) {
+        this.types = types;
+        this.isDone = isDone;
+        this.before = before;
+        this.after = after;
+        this.texts = texts;
+    }
+
+    /**
+     * Parses whitespace-separated clauses.
+     *
+     * @throws IllegalArgumentException With a message for the user if a clause is invalid.
+     */
+    public static Query parse(String raw) {
+        assert raw != null : "Query must not be null";
+        Set<String> types = null;
+        Boolean isDone = null;
+        LocalDate before = null;
+        LocalDate after = null;
+        List<String> texts = new ArrayList<>();
+        for (String clause : raw.trim().split("\\s+")) {
+            if (clause.isEmpty()) {
+                continue;
+            }
+            int colon = clause.indexOf(':');
+            if (colon <= 0 || colon == clause.length() - 1) {
+                throw new IllegalArgumentException("\"" + clause + "\" is not a field:value clause.");
+            }
+            String field = clause.substring(0, colon).toLowerCase(Locale.ROOT);
+            String value = clause.substring(colon + 1);
+            switch (field) {
+            case "type" -> types = parseTypes(value);
+            case "done" -> isDone = parseDone(value);
+            case "before" -> before = parseDate(value);
+            case "after" -> after = parseDate(value);
+            case "text" -> texts.add(value.toLowerCase(Locale.ROOT));
+            default -> throw new IllegalArgumentException("I don't know the field \"" + field + "\".");
+            }
+        }
+        if (types == null && isDone == null && before == null && after == null && texts.isEmpty()) {
+            throw new IllegalArgumentException("Please give at least one clause.");
+        }
+        return new Query(types, isDone, before, after, Collections.unmodifiableList(texts));
+    }
+
+    private static Set<String> parseTypes(String value) {
+        Set<String> types = new LinkedHashSet<>();
+        for (String type : value.toUpperCase(Locale.ROOT).split(",")) {
+            if (!List.of("T", "D", "E", "R").contains(type)) {
+                throw new IllegalArgumentException("\"" + type + "\" is not a task type (use T, D, E or R).");
+            }
+            types.add(type);
+        }
+        return Collections.unmodifiableSet(types);
+    }
+
+    private static Boolean parseDone(String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+        case "1", "yes", "true" -> Boolean.TRUE;
+        case "0", "no", "false" -> Boolean.FALSE;
+        default -> throw new IllegalArgumentException("done: takes 0 or 1.");
+        };
+    }
+
+    private static LocalDate parseDate(String value) {
+        LocalDate date = Parser.parseDateOnly(value);
+        if (date == null) {
+            throw new IllegalArgumentException("I couldn't understand the date \"" + value + "\".");
+        }
+        return date;
+    }
+
+    /**
+     * Returns the type letter of a task: {@code T}, {@code D}, {@code E} or {@code R}.
+     */
+    static String typeOf(Task task) {
+        if (task instanceof Deadline) {
+            return "D";
+        }
+        if (task instanceof Event) {
+            return "E";
+        }
+        if (task instanceof RecurringEvent) {
+            return "R";
+        }
+        return "T";
+    }
+
+    /**
+     * Returns the allowed type letters, or {@code null} if any type is allowed.
+     */
+    Set<String> getTypes() {
+        return types;
+    }
+
+    /**
+     * Returns the required done state, or {@code null} if either is allowed.
+     */
+    Boolean getDone() {
+        return isDone;
+    }
+
+    /**
+     * Returns the start of the due-time range the date clauses allow, or {@code null} if unbounded.
+     */
+    LocalDateTime dueFrom() {
+        return after == null ? null : after.plusDays(1).atStartOfDay();
+    }
+
+    /**
+     * Returns the exclusive end of the due-time range the date clauses allow, or {@code null} if unbounded.
+     */
+    LocalDateTime dueTo() {
+        return before == null ? null : before.atStartOfDay();
+    }
+
+    LocalDate getBefore() {
+        return before;
+    }
+
+    LocalDate getAfter() {
+        return after;
+    }
+
+    List<String> getTexts() {
+        return texts;
+    }
+
+    /**
+     * Returns whether a task's due time falls in the range of the date clauses.
+     */
+    boolean isDueInRange(Task task) {
+        LocalDateTime due = DeadlineIndex.dueOf(task);
+        if (due == null) {
+            return false;
+        }
+        return (dueFrom() == null || !due.isBefore(dueFrom())) && (dueTo() == null || due.isBefore(dueTo()));
+    }
+
+    /**
+     * Returns the clauses in a fixed order, so equal queries have equal strings.
+     */
+    @Override
+    public String toString() {
+        return "type:" + types + " done:" + isDone + " before:" + before + " after:" + after + " text:" + texts;
+    }
+}
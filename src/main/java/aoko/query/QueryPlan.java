@@ -0,0 +1,195 @@
+package aoko.query;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import aoko.task.FuzzyIndex;
+import aoko.task.Task;
+import aoko.task.TaskList;
+
+/**
+ * How a {@link Query} is answered: one access path that produces candidate tasks, followed by a single
+ * fused filter over the clauses the access path does not already guarantee.
+ *
+ * <p>The planner estimates how many tasks each usable index would produce and picks the smallest,
+ * falling back to a scan of the whole list. The due-date index holds only undone deadlines and events, so
+ * it can answer date clauses only together with {@code done:0}. The word index answers a {@code text:}
+ * clause whose value is a single word, because any description containing such a value has a word
+ * containing it. The done bitset answers a {@code done:} clause and, unlike the indexes, yields its
+ * candidates already in list order.
+ */
+public final class QueryPlan {
+    private static final DateTimeFormatter DISPLAY_DATE = DateTimeFormatter.ofPattern("MMM dd yyyy", Locale.ENGLISH);
+
+    private final TaskList tasks;
+    private final String access;
+    private final long estimate;
+    private final Supplier<Collection<Task>> candidates;
+    private final boolean isInListOrder;
+    private final List<String> filterDescriptions;
+    private final Predicate<Task> filter;
+
+    private QueryPlan(TaskList tasks, String access, long estimate, Supplier<Collection<Task>> candidates,
+            boolean isInListOrder, List<String> filterDescriptions, Predicate<Task> filter) {
+        this.tasks = tasks;
+        this.access = access;
+        this.estimate = estimate;
+        this.candidates = candidates;
+        this.isInListOrder = isInListOrder;
+        this.filterDescriptions = filterDescriptions;
+        this.filter = filter;
+    }
+
+    /**
+     * Chooses the cheapest way to answer {@code query} over {@code tasks}.
+     */
+    public static QueryPlan plan(Query query, TaskList tasks) {
+        assert query != null : "Query must not be null";
+        assert tasks != null : "Task list must not be null";
+
+        String access = "full scan";
+        long best = tasks.size();
+        Supplier<Collection<Task>> candidates = null;
+        boolean usesDateIndex = false;
+        boolean usesDoneBits = false;
+        String indexedText = null;
+
+        if (query.getDone() != null) {
+            boolean isDone = query.getDone();
+            int count = isDone ? tasks.countDone() : tasks.countPending();
+            if (count < best) {
+                best = count;
+                access = "done bitset, " + (isDone ? "done" : "undone") + " tasks";
+                candidates = () -> tasks.withDone(isDone);
+                usesDoneBits = true;
+            }
+        }
+
+        boolean hasDateClause = query.dueFrom() != null || query.dueTo() != null;
+        if (hasDateClause && Boolean.FALSE.equals(query.getDone())) {
+            LocalDateTime from = query.dueFrom() == null ? LocalDateTime.MIN : query.dueFrom();
+            LocalDateTime to = query.dueTo() == null ? LocalDateTime.MAX : query.dueTo();
+            int count = tasks.getDeadlineIndex().countDueBetween(from, to, (int) Math.min(best, Integer.MAX_VALUE));
+            if (count < best) {
+                best = count;
+                access = "due-date index, undone tasks due " + describeDates(query);
+                candidates = () -> tasks.getDeadlineIndex().dueBetween(from, to);
+                usesDateIndex = true;
+                usesDoneBits = false;
+            }
+        }
+        for (String text : query.getTexts()) {
+            if (!FuzzyIndex.isWordPart(text)) {
+                continue;
+            }
+            long count = tasks.getFuzzyIndex().countWithWordContaining(text);
+            if (count < best) {
+                best = count;
+                access = "word index, words containing \"" + text + "\"";
+                candidates = () -> tasks.getFuzzyIndex().withWordContaining(text);
+                usesDateIndex = false;
+                usesDoneBits = false;
+                indexedText = text;
+            }
+        }
+
+        List<String> descriptions = new ArrayList<>();
+        List<Predicate<Task>> predicates = new ArrayList<>();
+        if (query.getDone() != null && !usesDateIndex && !usesDoneBits) {
+            boolean isDone = query.getDone();
+            descriptions.add("done = " + (isDone ? 1 : 0));
+            predicates.add(task -> task.isDone() == isDone);
+        }
+        if (query.getTypes() != null) {
+            descriptions.add("type in " + String.join(",", query.getTypes()));
+            predicates.add(task -> query.getTypes().contains(Query.typeOf(task)));
+        }
+        if (hasDateClause && !usesDateIndex) {
+            descriptions.add("due " + describeDates(query));
+            predicates.add(query::isDueInRange);
+        }
+        boolean isTextIndexed = false;
+        for (String text : query.getTexts()) {
+            if (!isTextIndexed && text.equals(indexedText)) {
+                isTextIndexed = true;
+                continue;
+            }
+            descriptions.add("text contains \"" + text + "\"");
+            predicates.add(task -> task.getDescription().toLowerCase(Locale.ROOT).contains(text));
+        }
+        return new QueryPlan(tasks, access, best, candidates, usesDoneBits, descriptions,
+                fuse(predicates));
+    }
+
+    /**
+     * Combines predicates into one that checks them in order and stops at the first failure.
+     */
+    private static Predicate<Task> fuse(List<Predicate<Task>> predicates) {
+        if (predicates.isEmpty()) {
+            return task -> true;
+        }
+        List<Predicate<Task>> steps = List.copyOf(predicates);
+        int stepCount = steps.size();
+        return task -> {
+            for (int i = 0; i < stepCount; i++) {
+                if (!steps.get(i).test(task)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    private static String describeDates(Query query) {
+        List<String> parts = new ArrayList<>();
+        if (query.getAfter() != null) {
+            parts.add("after " + query.getAfter().format(DISPLAY_DATE));
+        }
+        if (query.getBefore() != null) {
+            parts.add("before " + query.getBefore().format(DISPLAY_DATE));
+        }
+        return String.join(" and ", parts);
+    }
+
+    /**
+     * Runs the plan and returns the matching tasks in list order.
+     */
+    public List<Task> execute() {
+        List<Task> matches = new ArrayList<>();
+        if (candidates == null) {
+            for (Task task : tasks.asUnmodifiableList()) {
+                if (filter.test(task)) {
+                    matches.add(task);
+                }
+            }
+            return matches;
+        }
+        for (Task task : candidates.get()) {
+            if (filter.test(task)) {
+                matches.add(task);
+            }
+        }
+        if (!isInListOrder) {
+            tasks.sortInListOrder(matches);
+        }
+        return matches;
+    }
+
+    /**
+     * Returns a description of the plan, one step per line.
+     */
+    public List<String> describe() {
+        List<String> lines = new ArrayList<>();
+        lines.add("1. Access: " + access + " (" + estimate + (candidates == null ? " tasks)" : " candidates)"));
+        lines.add("2. Filter: " + (filterDescriptions.isEmpty() ? "none" : String.join(", ", filterDescriptions))
+                + " (one pass)");
+        lines.add("3. Order: list order" + (candidates == null || isInListOrder ? "" : " (sorted after filtering)"));
+        return lines;
+    }
+}
@@ -0,0 +1,196 @@
+package aoko.reminder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import aoko.task.Deadline;
+import aoko.task.Event;
+import aoko.task.RecurringEvent;
+import aoko.task.Task;
+import aoko.task.TaskListListener;
+
+/**
+ * Reminds the user shortly before undone deadlines are due and events start.
+ *
+ * <p>Reminders are kept in a {@link TimerWheel} with one-minute ticks and follow the task list through
+ * {@link TaskListListener} callbacks, so adding, marking or deleting a task costs O(1) and the list is
+ * never scanned. A timed task is reminded {@code lead} before it is due and a date-only task at the start
+ * of its day. A recurring event holds one reminder, for its next occurrence, and schedules the following
+ * one when it fires. A reminder whose time has passed fires on the next tick, but tasks that are already
+ * due get no reminder.
+ *
+ * <p>After {@link #start()}, a single daemon thread wakes once a minute to advance the wheel and passes
+ * the tasks that fell due to the sink. Listener callbacks and ticks may come from different threads.
+ */
+public class ReminderScheduler implements TaskListListener {
+    /** Default time between a reminder and the deadline or event start it is for. */
+    public static final Duration DEFAULT_LEAD = Duration.ofMinutes(30);
+
+    private static final long MINUTE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final Clock clock;
+    private final Duration lead;
+    private final Consumer<List<Task>> sink;
+    private final TimerWheel<Task> wheel;
+    private final Map<Task, TimerWheel.Timeout<Task>> pending = new IdentityHashMap<>();
+    private ScheduledExecutorService ticker;
+
+    /**
+     * Creates a scheduler with no reminders; feed it tasks through the listener methods.
+     *
+     * @param clock Source of the current time and time zone.
+     * @param lead How long before a timed deadline or event start to remind.
+     * @param sink Receives the tasks whose reminders fell due, from the ticking thread.
+     */
+    public ReminderScheduler(Clock clock, Duration lead, Consumer<List<Task>> sink) {
+        assert clock != null : "Clock must not be null";
+        assert lead != null && !lead.isNegative() : "Lead time must not be negative";
+        assert sink != null : "Reminder sink must not be null";
+        this.clock = clock;
+        this.lead = lead;
+        this.sink = sink;
+        this.wheel = new TimerWheel<>(currentMinute());
+    }
+
+    /**
+     * Starts the thread that delivers reminders once a minute.
+     */
+    public synchronized void start() {
+        if (ticker != null) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "aoko-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long untilNextMinute = MINUTE_MILLIS - Math.floorMod(clock.millis(), MINUTE_MILLIS);
+        ticker.scheduleAtFixedRate(this::tick, untilNextMinute, MINUTE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops delivering reminders.
+     */
+    public synchronized void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    /**
+     * Returns the number of reminders waiting to fire.
+     */
+    public synchronized int pendingCount() {
+        return wheel.size();
+    }
+
+    /**
+     * Fires every reminder that is due by the clock's current time.
+     */
+    void tick() {
+        List<Task> due = new ArrayList<>();
+        synchronized (this) {
+            wheel.advanceTo(currentMinute(), task -> {
+                pending.remove(task);
+                if (task instanceof RecurringEvent series) {
+                    fireOccurrence(series, due);
+                } else {
+                    due.add(task);
+                }
+            });
+        }
+        if (!due.isEmpty()) {
+            sink.accept(due);
+        }
+    }
+
+    @Override
+    public synchronized void taskAdded(int index, Task task) {
+        if (!task.isDone()) {
+            schedule(task);
+        }
+    }
+
+    @Override
+    public synchronized void taskRemoved(int index, Task task) {
+        wheel.cancel(pending.remove(task));
+    }
+
+    @Override
+    public synchronized void taskDoneChanged(int index, Task task) {
+        if (task.isDone()) {
+            wheel.cancel(pending.remove(task));
+        } else {
+            schedule(task);
+        }
+    }
+
+    @Override
+    public synchronized void tasksReplaced(List<Task> tasks) {
+        for (TimerWheel.Timeout<Task> timeout : pending.values()) {
+            wheel.cancel(timeout);
+        }
+        pending.clear();
+        for (Task task : tasks) {
+            taskAdded(0, task);
+        }
+    }
+
+    /**
+     * Reports the occurrence a series reminder was for and schedules the reminder for the one after it.
+     */
+    private void fireOccurrence(RecurringEvent series, List<Task> due) {
+        Event occurrence = series.nextOccurrence(LocalDateTime.now(clock));
+        if (occurrence == null) {
+            return;
+        }
+        due.add(occurrence);
+        Event following = series.occurrenceAfter(occurrence.getFrom());
+        if (following != null) {
+            schedule(series, following.getFrom(), following.hasFromTime());
+        }
+    }
+
+    private void schedule(Task task) {
+        if (task instanceof Deadline deadline) {
+            schedule(task, deadline.getBy(), deadline.hasTime());
+        } else if (task instanceof Event event) {
+            schedule(task, event.getFrom(), event.hasFromTime());
+        } else if (task instanceof RecurringEvent series) {
+            Event occurrence = series.nextOccurrence(LocalDateTime.now(clock));
+            if (occurrence != null) {
+                schedule(task, occurrence.getFrom(), occurrence.hasFromTime());
+            }
+        }
+    }
+
+    private void schedule(Task task, LocalDateTime due, boolean hasTime) {
+        LocalDateTime lastMoment = hasTime ? due : due.toLocalDate().atTime(LocalTime.MAX);
+        if (pending.containsKey(task) || toMinute(lastMoment) < wheel.getCurrentTick()) {
+            return;
+        }
+        LocalDateTime remindAt = hasTime ? due.minus(lead) : due.toLocalDate().atStartOfDay();
+        pending.put(task, wheel.schedule(toMinute(remindAt), task));
+    }
+
+    private long toMinute(LocalDateTime time) {
+        Instant instant = time.atZone(clock.getZone()).toInstant();
+        return Math.floorDiv(instant.getEpochSecond(), 60);
+    }
+
+    private long currentMinute() {
+        return Math.floorDiv(clock.millis(), MINUTE_MILLIS);
+    }
+}
@@ -0,0 +1,195 @@
+package aoko.reminder;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timer wheel with one-minute ticks.
+ *
+ * <p>There are {@value #LEVELS} levels of {@value #SLOTS} slots. Level {@code L} slots each span
+ * {@code 64^L} ticks, so the wheel covers about 2000 years ahead. A timeout sits in the lowest level
+ * whose slot is still in the future. When time reaches the start of a higher-level slot, its timeouts
+ * are moved down a level. Slots are intrusive doubly linked lists, so scheduling and cancelling are
+ * O(1), and each pending timeout costs a single small node.
+ *
+ * <p>Not thread-safe; callers synchronize.
+ *
+ * @param <T> Payload type.
+ */
+public class TimerWheel<T> {
+    static final int LEVELS = 5;
+    static final int SLOT_BITS = 6;
+    static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final Timeout<T>[] heads;
+    private long currentTick;
+    private int size;
+
+    /**
+     * A scheduled payload; pass it to {@link #cancel(Timeout)} to unschedule it.
+     *
+     * @param <T> Payload type.
+     */
+    public static final class Timeout<T> {
+        private final long deadline;
+        private final T payload;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private int bucket = -1;
+
+        private Timeout(long deadline, T payload) {
+            this.deadline = deadline;
+            this.payload = payload;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        /**
+         * Returns whether the timeout is still waiting to fire.
+         */
+        public boolean isPending() {
+            return bucket >= 0;
+        }
+    }
+
+    /**
+     * Creates an empty wheel whose current time is {@code startTick}.
+     */
+    public TimerWheel(long startTick) {
+        @SuppressWarnings("unchecked")
+        Timeout<T>[] slots = (Timeout<T>[]) new Timeout<?>[LEVELS * SLOTS];
+        this.heads = slots;
+        this.currentTick = startTick;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Returns the number of pending timeouts.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Schedules {@code payload} to fire at {@code deadline}; deadlines not after the current tick fire on
+     * the next tick.
+     */
+    public Timeout<T> schedule(long deadline, T payload) {
+        Timeout<T> timeout = new Timeout<>(deadline, payload);
+        place(timeout, currentTick + 1);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Unschedules a timeout; does nothing if it already fired or was cancelled.
+     */
+    public void cancel(Timeout<T> timeout) {
+        if (timeout == null || !timeout.isPending()) {
+            return;
+        }
+        unlink(timeout);
+        size--;
+    }
+
+    /**
+     * Advances time to {@code tick}, passing the payload of every timeout that falls due to {@code onFire}
+     * in deadline order.
+     *
+     * @return Number of timeouts fired.
+     */
+    public int advanceTo(long tick, Consumer<T> onFire) {
+        int fired = 0;
+        while (currentTick < tick) {
+            currentTick++;
+            cascade();
+            int bucket = (int) (currentTick & SLOT_MASK);
+            for (Timeout<T> timeout = heads[bucket]; timeout != null; timeout = heads[bucket]) {
+                unlink(timeout);
+                size--;
+                fired++;
+                onFire.accept(timeout.payload);
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * Moves timeouts down from every higher-level slot that starts at the current tick, highest level first.
+     */
+    private void cascade() {
+        int level = 0;
+        while (level + 1 < LEVELS && (currentTick & ((1L << (SLOT_BITS * (level + 1))) - 1)) == 0) {
+            level++;
+        }
+        for (; level >= 1; level--) {
+            int bucket = level * SLOTS + (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            Timeout<T> timeout = heads[bucket];
+            heads[bucket] = null;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                timeout.prev = null;
+                timeout.next = null;
+                timeout.bucket = -1;
+                place(timeout, currentTick);
+                timeout = next;
+            }
+        }
+    }
+
+    /**
+     * Links a timeout into the slot for its deadline, or for {@code earliest} if the deadline is before it.
+     */
+    private void place(Timeout<T> timeout, long earliest) {
+        long target = Math.max(timeout.deadline, earliest);
+        int bucket = -1;
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * level;
+            long distance = (target >>> shift) - (currentTick >>> shift);
+            if (distance < SLOTS) {
+                bucket = level * SLOTS + (int) ((target >>> shift) & SLOT_MASK);
+                break;
+            }
+        }
+        if (bucket < 0) {
+            // Beyond the wheel's range: park in the furthest top-level slot and re-place it on cascade.
+            int shift = SLOT_BITS * (LEVELS - 1);
+            bucket = (LEVELS - 1) * SLOTS + (int) (((currentTick >>> shift) + SLOTS - 1) & SLOT_MASK);
+        }
+        link(timeout, bucket);
+    }
+
+    private void link(Timeout<T> timeout, int bucket) {
+        Timeout<T> head = heads[bucket];
+        timeout.bucket = bucket;
+        timeout.prev = null;
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        heads[bucket] = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            heads[timeout.bucket] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.bucket = -1;
+    }
+}
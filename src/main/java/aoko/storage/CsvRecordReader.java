@@ -0,0 +1,95 @@
+package aoko.storage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads CSV records whose first row names the columns, in any order.
+ *
+ * <p>Fields follow RFC 4180: a quoted field may contain commas, doubled quotes and line breaks.
+ */
+final class CsvRecordReader implements RecordReader {
+    private final BufferedReader in;
+    private final List<String> header;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+
+    CsvRecordReader(BufferedReader in) throws IOException {
+        this.in = in;
+        List<String> names = readRow() ? new ArrayList<>(fields) : List.of();
+        for (int i = 0; i < names.size(); i++) {
+            names.set(i, names.get(i).trim().toLowerCase(Locale.ROOT));
+        }
+        this.header = names;
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        while (readRow()) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            if (fields.size() != header.size()) {
+                return Map.of();
+            }
+            Map<String, String> record = new HashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                record.put(header.get(i), fields.get(i));
+            }
+            return record;
+        }
+        return null;
+    }
+
+    /**
+     * Reads one row into {@link #fields}.
+     *
+     * @return Whether a row was read, false at the end of the file.
+     */
+    private boolean readRow() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        boolean isQuoted = false;
+        int c = in.read();
+        if (c < 0) {
+            return false;
+        }
+        while (c >= 0) {
+            if (isQuoted) {
+                if (c == '"') {
+                    in.mark(1);
+                    if (in.read() != '"') {
+                        in.reset();
+                        isQuoted = false;
+                    } else {
+                        field.append('"');
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                isQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+        fields.add(field.toString());
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
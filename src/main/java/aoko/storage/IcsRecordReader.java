@@ -0,0 +1,256 @@
+package aoko.storage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads {@code VEVENT} and {@code VTODO} components of an iCalendar file as task records.
+ *
+ * <p>Events become event records, with a repeat rule if they have a simple {@code RRULE}. To-dos with a
+ * {@code DUE} become deadlines and the rest todos; {@code STATUS:COMPLETED} marks them done. UTC and
+ * {@code TZID} times are converted to the local time zone. A date-only {@code DTEND} is exclusive in
+ * iCalendar, so it moves back a day. Components Aoko cannot represent, such as rules with an
+ * {@code INTERVAL} or {@code BYDAY}, are returned as unreadable records.
+ */
+final class IcsRecordReader implements RecordReader {
+    private static final DateTimeFormatter ICS_DATE = DateTimeFormatter.ofPattern("uuuuMMdd");
+    private static final DateTimeFormatter ICS_DATE_TIME = DateTimeFormatter.ofPattern("uuuuMMdd'T'HHmmss");
+
+    private final BufferedReader in;
+    private final ZoneId zone;
+    private String pending;
+
+    IcsRecordReader(BufferedReader in, ZoneId zone) {
+        this.in = in;
+        this.zone = zone;
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        String line;
+        while ((line = readUnfolded()) != null) {
+            String name = nameOf(line);
+            String value = valueOf(line);
+            if (name.equals("BEGIN") && (value.equals("VEVENT") || value.equals("VTODO"))) {
+                return readComponent(value);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the properties of one component up to its {@code END}, skipping nested components such as
+     * {@code VALARM}.
+     */
+    private Map<String, String> readComponent(String component) throws IOException {
+        Map<String, String> properties = new HashMap<>();
+        int depth = 0;
+        String line;
+        while ((line = readUnfolded()) != null) {
+            String name = nameOf(line);
+            if (name.equals("BEGIN")) {
+                depth++;
+            } else if (name.equals("END")) {
+                if (depth-- == 0) {
+                    break;
+                }
+            } else if (depth == 0) {
+                properties.putIfAbsent(name, line);
+            }
+        }
+        try {
+            return toRecord(component, properties);
+        } catch (DateTimeException | IllegalArgumentException e) {
+            return Map.of();
+        }
+    }
+
+    private Map<String, String> toRecord(String component, Map<String, String> properties) {
+        Map<String, String> record = new HashMap<>();
+        String summary = properties.get("SUMMARY");
+        record.put("description", summary == null ? "" : unescape(valueOf(summary)));
+        String categories = properties.get("CATEGORIES");
+        if (categories != null) {
+            record.put("tags", unescape(valueOf(categories)).replace(' ', '-').replace(',', ' '));
+        }
+
+        if (component.equals("VTODO")) {
+            String due = properties.get("DUE");
+            record.put("type", due == null ? "todo" : "deadline");
+            if (due != null) {
+                record.put("start", toIso(due));
+            }
+            record.put("done", Boolean.toString("COMPLETED".equals(valueOf(properties.getOrDefault("STATUS", "")))));
+            return record;
+        }
+
+        String start = properties.get("DTSTART");
+        if (start == null) {
+            return Map.of();
+        }
+        String end = properties.get("DTEND");
+        String startIso = toIso(start);
+        String endIso = end == null ? startIso : toIso(end);
+        if (end != null && !endIso.contains("T")) {
+            LocalDate inclusive = LocalDate.parse(endIso).minusDays(1);
+            endIso = inclusive.isBefore(LocalDate.parse(startIso.substring(0, 10)))
+                    ? startIso.substring(0, 10)
+                    : inclusive.toString();
+        }
+        record.put("type", "event");
+        record.put("done", "false");
+        record.put("start", startIso);
+        record.put("end", endIso);
+        String rule = properties.get("RRULE");
+        if (rule != null) {
+            record.put("repeat", toRepeat(valueOf(rule)));
+        }
+        return record;
+    }
+
+    /**
+     * Converts a date or date-time property to an ISO local date or date-time.
+     */
+    private String toIso(String line) {
+        String value = valueOf(line);
+        if (value.length() == 8) {
+            return LocalDate.parse(value, ICS_DATE).toString();
+        }
+        boolean isUtc = value.endsWith("Z");
+        LocalDateTime dateTime = LocalDateTime.parse(isUtc ? value.substring(0, value.length() - 1) : value,
+                ICS_DATE_TIME);
+        String tzid = parameter(line, "TZID");
+        if (isUtc) {
+            dateTime = dateTime.atOffset(ZoneOffset.UTC).atZoneSameInstant(zone).toLocalDateTime();
+        } else if (tzid != null) {
+            dateTime = dateTime.atZone(ZoneId.of(tzid)).withZoneSameInstant(zone).toLocalDateTime();
+        }
+        return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime);
+    }
+
+    /**
+     * Converts an {@code RRULE} value to a repeat rule such as {@code weekly until 2025-12-31}.
+     */
+    private String toRepeat(String rule) {
+        String frequency = null;
+        String ending = "";
+        for (String part : rule.split(";")) {
+            int equals = part.indexOf('=');
+            String key = equals < 0 ? part : part.substring(0, equals).toUpperCase(Locale.ROOT);
+            String value = equals < 0 ? "" : part.substring(equals + 1);
+            switch (key) {
+            case "FREQ" -> frequency = value.toLowerCase(Locale.ROOT);
+            case "UNTIL" -> ending = " until " + LocalDate.parse(value.substring(0, 8), ICS_DATE);
+            case "COUNT" -> ending = " count " + Integer.parseInt(value);
+            case "INTERVAL" -> {
+                if (!value.equals("1")) {
+                    throw new IllegalArgumentException("Unsupported interval: " + value);
+                }
+            }
+            case "WKST" -> {
+                // the week start does not change daily, weekly or monthly occurrences
+            }
+            default -> throw new IllegalArgumentException("Unsupported rule part: " + key);
+            }
+        }
+        if (frequency == null) {
+            throw new IllegalArgumentException("Rule has no frequency");
+        }
+        return frequency + ending;
+    }
+
+    /**
+     * Returns the next content line with folded continuation lines joined back on.
+     */
+    private String readUnfolded() throws IOException {
+        String line = pending != null ? pending : in.readLine();
+        pending = null;
+        if (line == null) {
+            return null;
+        }
+        StringBuilder unfolded = null;
+        String next;
+        while ((next = in.readLine()) != null && !next.isEmpty()
+                && (next.charAt(0) == ' ' || next.charAt(0) == '\t')) {
+            if (unfolded == null) {
+                unfolded = new StringBuilder(line);
+            }
+            unfolded.append(next, 1, next.length());
+        }
+        pending = next;
+        return unfolded == null ? line : unfolded.toString();
+    }
+
+    private static String nameOf(String line) {
+        int end = 0;
+        while (end < line.length() && line.charAt(end) != ':' && line.charAt(end) != ';') {
+            end++;
+        }
+        return line.substring(0, end).trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String valueOf(String line) {
+        int colon = valueStart(line);
+        return colon < 0 ? "" : line.substring(colon + 1).trim();
+    }
+
+    /**
+     * Returns the index of the colon ending the name and parameters, skipping colons in quoted parameter
+     * values, or -1 if there is none.
+     */
+    private static int valueStart(String line) {
+        boolean isQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                isQuoted = !isQuoted;
+            } else if (c == ':' && !isQuoted) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String parameter(String line, String name) {
+        int end = valueStart(line);
+        String[] parts = line.substring(0, end < 0 ? line.length() : end).split(";");
+        for (int i = 1; i < parts.length; i++) {
+            int equals = parts[i].indexOf('=');
+            if (equals > 0 && parts[i].substring(0, equals).equalsIgnoreCase(name)) {
+                return parts[i].substring(equals + 1).replace("\"", "");
+            }
+        }
+        return null;
+    }
+
+    private static String unescape(String text) {
+        if (text.indexOf('\\') < 0) {
+            return text;
+        }
+        StringBuilder plain = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                char escaped = text.charAt(++i);
+                plain.append(escaped == 'n' || escaped == 'N' ? '\n' : escaped);
+            } else {
+                plain.append(c);
+            }
+        }
+        return plain.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
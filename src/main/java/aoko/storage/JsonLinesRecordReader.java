@@ -0,0 +1,160 @@
+package aoko.storage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads one flat JSON object per line.
+ *
+ * <p>Values may be strings, numbers, {@code true}, {@code false}, {@code null} or arrays of strings; an
+ * array becomes its elements joined by spaces, and {@code null} leaves the field out. A line that is not
+ * such an object is returned as an unreadable record.
+ */
+final class JsonLinesRecordReader implements RecordReader {
+    private final BufferedReader in;
+    private String line;
+    private int pos;
+
+    JsonLinesRecordReader(BufferedReader in) {
+        this.in = in;
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        while ((line = in.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            pos = 0;
+            try {
+                return parseObject();
+            } catch (IllegalArgumentException e) {
+                return Map.of();
+            }
+        }
+        return null;
+    }
+
+    private Map<String, String> parseObject() {
+        Map<String, String> record = new HashMap<>();
+        expect('{');
+        if (peek() == '}') {
+            pos++;
+            return endOfLine(record);
+        }
+        do {
+            String key = parseString();
+            expect(':');
+            String value = parseValue();
+            if (value != null) {
+                record.put(key, value);
+            }
+        } while (consumeIf(','));
+        expect('}');
+        return endOfLine(record);
+    }
+
+    private Map<String, String> endOfLine(Map<String, String> record) {
+        if (peek() != 0) {
+            throw new IllegalArgumentException("Trailing characters");
+        }
+        return record;
+    }
+
+    private String parseValue() {
+        char c = peek();
+        if (c == '"') {
+            return parseString();
+        }
+        if (c == '[') {
+            pos++;
+            StringBuilder joined = new StringBuilder();
+            if (consumeIf(']')) {
+                return "";
+            }
+            do {
+                if (joined.length() > 0) {
+                    joined.append(' ');
+                }
+                joined.append(parseString());
+            } while (consumeIf(','));
+            expect(']');
+            return joined.toString();
+        }
+        int start = pos;
+        while (pos < line.length() && ",}] \t".indexOf(line.charAt(pos)) < 0) {
+            pos++;
+        }
+        String literal = line.substring(start, pos);
+        if (literal.equals("null")) {
+            return null;
+        }
+        if (literal.equals("true") || literal.equals("false") || literal.matches("-?\\d+(\\.\\d+)?")) {
+            return literal;
+        }
+        throw new IllegalArgumentException("Bad literal: " + literal);
+    }
+
+    private String parseString() {
+        expect('"');
+        StringBuilder value = new StringBuilder();
+        while (pos < line.length()) {
+            char c = line.charAt(pos++);
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            if (pos >= line.length()) {
+                break;
+            }
+            char escaped = line.charAt(pos++);
+            switch (escaped) {
+            case 'n' -> value.append('\n');
+            case 'r' -> value.append('\r');
+            case 't' -> value.append('\t');
+            case 'b' -> value.append('\b');
+            case 'f' -> value.append('\f');
+            case 'u' -> {
+                if (pos + 4 > line.length()) {
+                    throw new IllegalArgumentException("Bad escape");
+                }
+                value.append((char) Integer.parseInt(line.substring(pos, pos + 4), 16));
+                pos += 4;
+            }
+            default -> value.append(escaped);
+            }
+        }
+        throw new IllegalArgumentException("Unterminated string");
+    }
+
+    private char peek() {
+        while (pos < line.length() && Character.isWhitespace(line.charAt(pos))) {
+            pos++;
+        }
+        return pos < line.length() ? line.charAt(pos) : 0;
+    }
+
+    private boolean consumeIf(char expected) {
+        if (peek() == expected) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char expected) {
+        if (!consumeIf(expected)) {
+            throw new IllegalArgumentException("Expected " + expected);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
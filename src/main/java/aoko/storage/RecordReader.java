@@ -0,0 +1,20 @@
+package aoko.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Reads task records one at a time from an import file.
+ *
+ * <p>A record maps the field names written by {@link TaskExporter} ({@code type}, {@code done},
+ * {@code description}, {@code start}, {@code end}, {@code repeat}, {@code tags}) to their raw text. Readers
+ * only split the file into records; {@link TaskImporter} validates them.
+ */
+interface RecordReader extends Closeable {
+    /**
+     * Returns the next record, an empty map for a record that could not be read, or {@code null} at the
+     * end of the file.
+     */
+    Map<String, String> next() throws IOException;
+}
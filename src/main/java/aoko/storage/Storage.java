@@ -7,16 +7,21 @@ import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 
+import aoko.jfr.StorageLoadEvent;
+import aoko.jfr.StorageSaveEvent;
 import aoko.parser.Parser;
 import aoko.task.Deadline;
 import aoko.task.Event;
+import aoko.task.Recurrence;
+import aoko.task.RecurringEvent;
 import aoko.task.Task;
 import aoko.task.TaskList;
 import aoko.task.Todo;
@@ -26,6 +31,8 @@ import aoko.task.Todo;
  */
 public class Storage {
     private final Path path;
+    private LongConsumer saveObserver = nanos -> { };
+    private long savedVersion = -1;
 
     /**
      * Creates storage backed by a given file path.
@@ -35,6 +42,25 @@ public class Storage {
         this.path = path;
     }
 
+    /**
+     * Registers a callback that receives the duration of every save, in nanoseconds.
+     */
+    public void setSaveObserver(LongConsumer saveObserver) {
+        assert saveObserver != null : "Save observer must not be null";
+        this.saveObserver = saveObserver;
+    }
+
+    /**
+     * Returns the size of the save file in bytes, or -1 if it does not exist or cannot be read.
+     */
+    public long sizeInBytes() {
+        try {
+            return Files.exists(path) ? Files.size(path) : -1;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
     /**
      * Loads tasks from disk.
      */
@@ -44,10 +70,12 @@ public class Storage {
             return new ArrayList<>();
         }
 
+        StorageLoadEvent event = new StorageLoadEvent();
+        event.begin();
+        List<Task> tasks = new ArrayList<>();
         try {
             List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
             assert lines != null : "Files.readAllLines must not return null";
-            List<Task> tasks = new ArrayList<>();
             Set<String> seen = new HashSet<>();
             for (String line : lines) {
                 assert line != null : "Lines read from file must not be null";
@@ -64,7 +92,16 @@ public class Storage {
             return tasks;
         } catch (IOException e) {
             System.err.println("Failed to load tasks from disk: " + e.getMessage());
-            return new ArrayList<>();
+            tasks.clear();
+            return tasks;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.setPath(path.toString());
+                event.setBytes(sizeInBytes());
+                event.setTaskCount(tasks.size());
+                event.commit();
+            }
         }
     }
 
@@ -73,13 +110,36 @@ public class Storage {
      */
     public void save(TaskList taskList) {
         assert taskList != null : "TaskList to save must not be null";
+        StorageSaveEvent event = new StorageSaveEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
+        boolean succeeded = false;
         try {
             saveInternal(taskList.asUnmodifiableList());
+            savedVersion = taskList.getVersion();
+            succeeded = true;
         } catch (IOException e) {
             System.err.println("Failed to save tasks to disk: " + e.getMessage());
+        } finally {
+            saveObserver.accept(System.nanoTime() - startNanos);
+            event.end();
+            if (event.shouldCommit()) {
+                event.setPath(path.toString());
+                event.setBytes(sizeInBytes());
+                event.setTaskCount(taskList.size());
+                event.setSucceeded(succeeded);
+                event.commit();
+            }
         }
     }
 
+    /**
+     * Returns the version the task list had when it was last saved successfully, or -1 if it never was.
+     */
+    public long getSavedVersion() {
+        return savedVersion;
+    }
+
     /**
      * Returns an in-memory snapshot of the given task list in the same encoded format used on disk.
      *
@@ -144,6 +204,14 @@ public class Storage {
      */
     private static String encodeTask(Task task) {
         assert task != null : "Cannot encode a null task";
+        String encoded = encodeDetails(task);
+        if (task.getTags().isEmpty()) {
+            return encoded;
+        }
+        return encoded + " | #" + String.join(" #", task.getTags());
+    }
+
+    private static String encodeDetails(Task task) {
         assert task.getDescription() != null : "Task description must not be null";
         assert !task.getDescription().trim().isEmpty() : "Task description must not be blank";
         String doneFlag = task.isDone() ? "1" : "0";
@@ -158,19 +226,41 @@ public class Storage {
             return "D | " + doneFlag + " | " + deadline.getDescription() + " | " + encodedBy;
         }
         if (task instanceof Event event) {
-            String encodedFrom = event.hasFromTime()
-                    ? event.getFrom().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
-                    : event.getFrom().toLocalDate().format(DateTimeFormatter.ISO_LOCAL_DATE);
-            String encodedTo = event.hasToTime()
-                    ? event.getTo().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
-                    : event.getTo().toLocalDate().format(DateTimeFormatter.ISO_LOCAL_DATE);
+            String encodedFrom = encodeDateTime(event.getFrom(), event.hasFromTime());
+            String encodedTo = encodeDateTime(event.getTo(), event.hasToTime());
             return "E | " + doneFlag + " | " + event.getDescription() 
                 + " | " + encodedFrom + " | " + encodedTo;
         }
+        if (task instanceof RecurringEvent recurring) {
+            String encodedFrom = encodeDateTime(recurring.getFrom(), recurring.hasFromTime());
+            String encodedTo = encodeDateTime(recurring.getTo(), recurring.hasToTime());
+            return "R | " + doneFlag + " | " + recurring.getDescription()
+                + " | " + encodedFrom + " | " + encodedTo + " | " + encodeRecurrence(recurring.getRecurrence());
+        }
 
         return "T | " + doneFlag + " | " + task.getDescription();
     }
 
+    private static String encodeDateTime(LocalDateTime dateTime, boolean hasTime) {
+        return hasTime
+                ? dateTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+                : dateTime.toLocalDate().format(DateTimeFormatter.ISO_LOCAL_DATE);
+    }
+
+    /**
+     * Encodes a rule as its frequency and end, e.g. {@code "weekly | until 2025-03-01"} or {@code "daily | count 10"}.
+     */
+    private static String encodeRecurrence(Recurrence recurrence) {
+        String frequency = recurrence.getFrequency().name().toLowerCase(Locale.ROOT);
+        if (recurrence.getUntil() != null) {
+            return frequency + " | until " + recurrence.getUntil().format(DateTimeFormatter.ISO_LOCAL_DATE);
+        }
+        if (recurrence.getCount() > 0) {
+            return frequency + " | count " + recurrence.getCount();
+        }
+        return frequency + " | forever";
+    }
+
     /**
      * Decodes a persisted line into a task.
      *
@@ -196,6 +286,7 @@ public class Storage {
             case "T" -> decodeTodo(parts);
             case "D" -> decodeDeadline(parts);
             case "E" -> decodeEvent(parts);
+            case "R" -> decodeRecurringEvent(parts);
             default -> null;
             };
 
@@ -205,6 +296,7 @@ public class Storage {
             if (isDone) {
                 task.markDone();
             }
+            task.setTags(decodeTags(parts, fieldCount(type)));
             return task;
         } catch (Exception e) {
             System.err.println("Skipping corrupted task line: " + trimmed);
@@ -212,6 +304,35 @@ public class Storage {
         }
     }
 
+    /**
+     * Returns how many fields a line of the given type has before its optional tag field.
+     */
+    private static int fieldCount(String type) {
+        return switch (type) {
+        case "D" -> 4;
+        case "E" -> 5;
+        case "R" -> 7;
+        default -> 3;
+        };
+    }
+
+    /**
+     * Decodes the optional tag field, e.g. {@code "#work #urgent"}, found after the type's own fields.
+     */
+    private static List<String> decodeTags(String[] parts, int index) {
+        String raw = getNonBlankTrimmedPart(parts, index);
+        if (raw == null || !raw.startsWith("#")) {
+            return List.of();
+        }
+        List<String> tags = new ArrayList<>();
+        for (String word : raw.split("\\s+")) {
+            if (Parser.isTag(word)) {
+                tags.add(word.substring(1));
+            }
+        }
+        return tags;
+    }
+
     private static Task decodeTodo(String[] parts) {
         assert parts != null : "parts must not be null";
         String desc = getNonBlankTrimmedPart(parts, 2);
@@ -231,7 +352,7 @@ public class Storage {
         if (byRaw == null) {
             return null;
         }
-        Parser.ParsedDateTime parsed = parseLegacyOrIso(byRaw);
+        Parser.ParsedDateTime parsed = Parser.parseIsoDateOrDateTime(byRaw);
         if (parsed == null) {
             return null;
         }
@@ -266,6 +387,33 @@ public class Storage {
                 toParsed.hasTime);
     }
 
+    private static Task decodeRecurringEvent(String[] parts) {
+        assert parts != null : "parts must not be null";
+        Task first = decodeEvent(parts);
+        Recurrence.Frequency frequency = Recurrence.Frequency.parse(getNonBlankTrimmedPart(parts, 5));
+        String endRaw = getNonBlankTrimmedPart(parts, 6);
+        if (!(first instanceof Event event) || frequency == null || endRaw == null) {
+            return null;
+        }
+
+        Recurrence recurrence;
+        if (endRaw.equals("forever")) {
+            recurrence = Recurrence.forever(frequency);
+        } else if (endRaw.startsWith("until ")) {
+            recurrence = Recurrence.until(frequency, LocalDate.parse(endRaw.substring(6).trim()));
+        } else if (endRaw.startsWith("count ")) {
+            int count = Integer.parseInt(endRaw.substring(6).trim());
+            if (count < 1) {
+                return null;
+            }
+            recurrence = Recurrence.times(frequency, count);
+        } else {
+            return null;
+        }
+        return new RecurringEvent(event.getDescription(), event.getFrom(), event.hasFromTime(), event.getTo(),
+                event.hasToTime(), recurrence);
+    }
+
     private static String getNonBlankTrimmedPart(String[] parts, int index) {
         assert parts != null : "parts must not be null";
         if (index < 0 || index >= parts.length) {
@@ -278,27 +426,4 @@ public class Storage {
         String trimmed = raw.trim();
         return trimmed.isEmpty() ? null : trimmed;
     }
-
-    /**
-     * Parses legacy (date-only) or ISO date-time strings used for deadlines in storage.
-     */
-    private static Parser.ParsedDateTime parseLegacyOrIso(String byRaw) {
-        assert byRaw != null : "Raw deadline string must not be null";
-        // Supports ISO date or ISO date-time (current format)
-        if (byRaw.contains("T")) {
-            try {
-                return new Parser.ParsedDateTime(
-                        LocalDateTime.parse(byRaw, DateTimeFormatter.ISO_LOCAL_DATE_TIME),
-                        true);
-            } catch (DateTimeParseException e) {
-                return null;
-            }
-        }
-        try {
-            LocalDate date = LocalDate.parse(byRaw, DateTimeFormatter.ISO_LOCAL_DATE);
-            return new Parser.ParsedDateTime(date.atStartOfDay(), false);
-        } catch (DateTimeParseException e) {
-            return null;
-        }
-    }
 }
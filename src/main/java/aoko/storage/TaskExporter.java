@@ -0,0 +1,398 @@
+package aoko.storage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import aoko.task.Deadline;
+import aoko.task.Event;
+import aoko.task.Recurrence;
+import aoko.task.RecurringEvent;
+import aoko.task.Task;
+
+/**
+ * Writes tasks to a file as CSV, JSON Lines or iCalendar for use by other programs.
+ *
+ * <p>Tasks are written one at a time through a large buffer straight to the file. Dates are formatted
+ * into the writer and text is escaped character by character, so memory use does not grow with the
+ * number of tasks.
+ *
+ * <p>Every format carries the same fields: type ({@code todo}, {@code deadline} or {@code event}), done
+ * state, description, start and end as ISO dates or date-times, repeat rule and tags. A deadline's start
+ * is its due time, and a repeating event is an event with a repeat rule such as {@code weekly until
+ * 2025-12-31}. In iCalendar, events and repeating events become {@code VEVENT}s and todos and deadlines
+ * become {@code VTODO}s.
+ */
+public final class TaskExporter {
+    /** Header row of CSV exports. */
+    public static final String CSV_HEADER = "type,done,description,start,end,repeat,tags";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int ICS_LINE_OCTETS = 75;
+    private static final DateTimeFormatter ICS_DATE = DateTimeFormatter.ofPattern("uuuuMMdd");
+    private static final DateTimeFormatter ICS_DATE_TIME = DateTimeFormatter.ofPattern("uuuuMMdd'T'HHmmss");
+
+    /**
+     * Supported export formats.
+     */
+    public enum Format {
+        CSV, JSONL, ICS;
+
+        /**
+         * Parses {@code csv}, {@code jsonl} or {@code ics}, in any case.
+         *
+         * @return Parsed format, or {@code null} if invalid.
+         */
+        public static Format parse(String raw) {
+            if (raw == null) {
+                return null;
+            }
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(raw.trim())) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    private TaskExporter() {
+        // utility class
+    }
+
+    /**
+     * Writes {@code tasks} to {@code path} in the given format, creating parent directories and replacing
+     * any existing file.
+     *
+     * @return Number of tasks written.
+     * @throws IOException If the file cannot be written.
+     */
+    public static int export(List<Task> tasks, Format format, Path path) throws IOException {
+        return export(tasks, format, path, Clock.systemUTC());
+    }
+
+    static int export(List<Task> tasks, Format format, Path path, Clock clock) throws IOException {
+        assert tasks != null : "Tasks must not be null";
+        assert format != null : "Format must not be null";
+        assert path != null : "Path must not be null";
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (Writer out = new BufferedWriter(
+                new OutputStreamWriter(Files.newOutputStream(path), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            switch (format) {
+            case CSV -> writeCsv(tasks, out);
+            case JSONL -> writeJsonLines(tasks, out);
+            case ICS -> writeIcs(tasks, out, LocalDateTime.now(clock.withZone(ZoneOffset.UTC)));
+            }
+        }
+        return tasks.size();
+    }
+
+    private static String typeOf(Task task) {
+        if (task instanceof Deadline) {
+            return "deadline";
+        }
+        return hasEnd(task) ? "event" : "todo";
+    }
+
+    private static boolean hasStart(Task task) {
+        return task instanceof Deadline || hasEnd(task);
+    }
+
+    private static boolean hasEnd(Task task) {
+        return task instanceof Event || task instanceof RecurringEvent;
+    }
+
+    private static void writeCsv(List<Task> tasks, Writer out) throws IOException {
+        out.write(CSV_HEADER);
+        out.write("\r\n");
+        for (Task task : tasks) {
+            out.write(typeOf(task));
+            out.write(task.isDone() ? ",true," : ",false,");
+            writeCsvField(task.getDescription(), out);
+            out.write(',');
+            writeStart(task, out);
+            out.write(',');
+            writeEnd(task, out);
+            out.write(',');
+            writeRepeat(task, out);
+            out.write(',');
+            writeCsvField(String.join(" ", task.getTags()), out);
+            out.write("\r\n");
+        }
+    }
+
+    private static void writeCsvField(String value, Writer out) throws IOException {
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!needsQuotes) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    private static void writeJsonLines(List<Task> tasks, Writer out) throws IOException {
+        for (Task task : tasks) {
+            out.write("{\"type\":\"");
+            out.write(typeOf(task));
+            out.write(task.isDone() ? "\",\"done\":true,\"description\":" : "\",\"done\":false,\"description\":");
+            writeJsonString(task.getDescription(), out);
+            out.write(",\"start\":");
+            if (hasStart(task)) {
+                out.write('"');
+                writeStart(task, out);
+                out.write('"');
+            } else {
+                out.write("null");
+            }
+            out.write(",\"end\":");
+            if (hasEnd(task)) {
+                out.write('"');
+                writeEnd(task, out);
+                out.write('"');
+            } else {
+                out.write("null");
+            }
+            out.write(",\"repeat\":");
+            if (task instanceof RecurringEvent) {
+                out.write('"');
+                writeRepeat(task, out);
+                out.write('"');
+            } else {
+                out.write("null");
+            }
+            out.write(",\"tags\":[");
+            List<String> tags = task.getTags();
+            for (int i = 0; i < tags.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                writeJsonString(tags.get(i), out);
+            }
+            out.write("]}\n");
+        }
+    }
+
+    /**
+     * Writes a JSON string literal, copying runs of characters that need no escaping in one call.
+     */
+    private static void writeJsonString(String value, Writer out) throws IOException {
+        out.write('"');
+        int written = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            out.write(value, written, i - written);
+            written = i + 1;
+            switch (c) {
+            case '"' -> out.write("\\\"");
+            case '\\' -> out.write("\\\\");
+            case '\n' -> out.write("\\n");
+            case '\r' -> out.write("\\r");
+            case '\t' -> out.write("\\t");
+            default -> out.write(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            }
+        }
+        out.write(value, written, value.length() - written);
+        out.write('"');
+    }
+
+    /**
+     * Writes a deadline's due time or an event's start; writes nothing for a todo.
+     */
+    private static void writeStart(Task task, Writer out) throws IOException {
+        if (task instanceof Deadline deadline) {
+            writeIso(deadline.getBy(), deadline.hasTime(), out);
+        } else if (task instanceof Event event) {
+            writeIso(event.getFrom(), event.hasFromTime(), out);
+        } else if (task instanceof RecurringEvent series) {
+            writeIso(series.getFrom(), series.hasFromTime(), out);
+        }
+    }
+
+    /**
+     * Writes an event's end; writes nothing for other tasks.
+     */
+    private static void writeEnd(Task task, Writer out) throws IOException {
+        if (task instanceof Event event) {
+            writeIso(event.getTo(), event.hasToTime(), out);
+        } else if (task instanceof RecurringEvent series) {
+            writeIso(series.getTo(), series.hasToTime(), out);
+        }
+    }
+
+    private static void writeIso(LocalDateTime value, boolean hasTime, Writer out) throws IOException {
+        if (hasTime) {
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(value, out);
+        } else {
+            DateTimeFormatter.ISO_LOCAL_DATE.formatTo(value, out);
+        }
+    }
+
+    /**
+     * Writes a repeating event's rule, e.g. {@code weekly until 2025-12-31}; writes nothing for other tasks.
+     */
+    private static void writeRepeat(Task task, Writer out) throws IOException {
+        if (!(task instanceof RecurringEvent series)) {
+            return;
+        }
+        Recurrence recurrence = series.getRecurrence();
+        out.write(recurrence.getFrequency().name().toLowerCase(Locale.ROOT));
+        if (recurrence.getUntil() != null) {
+            out.write(" until ");
+            DateTimeFormatter.ISO_LOCAL_DATE.formatTo(recurrence.getUntil(), out);
+        } else if (recurrence.getCount() > 0) {
+            out.write(" count ");
+            out.write(Integer.toString(recurrence.getCount()));
+        }
+    }
+
+    private static void writeIcs(List<Task> tasks, Writer out, LocalDateTime stampUtc) throws IOException {
+        IcsWriter ics = new IcsWriter(out);
+        ics.line("BEGIN", "VCALENDAR");
+        ics.line("VERSION", "2.0");
+        ics.line("PRODID", "-//Aoko//Aoko task export//EN");
+        for (Task task : tasks) {
+            boolean isEvent = hasEnd(task);
+            String component = isEvent ? "VEVENT" : "VTODO";
+            ics.line("BEGIN", component);
+            ics.line("UID", UUID.nameUUIDFromBytes(task.detailsKey().getBytes(StandardCharsets.UTF_8)) + "@aoko");
+            ics.dateTime("DTSTAMP", stampUtc, true, "Z");
+            ics.text("SUMMARY", task.getDescription());
+            if (task instanceof Deadline deadline) {
+                ics.dateTime("DUE", deadline.getBy(), deadline.hasTime(), "");
+            } else if (task instanceof Event event) {
+                writeIcsSpan(ics, event.getFrom(), event.hasFromTime(), event.getTo(), event.hasToTime());
+            } else if (task instanceof RecurringEvent series) {
+                writeIcsSpan(ics, series.getFrom(), series.hasFromTime(), series.getTo(), series.hasToTime());
+                ics.line("RRULE", rrule(series.getRecurrence(), series.hasFromTime() || series.hasToTime()));
+            }
+            if (!isEvent) {
+                ics.line("STATUS", task.isDone() ? "COMPLETED" : "NEEDS-ACTION");
+            }
+            if (!task.getTags().isEmpty()) {
+                ics.line("CATEGORIES", String.join(",", task.getTags()));
+            }
+            ics.line("END", component);
+        }
+        ics.line("END", "VCALENDAR");
+    }
+
+    /**
+     * Writes DTSTART and DTEND with one value type, as iCalendar requires. A date-only end is inclusive in
+     * Aoko but exclusive in iCalendar, so it moves to the next day.
+     */
+    private static void writeIcsSpan(IcsWriter ics, LocalDateTime from, boolean hasFromTime, LocalDateTime to,
+            boolean hasToTime) throws IOException {
+        boolean hasTime = hasFromTime || hasToTime;
+        LocalDateTime end = hasToTime ? to : to.toLocalDate().plusDays(1).atStartOfDay();
+        ics.dateTime("DTSTART", hasFromTime ? from : from.toLocalDate().atStartOfDay(), hasTime, "");
+        ics.dateTime("DTEND", end, hasTime, "");
+    }
+
+    /**
+     * Returns the RRULE value for a rule. UNTIL must have the same value type as DTSTART, so a timed series
+     * ends at the last second of its until date.
+     */
+    private static String rrule(Recurrence recurrence, boolean hasTime) {
+        String rule = "FREQ=" + recurrence.getFrequency().name();
+        if (recurrence.getUntil() != null) {
+            return rule + ";UNTIL=" + (hasTime
+                    ? recurrence.getUntil().atTime(LocalTime.of(23, 59, 59)).format(ICS_DATE_TIME)
+                    : recurrence.getUntil().format(ICS_DATE));
+        }
+        return recurrence.getCount() > 0 ? rule + ";COUNT=" + recurrence.getCount() : rule;
+    }
+
+    /**
+     * Writes iCalendar content lines, escaping text values and folding lines longer than 75 octets.
+     */
+    private static final class IcsWriter {
+        private final Writer out;
+        private int lineOctets;
+
+        private IcsWriter(Writer out) {
+            this.out = out;
+        }
+
+        private void line(String name, String value) throws IOException {
+            write(name);
+            write(":");
+            write(value);
+            endLine();
+        }
+
+        private void text(String name, String value) throws IOException {
+            StringBuilder escaped = new StringBuilder(value.length() + 8);
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '\\' || c == ';' || c == ',') {
+                    escaped.append('\\').append(c);
+                } else if (c == '\n') {
+                    escaped.append("\\n");
+                } else if (c != '\r') {
+                    escaped.append(c);
+                }
+            }
+            line(name, escaped.toString());
+        }
+
+        private void dateTime(String name, LocalDateTime value, boolean hasTime, String suffix) throws IOException {
+            write(hasTime ? name + ":" : name + ";VALUE=DATE:");
+            write((hasTime ? ICS_DATE_TIME : ICS_DATE).format(value) + suffix);
+            endLine();
+        }
+
+        /**
+         * Writes {@code chunk}, folding before any character that would take the line past the limit. A
+         * surrogate pair is one four-octet character and is never split.
+         */
+        private void write(String chunk) throws IOException {
+            int written = 0;
+            for (int i = 0; i < chunk.length(); i++) {
+                char c = chunk.charAt(i);
+                boolean isPair = Character.isHighSurrogate(c) && i + 1 < chunk.length()
+                        && Character.isLowSurrogate(chunk.charAt(i + 1));
+                int octets = isPair ? 4 : c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+                if (lineOctets + octets > ICS_LINE_OCTETS) {
+                    out.write(chunk, written, i - written);
+                    out.write("\r\n ");
+                    written = i;
+                    lineOctets = 1;
+                }
+                lineOctets += octets;
+                if (isPair) {
+                    i++;
+                }
+            }
+            out.write(chunk, written, chunk.length() - written);
+        }
+
+        private void endLine() throws IOException {
+            out.write("\r\n");
+            lineOctets = 0;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package aoko.storage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import aoko.parser.Parser;
+import aoko.task.Deadline;
+import aoko.task.Event;
+import aoko.task.Recurrence;
+import aoko.task.RecurringEvent;
+import aoko.task.Task;
+import aoko.task.TaskList;
+import aoko.task.Todo;
+
+/**
+ * Adds tasks to a {@link TaskList} from a CSV, JSON Lines or iCalendar file, such as one written by
+ * {@link TaskExporter}.
+ *
+ * <p>The file is read one record at a time. Dates go through the same {@link Parser} rules as typed
+ * commands, and a record that does not make a valid task is counted as rejected rather than stopping the
+ * import. Duplicates, of tasks already in the list or earlier in the file, are found in a set of
+ * {@link Task#detailsKey()} values built once, instead of scanning the list for every record. Accepted
+ * tasks are appended {@value #CHUNK_SIZE} at a time, so the list and its indexes grow in a few large
+ * steps. Saving is left to the caller, which can then write the file once however many tasks arrive.
+ */
+public final class TaskImporter {
+    private static final int CHUNK_SIZE = 4096;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Counts of what an import did with the records it read.
+     */
+    public static class Result {
+        public final int imported;
+        public final int duplicates;
+        public final int rejected;
+
+        /**
+         * Creates an import result.
+         *
+         * @param imported Number of tasks added.
+         * @param duplicates Number of records skipped as duplicates.
+         * @param rejected Number of records that did not make a valid task.
+         */
+        Result(int imported, int duplicates, int rejected) {
+            this.imported = imported;
+            this.duplicates = duplicates;
+            this.rejected = rejected;
+        }
+    }
+
+    private TaskImporter() {
+        // utility class
+    }
+
+    /**
+     * Returns the format of a file from its extension: {@code .csv}, {@code .jsonl} or {@code .ics}.
+     *
+     * @return Detected format, or {@code null} if the extension is not recognized.
+     */
+    public static TaskExporter.Format formatOf(Path path) {
+        assert path != null : "Path must not be null";
+        Path fileName = path.getFileName();
+        String name = fileName == null ? "" : fileName.toString();
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? null : TaskExporter.Format.parse(name.substring(dot + 1));
+    }
+
+    /**
+     * Reads tasks from {@code path} and appends the new ones to {@code tasks}.
+     *
+     * <p>If reading fails part way, the tasks read before the failure stay in the list.
+     *
+     * @param format Format of the file.
+     * @return What happened to the records read.
+     * @throws IOException If the file cannot be read.
+     */
+    public static Result importInto(Path path, TaskExporter.Format format, TaskList tasks) throws IOException {
+        return importInto(path, format, tasks, ZoneId.systemDefault());
+    }
+
+    static Result importInto(Path path, TaskExporter.Format format, TaskList tasks, ZoneId zone)
+            throws IOException {
+        assert path != null : "Path must not be null";
+        assert format != null : "Format must not be null";
+        assert tasks != null : "Task list must not be null";
+
+        Set<String> keys = new HashSet<>();
+        for (Task task : tasks.asUnmodifiableList()) {
+            keys.add(task.detailsKey());
+        }
+        List<Task> chunk = new ArrayList<>(CHUNK_SIZE);
+        int imported = 0;
+        int duplicates = 0;
+        int rejected = 0;
+        try (RecordReader reader = open(path, format, zone)) {
+            Map<String, String> record;
+            while ((record = reader.next()) != null) {
+                Task task = toTask(record);
+                if (task == null) {
+                    rejected++;
+                } else if (!keys.add(task.detailsKey())) {
+                    duplicates++;
+                } else {
+                    chunk.add(task);
+                    imported++;
+                    if (chunk.size() == CHUNK_SIZE) {
+                        tasks.addAll(chunk);
+                        chunk.clear();
+                    }
+                }
+            }
+        } finally {
+            tasks.addAll(chunk);
+        }
+        return new Result(imported, duplicates, rejected);
+    }
+
+    private static RecordReader open(Path path, TaskExporter.Format format, ZoneId zone) throws IOException {
+        BufferedReader in = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8), BUFFER_SIZE);
+        try {
+            return switch (format) {
+            case CSV -> new CsvRecordReader(in);
+            case JSONL -> new JsonLinesRecordReader(in);
+            case ICS -> new IcsRecordReader(in, zone);
+            };
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Builds a task from a record.
+     *
+     * @return Task, or {@code null} if the record does not make a valid one.
+     */
+    static Task toTask(Map<String, String> record) {
+        String description = field(record, "description");
+        String type = field(record, "type").toLowerCase(Locale.ROOT);
+        String done = field(record, "done").toLowerCase(Locale.ROOT);
+        if (description.isEmpty() || description.indexOf('|') >= 0 || description.indexOf('\n') >= 0
+                || description.indexOf('\r') >= 0) {
+            return null;
+        }
+        if (!done.isEmpty() && !done.equals("true") && !done.equals("false")) {
+            return null;
+        }
+        List<String> tags = parseTags(field(record, "tags"));
+        if (tags == null) {
+            return null;
+        }
+
+        Task task = switch (type) {
+        case "todo" -> new Todo(description);
+        case "deadline" -> toDeadline(description, field(record, "start"));
+        case "event" -> toEvent(description, field(record, "start"), field(record, "end"), field(record, "repeat"));
+        default -> null;
+        };
+        if (task == null) {
+            return null;
+        }
+        if (done.equals("true")) {
+            task.markDone();
+        }
+        task.setTags(tags);
+        return task;
+    }
+
+    private static Task toDeadline(String description, String by) {
+        Parser.ParsedDateTime parsed = parseStart(by);
+        return parsed == null ? null : new Deadline(description, parsed.dateTime, parsed.hasTime);
+    }
+
+    private static Task toEvent(String description, String from, String to, String repeat) {
+        Parser.ParsedDateTime fromParsed = parseStart(from);
+        if (fromParsed == null) {
+            return null;
+        }
+        Parser.ParsedDateTime toParsed = Parser.parseIsoDateOrDateTime(to);
+        if (toParsed == null) {
+            toParsed = Parser.parseEventEnd(fromParsed, to);
+        }
+        if (toParsed == null || toParsed.dateTime.isBefore(fromParsed.dateTime)) {
+            return null;
+        }
+        if (repeat.isEmpty()) {
+            return new Event(description, fromParsed.dateTime, fromParsed.hasTime, toParsed.dateTime,
+                    toParsed.hasTime);
+        }
+        Recurrence recurrence = parseRepeat(repeat);
+        if (recurrence == null
+                || (recurrence.getUntil() != null
+                        && recurrence.getUntil().isBefore(fromParsed.dateTime.toLocalDate()))) {
+            return null;
+        }
+        return new RecurringEvent(description, fromParsed.dateTime, fromParsed.hasTime, toParsed.dateTime,
+                toParsed.hasTime, recurrence);
+    }
+
+    /**
+     * Parses a date written as ISO, as exports are, or in any form a typed command accepts.
+     */
+    private static Parser.ParsedDateTime parseStart(String raw) {
+        Parser.ParsedDateTime parsed = Parser.parseIsoDateOrDateTime(raw);
+        return parsed != null ? parsed : Parser.parseDateTime(raw);
+    }
+
+    /**
+     * Parses a repeat rule such as {@code weekly}, {@code weekly until 2025-12-31} or {@code daily count 10}.
+     *
+     * @return Parsed rule, or {@code null} if invalid.
+     */
+    private static Recurrence parseRepeat(String raw) {
+        String[] words = raw.trim().split("\\s+", 3);
+        Recurrence.Frequency frequency = Recurrence.Frequency.parse(words[0]);
+        if (frequency == null || words.length == 2) {
+            return null;
+        }
+        if (words.length == 1) {
+            return Recurrence.forever(frequency);
+        }
+        switch (words[1].toLowerCase(Locale.ROOT)) {
+        case "until" -> {
+            LocalDate until = Parser.parseDateOnly(words[2]);
+            return until == null ? null : Recurrence.until(frequency, until);
+        }
+        case "count" -> {
+            try {
+                int count = Integer.parseInt(words[2].trim());
+                return count < 1 ? null : Recurrence.times(frequency, count);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        default -> {
+            return null;
+        }
+        }
+    }
+
+    /**
+     * Parses space-separated tag names, with or without {@code #}.
+     *
+     * @return Tag names without {@code #}, or {@code null} if any is not a valid tag.
+     */
+    private static List<String> parseTags(String raw) {
+        if (raw.isEmpty()) {
+            return List.of();
+        }
+        List<String> tags = new ArrayList<>();
+        for (String word : raw.split("\\s+")) {
+            String tag = word.startsWith("#") ? word : "#" + word;
+            if (!Parser.isTag(tag)) {
+                return null;
+            }
+            tags.add(tag.substring(1));
+        }
+        return tags;
+    }
+
+    private static String field(Map<String, String> record, String name) {
+        String value = record.get(name);
+        return value == null ? "" : value.trim();
+    }
+}
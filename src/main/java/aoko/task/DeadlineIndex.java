@@ -0,0 +1,251 @@
+package aoko.task;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Orders undone deadlines and events by when they are due, so the next few can be read without a scan.
+ *
+ * <p>Deadlines are keyed by {@link Deadline#getBy()} and events by {@link Event#getFrom()}. Date-only
+ * values count as due at the end of their day, so a task due "today" is not overdue until tomorrow.
+ * The index follows its {@link TaskList} through {@link TaskListListener} callbacks: adds, deletes,
+ * marks and unmarks cost O(log n), and reading the first k entries costs O(k + log n).
+ *
+ * <p>A recurring event has no single due time, so the index only remembers which series are undone and
+ * asks each one for its next occurrence when {@link #upcoming} is called. That costs O(r log r) for r
+ * undone series, which stays small because one series replaces many events.
+ */
+public class DeadlineIndex implements TaskListListener {
+    private static final Comparator<Entry> ORDER = Comparator.comparing((Entry entry) -> entry.due)
+            .thenComparingLong(entry -> entry.sequence);
+
+    private final TreeSet<Entry> deadlines = new TreeSet<>(ORDER);
+    private final TreeSet<Entry> events = new TreeSet<>(ORDER);
+    private final Map<Task, Entry> entries = new IdentityHashMap<>();
+    private final Set<RecurringEvent> recurring = Collections.newSetFromMap(new IdentityHashMap<>());
+    private long nextSequence;
+
+    private static final class Entry {
+        private final LocalDateTime due;
+        private final long sequence;
+        private final Task task;
+
+        private Entry(LocalDateTime due, long sequence, Task task) {
+            this.due = due;
+            this.sequence = sequence;
+            this.task = task;
+        }
+    }
+
+    /**
+     * Creates an index over the current contents of {@code tasks} and keeps it up to date.
+     */
+    public DeadlineIndex(TaskList tasks) {
+        assert tasks != null : "Task list must not be null";
+        tasksReplaced(tasks.asUnmodifiableList());
+        tasks.addListener(this);
+    }
+
+    /**
+     * Returns when a task is due for ordering purposes, or {@code null} if it has no due time. Recurring
+     * events are due when their first occurrence starts.
+     */
+    public static LocalDateTime dueOf(Task task) {
+        if (task instanceof Deadline deadline) {
+            return effective(deadline.getBy(), deadline.hasTime());
+        }
+        if (task instanceof Event event) {
+            return effective(event.getFrom(), event.hasFromTime());
+        }
+        if (task instanceof RecurringEvent series) {
+            return effective(series.getFrom(), series.hasFromTime());
+        }
+        return null;
+    }
+
+    private static LocalDateTime effective(LocalDateTime value, boolean hasTime) {
+        return hasTime ? value : value.toLocalDate().atTime(LocalTime.MAX);
+    }
+
+    /**
+     * Returns up to {@code limit} undone deadlines and events that are due at or after {@code now},
+     * soonest first. Recurring events contribute their next occurrence.
+     */
+    public List<Task> upcoming(LocalDateTime now, int limit) {
+        assert now != null : "Current time must not be null";
+        assert limit >= 0 : "Limit must not be negative";
+        Entry from = new Entry(now, Long.MIN_VALUE, null);
+        List<Iterator<Entry>> sources = List.of(deadlines.tailSet(from, true).iterator(),
+                events.tailSet(from, true).iterator(), nextOccurrences(now).iterator());
+        Entry[] heads = new Entry[sources.size()];
+        for (int i = 0; i < heads.length; i++) {
+            heads[i] = sources.get(i).hasNext() ? sources.get(i).next() : null;
+        }
+
+        List<Task> result = new ArrayList<>(Math.min(limit, size()));
+        while (result.size() < limit) {
+            int soonest = -1;
+            for (int i = 0; i < heads.length; i++) {
+                if (heads[i] != null && (soonest < 0 || ORDER.compare(heads[i], heads[soonest]) < 0)) {
+                    soonest = i;
+                }
+            }
+            if (soonest < 0) {
+                break;
+            }
+            result.add(heads[soonest].task);
+            heads[soonest] = sources.get(soonest).hasNext() ? sources.get(soonest).next() : null;
+        }
+        return result;
+    }
+
+    private List<Entry> nextOccurrences(LocalDateTime now) {
+        List<Entry> next = new ArrayList<>(recurring.size());
+        for (RecurringEvent series : recurring) {
+            Event occurrence = series.nextOccurrence(now);
+            if (occurrence != null) {
+                next.add(new Entry(dueOf(occurrence), Long.MAX_VALUE, occurrence));
+            }
+        }
+        next.sort(ORDER);
+        return next;
+    }
+
+    /**
+     * Returns undone deadlines that were due before {@code now}, oldest first.
+     */
+    public List<Task> overdue(LocalDateTime now) {
+        assert now != null : "Current time must not be null";
+        List<Task> result = new ArrayList<>();
+        for (Entry entry : deadlines.headSet(new Entry(now, Long.MIN_VALUE, null), false)) {
+            result.add(entry.task);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the undone deadlines, events and recurring series due in {@code [from, to)}, in no
+     * particular order.
+     */
+    public List<Task> dueBetween(LocalDateTime from, LocalDateTime to) {
+        List<Task> result = new ArrayList<>();
+        visitDueBetween(from, to, Integer.MAX_VALUE, result);
+        return result;
+    }
+
+    /**
+     * Counts the tasks {@link #dueBetween} would return, stopping once the count exceeds {@code cap}.
+     */
+    public int countDueBetween(LocalDateTime from, LocalDateTime to, int cap) {
+        return visitDueBetween(from, to, cap, null);
+    }
+
+    private int visitDueBetween(LocalDateTime from, LocalDateTime to, int cap, List<Task> result) {
+        assert from != null && to != null : "Range must not be null";
+        int count = 0;
+        if (!from.isBefore(to)) {
+            return count;
+        }
+        Entry low = new Entry(from, Long.MIN_VALUE, null);
+        Entry high = new Entry(to, Long.MIN_VALUE, null);
+        for (TreeSet<Entry> set : List.of(deadlines, events)) {
+            for (Entry entry : set.subSet(low, true, high, false)) {
+                if (count++ > cap) {
+                    return count;
+                }
+                if (result != null) {
+                    result.add(entry.task);
+                }
+            }
+        }
+        for (RecurringEvent series : recurring) {
+            LocalDateTime due = dueOf(series);
+            if (!due.isBefore(from) && due.isBefore(to)) {
+                if (count++ > cap) {
+                    return count;
+                }
+                if (result != null) {
+                    result.add(series);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of indexed tasks.
+     */
+    public int size() {
+        return entries.size() + recurring.size();
+    }
+
+    @Override
+    public void taskAdded(int index, Task task) {
+        if (!task.isDone()) {
+            insert(task);
+        }
+    }
+
+    @Override
+    public void taskRemoved(int index, Task task) {
+        delete(task);
+    }
+
+    @Override
+    public void taskDoneChanged(int index, Task task) {
+        if (task.isDone()) {
+            delete(task);
+        } else {
+            insert(task);
+        }
+    }
+
+    @Override
+    public void tasksReplaced(List<Task> tasks) {
+        deadlines.clear();
+        events.clear();
+        entries.clear();
+        recurring.clear();
+        for (Task task : tasks) {
+            taskAdded(0, task);
+        }
+    }
+
+    private void insert(Task task) {
+        if (task instanceof RecurringEvent series) {
+            recurring.add(series);
+            return;
+        }
+        LocalDateTime due = dueOf(task);
+        if (due == null || entries.containsKey(task)) {
+            return;
+        }
+        Entry entry = new Entry(due, nextSequence++, task);
+        entries.put(task, entry);
+        setFor(task).add(entry);
+    }
+
+    private void delete(Task task) {
+        if (task instanceof RecurringEvent series) {
+            recurring.remove(series);
+            return;
+        }
+        Entry entry = entries.remove(task);
+        if (entry != null) {
+            setFor(task).remove(entry);
+        }
+    }
+
+    private TreeSet<Entry> setFor(Task task) {
+        return task instanceof Event ? events : deadlines;
+    }
+}
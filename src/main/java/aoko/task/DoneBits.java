@@ -0,0 +1,138 @@
+package aoko.task;
+
+import java.util.Arrays;
+
+/**
+ * Done flags of a {@link TaskList}, one bit per position, packed 64 to a {@code long}.
+ *
+ * <p>Counting and finding the next done or pending position read a whole word at a time with
+ * {@link Long#bitCount} and {@link Long#numberOfTrailingZeros}, so they cost O(n / 64) without touching
+ * any task. Removing a position shifts the later bits down by one, in the same O(n / 64) words.
+ */
+final class DoneBits {
+    private static final int WORD_SHIFT = 6;
+
+    private long[] words = new long[1];
+    private int size;
+
+    /**
+     * Appends a position with the given done state.
+     */
+    void add(boolean isDone) {
+        if ((size >>> WORD_SHIFT) == words.length) {
+            words = Arrays.copyOf(words, words.length * 2);
+        }
+        size++;
+        set(size - 1, isDone);
+    }
+
+    /**
+     * Sets the done state of an existing position.
+     */
+    void set(int index, boolean isDone) {
+        assert index >= 0 && index < size : "Index out of bounds: " + index;
+        long mask = 1L << index;
+        if (isDone) {
+            words[index >>> WORD_SHIFT] |= mask;
+        } else {
+            words[index >>> WORD_SHIFT] &= ~mask;
+        }
+    }
+
+    /**
+     * Returns the done state of a position.
+     */
+    boolean get(int index) {
+        assert index >= 0 && index < size : "Index out of bounds: " + index;
+        return (words[index >>> WORD_SHIFT] & (1L << index)) != 0;
+    }
+
+    /**
+     * Removes a position, moving every later position down by one.
+     */
+    void remove(int index) {
+        assert index >= 0 && index < size : "Index out of bounds: " + index;
+        int word = index >>> WORD_SHIFT;
+        int lastWord = (size - 1) >>> WORD_SHIFT;
+        long below = words[word] & ((1L << index) - 1);
+        long above = (words[word] >>> 1) & (-1L << index);
+        words[word] = below | above;
+        for (int i = word + 1; i <= lastWord; i++) {
+            words[i - 1] |= words[i] << 63;
+            words[i] >>>= 1;
+        }
+        size--;
+    }
+
+    /**
+     * Removes every position.
+     */
+    void clear() {
+        Arrays.fill(words, 0, ((size + 63) >>> WORD_SHIFT), 0L);
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Counts the done positions.
+     */
+    int countDone() {
+        int count = 0;
+        int wordCount = (size + 63) >>> WORD_SHIFT;
+        for (int i = 0; i < wordCount; i++) {
+            count += Long.bitCount(words[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the position of the {@code rank}-th (0-based) position whose done state is {@code isDone},
+     * or -1 if there are not that many. Whole words are skipped by their popcount.
+     */
+    int select(int rank, boolean isDone) {
+        assert rank >= 0 : "Rank must not be negative";
+        int remaining = rank;
+        int wordCount = (size + 63) >>> WORD_SHIFT;
+        for (int word = 0; word < wordCount; word++) {
+            long bits = isDone ? words[word] : ~words[word];
+            if (word == wordCount - 1 && (size & 63) != 0) {
+                bits &= (1L << size) - 1;
+            }
+            int count = Long.bitCount(bits);
+            if (remaining >= count) {
+                remaining -= count;
+                continue;
+            }
+            for (int i = 0; i < remaining; i++) {
+                bits &= bits - 1;
+            }
+            return (word << WORD_SHIFT) + Long.numberOfTrailingZeros(bits);
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the first position at or after {@code from} whose done state is {@code isDone}, or -1 if
+     * there is none.
+     */
+    int next(int from, boolean isDone) {
+        assert from >= 0 : "Start must not be negative";
+        if (from >= size) {
+            return -1;
+        }
+        int word = from >>> WORD_SHIFT;
+        long bits = (isDone ? words[word] : ~words[word]) & (-1L << from);
+        int wordCount = (size + 63) >>> WORD_SHIFT;
+        while (bits == 0) {
+            if (++word == wordCount) {
+                return -1;
+            }
+            bits = isDone ? words[word] : ~words[word];
+        }
+        int index = (word << WORD_SHIFT) + Long.numberOfTrailingZeros(bits);
+        return index < size ? index : -1;
+    }
+}
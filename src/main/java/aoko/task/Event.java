@@ -88,6 +88,20 @@ public class Event extends Task {
         assert from != null : "Event start must not be null";
         assert to != null : "Event end must not be null";
         assert !to.isBefore(from) : "Event end must not be before start";
+        return description + " (" + formatRange(from, hasFromTime, to, hasToTime) + ")";
+    }
+
+    @Override
+    protected String uniqueDetailsKeyExtras() {
+        assert from != null : "Event start must not be null";
+        assert to != null : "Event end must not be null";
+        return rangeKey(from, hasFromTime, to, hasToTime);
+    }
+
+    /**
+     * Formats a start and end as shown to the user, e.g. {@code "from: Aug 06 2019 14:00 to: 16:00"}.
+     */
+    static String formatRange(LocalDateTime from, boolean hasFromTime, LocalDateTime to, boolean hasToTime) {
         String formattedFrom = hasFromTime 
                                ? from.format(DISPLAY_DATE_TIME) 
                                : from.toLocalDate().format(DISPLAY_DATE);
@@ -103,13 +117,13 @@ public class Event extends Task {
                           : to.toLocalDate().format(DISPLAY_DATE);
         }
 
-        return description + " (from: " + formattedFrom + " to: " + formattedTo + ")";
+        return "from: " + formattedFrom + " to: " + formattedTo;
     }
 
-    @Override
-    protected String uniqueDetailsKeyExtras() {
-        assert from != null : "Event start must not be null";
-        assert to != null : "Event end must not be null";
+    /**
+     * Returns the part of a details key that identifies a start and end.
+     */
+    static String rangeKey(LocalDateTime from, boolean hasFromTime, LocalDateTime to, boolean hasToTime) {
         String fromKey = hasFromTime 
                          ? from.format(KEY_DATE_TIME) 
                          : from.toLocalDate().format(KEY_DATE);
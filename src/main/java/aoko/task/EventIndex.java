@@ -0,0 +1,212 @@
+package aoko.task;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Indexes the time spans of undone events, so clashes and free time can be found without comparing every
+ * pair of events.
+ *
+ * <p>An event covers {@code [from, to)}. Events without a start time begin at the start of their first
+ * day, and events without an end time last until the end of their last day. One-off events are kept in
+ * an {@link IntervalTree}; recurring events have no fixed span, so the index keeps the undone series
+ * and expands only the occurrences a query needs. The index follows its {@link TaskList} through
+ * {@link TaskListListener} callbacks.
+ */
+public class EventIndex implements TaskListListener {
+    private final IntervalTree<Event> events = new IntervalTree<>();
+    private final Set<RecurringEvent> recurring = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * A span of free time within one day.
+     */
+    public static final class Slot {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        private Slot(LocalDateTime start, LocalDateTime end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        public LocalDateTime getEnd() {
+            return end;
+        }
+    }
+
+    /**
+     * Creates an index over the current contents of {@code tasks} and keeps it up to date.
+     */
+    public EventIndex(TaskList tasks) {
+        assert tasks != null : "Task list must not be null";
+        tasksReplaced(tasks.asUnmodifiableList());
+        tasks.addListener(this);
+    }
+
+    /**
+     * Returns the undone events that overlap {@code candidate}, earliest first. Recurring events contribute
+     * each overlapping occurrence. For a recurring candidate, only its first occurrence is checked.
+     */
+    public List<Task> conflictsWith(Task candidate) {
+        assert candidate != null : "Candidate must not be null";
+        LocalDateTime start;
+        LocalDateTime end;
+        if (candidate instanceof Event event) {
+            start = startOf(event.getFrom(), event.hasFromTime());
+            end = endOf(event.getTo(), event.hasToTime());
+        } else if (candidate instanceof RecurringEvent series) {
+            start = startOf(series.getFrom(), series.hasFromTime());
+            end = endOf(series.getTo(), series.hasToTime());
+        } else {
+            return List.of();
+        }
+
+        List<Event> overlapping = new ArrayList<>();
+        events.forEachOverlapping(toKey(start), toKey(end), event -> {
+            if (event != candidate) {
+                overlapping.add(event);
+            }
+        });
+        for (RecurringEvent series : recurring) {
+            if (series != candidate) {
+                overlapping.addAll(occurrencesOverlapping(series, start, end));
+            }
+        }
+        overlapping.sort(Comparator.comparing(EventIndex::startOf));
+        return new ArrayList<>(overlapping);
+    }
+
+    /**
+     * Returns the gaps of at least {@code minLength} between undone events on {@code date}, in order.
+     *
+     * <p>Costs O(log n + k log k) for k events on that day, plus one expansion per recurring series.
+     */
+    public List<Slot> freeSlots(LocalDate date, Duration minLength) {
+        assert date != null : "Date must not be null";
+        assert minLength != null && !minLength.isNegative() : "Minimum length must not be negative";
+        LocalDateTime dayStart = date.atStartOfDay();
+        LocalDateTime dayEnd = date.plusDays(1).atStartOfDay();
+
+        List<Event> busy = new ArrayList<>();
+        events.forEachOverlapping(toKey(dayStart), toKey(dayEnd), busy::add);
+        for (RecurringEvent series : recurring) {
+            busy.addAll(occurrencesOverlapping(series, dayStart, dayEnd));
+        }
+        busy.sort(Comparator.comparing(EventIndex::startOf));
+
+        List<Slot> free = new ArrayList<>();
+        LocalDateTime freeFrom = dayStart;
+        for (Event event : busy) {
+            LocalDateTime busyFrom = startOf(event);
+            if (busyFrom.isAfter(freeFrom)) {
+                addSlot(free, freeFrom, busyFrom, minLength);
+            }
+            LocalDateTime busyTo = endOf(event.getTo(), event.hasToTime());
+            if (busyTo.isAfter(freeFrom)) {
+                freeFrom = busyTo;
+            }
+        }
+        if (dayEnd.isAfter(freeFrom)) {
+            addSlot(free, freeFrom, dayEnd, minLength);
+        }
+        return free;
+    }
+
+    private static void addSlot(List<Slot> free, LocalDateTime start, LocalDateTime end, Duration minLength) {
+        if (Duration.between(start, end).compareTo(minLength) >= 0) {
+            free.add(new Slot(start, end));
+        }
+    }
+
+    /**
+     * Returns the number of indexed one-off events and recurring series.
+     */
+    public int size() {
+        return events.size() + recurring.size();
+    }
+
+    @Override
+    public void taskAdded(int index, Task task) {
+        if (!task.isDone()) {
+            insert(task);
+        }
+    }
+
+    @Override
+    public void taskRemoved(int index, Task task) {
+        delete(task);
+    }
+
+    @Override
+    public void taskDoneChanged(int index, Task task) {
+        if (task.isDone()) {
+            delete(task);
+        } else {
+            insert(task);
+        }
+    }
+
+    @Override
+    public void tasksReplaced(List<Task> tasks) {
+        events.clear();
+        recurring.clear();
+        for (Task task : tasks) {
+            taskAdded(0, task);
+        }
+    }
+
+    private void insert(Task task) {
+        if (task instanceof Event event) {
+            events.add(toKey(startOf(event)), toKey(endOf(event.getTo(), event.hasToTime())), event);
+        } else if (task instanceof RecurringEvent series) {
+            recurring.add(series);
+        }
+    }
+
+    private void delete(Task task) {
+        if (task instanceof Event event) {
+            events.remove(event);
+        } else if (task instanceof RecurringEvent series) {
+            recurring.remove(series);
+        }
+    }
+
+    private static List<Event> occurrencesOverlapping(RecurringEvent series, LocalDateTime start,
+            LocalDateTime end) {
+        List<Event> overlapping = new ArrayList<>();
+        for (Event occurrence : series.occurrencesBetween(start, end, Integer.MAX_VALUE)) {
+            if (startOf(occurrence).isBefore(end) && endOf(occurrence.getTo(), occurrence.hasToTime()).isAfter(start)) {
+                overlapping.add(occurrence);
+            }
+        }
+        return overlapping;
+    }
+
+    private static LocalDateTime startOf(Event event) {
+        return startOf(event.getFrom(), event.hasFromTime());
+    }
+
+    private static LocalDateTime startOf(LocalDateTime from, boolean hasTime) {
+        return hasTime ? from : from.toLocalDate().atStartOfDay();
+    }
+
+    private static LocalDateTime endOf(LocalDateTime to, boolean hasTime) {
+        return hasTime ? to : to.toLocalDate().plusDays(1).atStartOfDay();
+    }
+
+    private static long toKey(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
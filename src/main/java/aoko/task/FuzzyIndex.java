@@ -0,0 +1,305 @@
+package aoko.task;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Finds tasks whose description contains words within a small edit distance of the words searched for,
+ * or words containing a given part.
+ *
+ * <p>Every distinct lowercase word in a description is a node of a BK-tree. A node's children are keyed
+ * by their Levenshtein distance to it, and each node lists the tasks whose descriptions contain its word.
+ * A search for words within distance k of a term only descends into children whose key is within k of
+ * the term's distance to the node. That visits a small part of the vocabulary instead of every
+ * description. The index follows its {@link TaskList} through {@link TaskListListener} callbacks.
+ * BK-trees cannot delete nodes, so a word that no task uses any more is left as an empty node. The tree
+ * is rebuilt once empty nodes outnumber used ones.
+ */
+public class FuzzyIndex implements TaskListListener {
+    /** Largest edit distance a search may ask for. */
+    public static final int MAX_DISTANCE = 3;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<String, Node> nodes = new HashMap<>();
+    private Node root;
+    private int emptyNodes;
+
+    private static final class Node {
+        private final String word;
+        private final Set<Task> tasks = Collections.newSetFromMap(new IdentityHashMap<>());
+        private Map<Integer, Node> children;
+
+        private Node(String word) {
+            this.word = word;
+        }
+    }
+
+    /**
+     * A task found by a fuzzy search, with the total edit distance of its closest words.
+     */
+    public static final class Match {
+        private final Task task;
+        private final int distance;
+
+        private Match(Task task, int distance) {
+            this.task = task;
+            this.distance = distance;
+        }
+
+        public Task getTask() {
+            return task;
+        }
+
+        public int getDistance() {
+            return distance;
+        }
+    }
+
+    /**
+     * Creates an index over the current contents of {@code tasks} and keeps it up to date.
+     */
+    public FuzzyIndex(TaskList tasks) {
+        assert tasks != null : "Task list must not be null";
+        tasksReplaced(tasks.asUnmodifiableList());
+        tasks.addListener(this);
+    }
+
+    /**
+     * Splits text into lowercase words of letters and digits.
+     */
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Returns the default edit distance for a search word: 0 up to two letters, 1 up to five, else 2.
+     */
+    public static int defaultDistance(String word) {
+        return Math.min(2, word.length() / 3);
+    }
+
+    /**
+     * Returns the tasks that contain, for every word of {@code query}, some word within {@code maxDistance}
+     * edits of it. Results are ranked by total distance, then by list order.
+     *
+     * @param maxDistance Largest edit distance per word, or a negative value to use
+     *     {@link #defaultDistance(String)} for each word.
+     */
+    public List<Match> search(String query, int maxDistance) {
+        assert query != null : "Query must not be null";
+        assert maxDistance <= MAX_DISTANCE : "Edit distance must be at most " + MAX_DISTANCE;
+        Map<Task, Integer> totals = null;
+        for (String word : words(query)) {
+            Map<Task, Integer> best = closest(word, maxDistance < 0 ? defaultDistance(word) : maxDistance);
+            if (totals == null) {
+                totals = best;
+            } else {
+                totals.keySet().retainAll(best.keySet());
+                totals.replaceAll((task, total) -> total + best.get(task));
+            }
+            if (totals.isEmpty()) {
+                break;
+            }
+        }
+        if (totals == null) {
+            return List.of();
+        }
+
+        List<Match> matches = new ArrayList<>(totals.size());
+        totals.forEach((task, total) -> matches.add(new Match(task, total)));
+        matches.sort(Comparator.comparingInt(Match::getDistance)
+                .thenComparingLong(match -> match.task.listSequence));
+        return matches;
+    }
+
+    /**
+     * Returns whether {@code text} is a single word as defined by {@link #words(String)}, so that every
+     * description containing it has a word containing it.
+     */
+    public static boolean isWordPart(String text) {
+        return !text.isEmpty() && words(text).size() == 1 && words(text).get(0).length() == text.length();
+    }
+
+    /**
+     * Returns the tasks with a description word that contains {@code part}, in no particular order.
+     * Costs one pass over the distinct words plus the matching tasks.
+     */
+    public Set<Task> withWordContaining(String part) {
+        assert isWordPart(part) : "Part must be a single word";
+        String needle = part.toLowerCase(Locale.ROOT);
+        Set<Task> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Node node : nodes.values()) {
+            if (node.word.contains(needle)) {
+                result.addAll(node.tasks);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns an upper bound on the size of {@link #withWordContaining(String)} without building it.
+     */
+    public long countWithWordContaining(String part) {
+        String needle = part.toLowerCase(Locale.ROOT);
+        long count = 0;
+        for (Node node : nodes.values()) {
+            if (node.word.contains(needle)) {
+                count += node.tasks.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the smallest distance from {@code word} to any word of each task, for tasks within
+     * {@code maxDistance}.
+     */
+    private Map<Task, Integer> closest(String word, int maxDistance) {
+        Map<Task, Integer> best = new IdentityHashMap<>();
+        if (root == null) {
+            return best;
+        }
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = distance(word, node.word);
+            if (distance <= maxDistance) {
+                for (Task task : node.tasks) {
+                    best.merge(task, distance, Math::min);
+                }
+            }
+            if (node.children == null) {
+                continue;
+            }
+            for (int key = Math.max(1, distance - maxDistance); key <= distance + maxDistance; key++) {
+                Node child = node.children.get(key);
+                if (child != null) {
+                    pending.push(child);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the Levenshtein distance between two words.
+     */
+    static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Returns the number of distinct words in use.
+     */
+    public int size() {
+        return nodes.size() - emptyNodes;
+    }
+
+    @Override
+    public void taskAdded(int index, Task task) {
+        for (String word : words(task.getDescription())) {
+            Node node = nodes.get(word);
+            if (node == null) {
+                node = new Node(word);
+                nodes.put(word, node);
+                link(node);
+            } else if (node.tasks.isEmpty()) {
+                emptyNodes--;
+            }
+            node.tasks.add(task);
+        }
+    }
+
+    @Override
+    public void taskRemoved(int index, Task task) {
+        for (String word : words(task.getDescription())) {
+            Node node = nodes.get(word);
+            if (node != null && node.tasks.remove(task) && node.tasks.isEmpty()) {
+                emptyNodes++;
+            }
+        }
+        if (emptyNodes > nodes.size() - emptyNodes) {
+            rebuild();
+        }
+    }
+
+    @Override
+    public void tasksReplaced(List<Task> tasks) {
+        nodes.clear();
+        root = null;
+        emptyNodes = 0;
+        for (Task task : tasks) {
+            taskAdded(0, task);
+        }
+    }
+
+    private void link(Node node) {
+        if (root == null) {
+            root = node;
+            return;
+        }
+        Node parent = root;
+        while (true) {
+            int key = distance(node.word, parent.word);
+            if (parent.children == null) {
+                parent.children = new HashMap<>();
+            }
+            Node child = parent.children.get(key);
+            if (child == null) {
+                parent.children.put(key, node);
+                return;
+            }
+            parent = child;
+        }
+    }
+
+    private void rebuild() {
+        List<Node> used = new ArrayList<>(nodes.size() - emptyNodes);
+        for (Node node : nodes.values()) {
+            if (!node.tasks.isEmpty()) {
+                node.children = null;
+                used.add(node);
+            }
+        }
+        nodes.clear();
+        root = null;
+        emptyNodes = 0;
+        for (Node node : used) {
+            nodes.put(node.word, node);
+            link(node);
+        }
+    }
+}
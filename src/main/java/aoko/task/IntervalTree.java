@@ -0,0 +1,180 @@
+package aoko.task;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Set of half-open intervals {@code [start, end)} that can report the ones overlapping a query interval.
+ *
+ * <p>Implemented as a treap ordered by start, where every node also records the largest end in its
+ * subtree. Inserts and removals cost O(log n) expected, and an overlap query skips every subtree whose
+ * largest end is before the query, so it costs O(log n) plus the work per overlap found.
+ *
+ * @param <T> Payload type; payloads are compared by identity and may be added at most once.
+ */
+final class IntervalTree<T> {
+    private final Map<T, Node<T>> nodes = new IdentityHashMap<>();
+    private final Random priorities = new Random(0x5eed);
+    private Node<T> root;
+    private long nextSequence;
+
+    private static final class Node<T> {
+        private final long start;
+        private final long end;
+        private final long sequence;
+        private final int priority;
+        private final T payload;
+        private long maxEnd;
+        private Node<T> left;
+        private Node<T> right;
+
+        private Node(long start, long end, long sequence, int priority, T payload) {
+            this.start = start;
+            this.end = end;
+            this.sequence = sequence;
+            this.priority = priority;
+            this.payload = payload;
+            this.maxEnd = end;
+        }
+
+        private boolean isBefore(Node<T> other) {
+            return start != other.start ? start < other.start : sequence < other.sequence;
+        }
+
+        private void update() {
+            long max = end;
+            if (left != null) {
+                max = Math.max(max, left.maxEnd);
+            }
+            if (right != null) {
+                max = Math.max(max, right.maxEnd);
+            }
+            maxEnd = max;
+        }
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    void clear() {
+        nodes.clear();
+        root = null;
+    }
+
+    /**
+     * Adds {@code payload} covering {@code [start, end)}; does nothing if it is already present.
+     */
+    void add(long start, long end, T payload) {
+        assert end >= start : "Interval end must not be before start";
+        if (nodes.containsKey(payload)) {
+            return;
+        }
+        Node<T> node = new Node<>(start, end, nextSequence++, priorities.nextInt(), payload);
+        nodes.put(payload, node);
+        root = insert(root, node);
+    }
+
+    /**
+     * Removes {@code payload}; does nothing if it is absent.
+     */
+    void remove(T payload) {
+        Node<T> node = nodes.remove(payload);
+        if (node != null) {
+            root = delete(root, node);
+        }
+    }
+
+    /**
+     * Passes every payload whose interval overlaps {@code [start, end)} to {@code action}, in start order.
+     */
+    void forEachOverlapping(long start, long end, Consumer<T> action) {
+        visit(root, start, end, action);
+    }
+
+    private void visit(Node<T> node, long start, long end, Consumer<T> action) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        visit(node.left, start, end, action);
+        if (node.start >= end) {
+            return;
+        }
+        if (node.end > start) {
+            action.accept(node.payload);
+        }
+        visit(node.right, start, end, action);
+    }
+
+    private Node<T> insert(Node<T> subtree, Node<T> node) {
+        if (subtree == null) {
+            return node;
+        }
+        if (node.isBefore(subtree)) {
+            subtree.left = insert(subtree.left, node);
+            if (subtree.left.priority > subtree.priority) {
+                subtree = rotateRight(subtree);
+            }
+        } else {
+            subtree.right = insert(subtree.right, node);
+            if (subtree.right.priority > subtree.priority) {
+                subtree = rotateLeft(subtree);
+            }
+        }
+        subtree.update();
+        return subtree;
+    }
+
+    private Node<T> delete(Node<T> subtree, Node<T> node) {
+        if (subtree == null) {
+            return null;
+        }
+        if (subtree == node) {
+            return merge(subtree.left, subtree.right);
+        }
+        if (node.isBefore(subtree)) {
+            subtree.left = delete(subtree.left, node);
+        } else {
+            subtree.right = delete(subtree.right, node);
+        }
+        subtree.update();
+        return subtree;
+    }
+
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+}
@@ -0,0 +1,125 @@
+package aoko.task;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of query results over a {@link TaskList}.
+ *
+ * <p>Each result is stored with the list version it was computed at, and it is only returned while the
+ * list is still at that version. Any mutation therefore invalidates every cached result, and nothing
+ * else does. The cache is bounded both by entry count and by the total number of cached tasks, so a
+ * few huge results cannot pin a large part of the heap.
+ */
+public class QueryCache {
+    /** Default maximum number of cached queries. */
+    public static final int DEFAULT_MAX_ENTRIES = 64;
+
+    /** Default maximum number of task references held across all cached results. */
+    public static final int DEFAULT_MAX_TOTAL_RESULTS = 200_000;
+
+    private final TaskList tasks;
+    private final int maxEntries;
+    private final int maxTotalResults;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalResults;
+    private long hits;
+    private long misses;
+
+    private static final class Entry {
+        private final long version;
+        private final List<Task> results;
+
+        private Entry(long version, List<Task> results) {
+            this.version = version;
+            this.results = results;
+        }
+    }
+
+    /**
+     * Creates a cache over the given list with the default bounds.
+     */
+    public QueryCache(TaskList tasks) {
+        this(tasks, DEFAULT_MAX_ENTRIES, DEFAULT_MAX_TOTAL_RESULTS);
+    }
+
+    /**
+     * Creates a cache over the given list.
+     *
+     * @param maxEntries Maximum number of cached queries.
+     * @param maxTotalResults Maximum number of task references held across all cached results.
+     */
+    public QueryCache(TaskList tasks, int maxEntries, int maxTotalResults) {
+        assert tasks != null : "Task list must not be null";
+        assert maxEntries > 0 : "Cache must hold at least one entry";
+        assert maxTotalResults >= 0 : "Result bound must not be negative";
+        this.tasks = tasks;
+        this.maxEntries = maxEntries;
+        this.maxTotalResults = maxTotalResults;
+    }
+
+    /**
+     * Returns the cached result for {@code key} if it was computed at the current list version, or runs
+     * {@code query}, caches its result and returns it.
+     *
+     * @param key Normalized query, including the query kind (e.g. {@code "find:book"}).
+     * @param query Computes the matching tasks by scanning the list.
+     * @return Unmodifiable list of matching tasks.
+     */
+    public List<Task> get(String key, Supplier<List<Task>> query) {
+        assert key != null : "Cache key must not be null";
+        assert query != null : "Query must not be null";
+        long version = tasks.getVersion();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.version == version) {
+            hits++;
+            return entry.results;
+        }
+
+        misses++;
+        if (entry != null) {
+            remove(key);
+        }
+        List<Task> results = List.copyOf(query.get());
+        if (results.size() <= maxTotalResults) {
+            entries.put(key, new Entry(version, results));
+            totalResults += results.size();
+            evictOverflow();
+        }
+        return results;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of cached queries, including ones made stale by later mutations.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalResults -= removed.results.size();
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, Entry>> eldestFirst = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || totalResults > maxTotalResults) && eldestFirst.hasNext()) {
+            Entry eldest = eldestFirst.next().getValue();
+            totalResults -= eldest.results.size();
+            eldestFirst.remove();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package aoko.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+/**
+ * Rule saying how often a {@link RecurringEvent} repeats and when it stops.
+ *
+ * <p>Occurrence {@code n} starts {@code n} days, weeks or months after the first one. Monthly
+ * occurrences are always counted from the first start, so a series starting on the 31st falls on the
+ * last day of shorter months without drifting. A rule ends after an inclusive date, after a number of
+ * occurrences, or never.
+ */
+public final class Recurrence {
+    private static final DateTimeFormatter DISPLAY_DATE = DateTimeFormatter.ofPattern("MMM dd yyyy", Locale.ENGLISH);
+
+    /**
+     * How far apart occurrences are.
+     */
+    public enum Frequency {
+        DAILY(ChronoUnit.DAYS, "day"),
+        WEEKLY(ChronoUnit.WEEKS, "week"),
+        MONTHLY(ChronoUnit.MONTHS, "month");
+
+        private final ChronoUnit unit;
+        private final String noun;
+
+        Frequency(ChronoUnit unit, String noun) {
+            this.unit = unit;
+            this.noun = noun;
+        }
+
+        /**
+         * Parses {@code day}/{@code daily}, {@code week}/{@code weekly} or {@code month}/{@code monthly}.
+         *
+         * @return Parsed frequency, or {@code null} if invalid.
+         */
+        public static Frequency parse(String raw) {
+            if (raw == null) {
+                return null;
+            }
+            String word = raw.trim().toLowerCase(Locale.ROOT);
+            for (Frequency frequency : values()) {
+                if (word.equals(frequency.noun) || word.equals(frequency.name().toLowerCase(Locale.ROOT))) {
+                    return frequency;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Frequency frequency;
+    private final LocalDate until;
+    private final int count;
+
+    private Recurrence(Frequency frequency, LocalDate until, int count) {
+        assert frequency != null : "Frequency must not be null";
+        assert count >= 0 : "Occurrence count must not be negative";
+        this.frequency = frequency;
+        this.until = until;
+        this.count = count;
+    }
+
+    /**
+     * Returns a rule that never ends.
+     */
+    public static Recurrence forever(Frequency frequency) {
+        return new Recurrence(frequency, null, 0);
+    }
+
+    /**
+     * Returns a rule whose last occurrence starts on or before {@code until}.
+     */
+    public static Recurrence until(Frequency frequency, LocalDate until) {
+        assert until != null : "End date must not be null";
+        return new Recurrence(frequency, until, 0);
+    }
+
+    /**
+     * Returns a rule with exactly {@code count} occurrences.
+     */
+    public static Recurrence times(Frequency frequency, int count) {
+        assert count > 0 : "Occurrence count must be positive";
+        return new Recurrence(frequency, null, count);
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    /**
+     * Returns the inclusive end date, or {@code null} if the rule does not end on a date.
+     */
+    public LocalDate getUntil() {
+        return until;
+    }
+
+    /**
+     * Returns the number of occurrences, or 0 if the rule does not end after a count.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the start of occurrence {@code n} of a series that first starts at {@code first}.
+     */
+    LocalDateTime startOf(LocalDateTime first, long n) {
+        return first.plus(n, frequency.unit);
+    }
+
+    /**
+     * Returns whether occurrence {@code n} is part of the series.
+     */
+    boolean includes(LocalDateTime first, long n) {
+        if (n < 0 || (count > 0 && n >= count)) {
+            return false;
+        }
+        return until == null || !startOf(first, n).toLocalDate().isAfter(until);
+    }
+
+    /**
+     * Returns the index of the first occurrence starting at or after {@code target}, which may be past the
+     * end of the series. Costs O(1) however far {@code target} is from the first start.
+     */
+    long firstIndexAtOrAfter(LocalDateTime first, LocalDateTime target) {
+        if (!target.isAfter(first)) {
+            return 0;
+        }
+        long n = frequency.unit.between(first, target);
+        while (n > 0 && !startOf(first, n - 1).isBefore(target)) {
+            n--;
+        }
+        while (startOf(first, n).isBefore(target)) {
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Describes the rule, e.g. {@code "every week until Mar 01 2025"}.
+     */
+    String describe() {
+        String text = "every " + frequency.noun;
+        if (until != null) {
+            return text + " until " + until.format(DISPLAY_DATE);
+        }
+        if (count > 0) {
+            return text + ", " + count + (count == 1 ? " time" : " times");
+        }
+        return text;
+    }
+
+    /**
+     * Returns the part of a details key that identifies this rule.
+     */
+    String key() {
+        return "|" + frequency + "|" + until + "|" + count;
+    }
+}
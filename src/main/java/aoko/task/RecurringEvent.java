@@ -0,0 +1,162 @@
+package aoko.task;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents an event that repeats according to a {@link Recurrence}.
+ *
+ * <p>The series is a single task holding its first occurrence and its rule; individual occurrences are
+ * only created, as plain {@link Event}s, when a query asks for the ones in some window. Finding the first
+ * occurrence in a window costs O(1), so a series spanning years costs no more to store or query than
+ * one event. Marking the series done marks every occurrence done.
+ */
+public class RecurringEvent extends Task {
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final boolean hasFromTime;
+    private final boolean hasToTime;
+    private final Recurrence recurrence;
+    private final Duration length;
+
+    /**
+     * Creates a recurring event.
+     *
+     * @param description Task description.
+     * @param from Start date/time of the first occurrence.
+     * @param hasFromTime Whether the start includes a time.
+     * @param to End date/time of the first occurrence.
+     * @param hasToTime Whether the end includes a time.
+     * @param recurrence How the event repeats.
+     */
+    public RecurringEvent(String description, LocalDateTime from, boolean hasFromTime, LocalDateTime to,
+            boolean hasToTime, Recurrence recurrence) {
+        super(description);
+        assert from != null : "Event start must not be null";
+        assert to != null : "Event end must not be null";
+        assert !to.isBefore(from) : "Event end must not be before start";
+        assert recurrence != null : "Recurrence must not be null";
+        this.from = from;
+        this.to = to;
+        this.hasFromTime = hasFromTime;
+        this.hasToTime = hasToTime;
+        this.recurrence = recurrence;
+        this.length = Duration.between(from, to);
+    }
+
+    /**
+     * Returns the start date/time of the first occurrence.
+     */
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    /**
+     * Returns the end date/time of the first occurrence.
+     */
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    /**
+     * Returns whether the start includes a time component.
+     */
+    public boolean hasFromTime() {
+        return hasFromTime;
+    }
+
+    /**
+     * Returns whether the end includes a time component.
+     */
+    public boolean hasToTime() {
+        return hasToTime;
+    }
+
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
+    /**
+     * Returns up to {@code limit} occurrences that overlap {@code [start, end]}, earliest first.
+     *
+     * <p>For events without times, occurrences are compared by date.
+     */
+    public List<Event> occurrencesBetween(LocalDateTime start, LocalDateTime end, int limit) {
+        assert start != null && end != null : "Window must not be null";
+        assert limit >= 0 : "Limit must not be negative";
+        LocalDateTime windowStart = hasToTime ? start : start.toLocalDate().atStartOfDay();
+        LocalDateTime windowEnd = hasFromTime ? end : end.toLocalDate().atTime(LocalTime.MAX);
+        List<Event> result = new ArrayList<>();
+        long n = recurrence.firstIndexAtOrAfter(from, windowStart.minus(length));
+        while (result.size() < limit && recurrence.includes(from, n)) {
+            LocalDateTime occurrenceStart = recurrence.startOf(from, n);
+            if (occurrenceStart.isAfter(windowEnd)) {
+                break;
+            }
+            if (!occurrenceStart.plus(length).isBefore(windowStart)) {
+                result.add(occurrence(occurrenceStart));
+            }
+            n++;
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether some occurrence falls on {@code date}.
+     */
+    public boolean occursOn(LocalDate date) {
+        assert date != null : "Date must not be null";
+        return !occurrencesBetween(date.atStartOfDay(), date.atTime(LocalTime.MAX), 1).isEmpty();
+    }
+
+    /**
+     * Returns the first occurrence that has not started by {@code now}, or {@code null} if the series has
+     * ended. Occurrences without a time count as not started until the end of their day.
+     */
+    public Event nextOccurrence(LocalDateTime now) {
+        assert now != null : "Current time must not be null";
+        return occurrenceAtOrAfter(hasFromTime ? now : now.toLocalDate().atStartOfDay());
+    }
+
+    /**
+     * Returns the first occurrence that starts strictly after {@code start}, or {@code null} if none.
+     */
+    public Event occurrenceAfter(LocalDateTime start) {
+        assert start != null : "Start must not be null";
+        return occurrenceAtOrAfter(start.plusNanos(1));
+    }
+
+    private Event occurrenceAtOrAfter(LocalDateTime target) {
+        long n = recurrence.firstIndexAtOrAfter(from, target);
+        return recurrence.includes(from, n) ? occurrence(recurrence.startOf(from, n)) : null;
+    }
+
+    private Event occurrence(LocalDateTime start) {
+        Event event = new Event(description, start, hasFromTime, start.plus(length), hasToTime);
+        event.setTags(getTags());
+        if (isDone()) {
+            event.markDone();
+        }
+        return event;
+    }
+
+    @Override
+    protected String typeIcon() {
+        return "[R]";
+    }
+
+    @Override
+    protected String taskDetails() {
+        return description + " (" + Event.formatRange(from, hasFromTime, to, hasToTime) + ", "
+                + recurrence.describe() + ")";
+    }
+
+    @Override
+    protected String uniqueDetailsKeyExtras() {
+        return Event.rangeKey(from, hasFromTime, to, hasToTime) + recurrence.key();
+    }
+}
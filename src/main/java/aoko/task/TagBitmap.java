@@ -0,0 +1,288 @@
+package aoko.task;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative {@code int} ids, laid out like a Roaring bitmap.
+ *
+ * <p>Ids are grouped by their high 16 bits into containers, kept sorted by that key. A container with at
+ * most {@value #ARRAY_LIMIT} ids stores their low 16 bits as a sorted {@code char[]}; a fuller one
+ * switches to a 65536-bit {@code long[]}. A sparse tag therefore costs about two bytes per task and a
+ * dense one at most one bit per id in its range. Intersections walk both key lists together and combine
+ * matching containers: array with array by merging, array with bitmap by probing, and bitmap with bitmap
+ * one word at a time.
+ */
+final class TagBitmap {
+    static final int ARRAY_LIMIT = 4096;
+
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    private char[] keys = new char[0];
+    private Container[] containers = new Container[0];
+    private int containerCount;
+
+    /**
+     * Low 16 bits of the ids sharing one key, as either a sorted array or a bitmap.
+     */
+    private static final class Container {
+        private char[] values;
+        private long[] bits;
+        private int cardinality;
+
+        private static Container ofArray(char[] values, int cardinality) {
+            Container container = new Container();
+            container.values = values;
+            container.cardinality = cardinality;
+            return container;
+        }
+
+        private static Container ofBits(long[] bits, int cardinality) {
+            Container container = new Container();
+            container.bits = bits;
+            container.cardinality = cardinality;
+            return container;
+        }
+
+        private boolean contains(char low) {
+            if (bits != null) {
+                return (bits[low >>> 6] & (1L << low)) != 0;
+            }
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        private boolean add(char low) {
+            if (bits != null) {
+                long before = bits[low >>> 6];
+                bits[low >>> 6] = before | (1L << low);
+                if (before == bits[low >>> 6]) {
+                    return false;
+                }
+                cardinality++;
+                return true;
+            }
+            int at = cardinality > 0 && values[cardinality - 1] < low
+                    ? -(cardinality + 1)
+                    : Arrays.binarySearch(values, 0, cardinality, low);
+            if (at >= 0) {
+                return false;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                toBits();
+                return add(low);
+            }
+            int insertAt = -at - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, Math.max(4, cardinality * 2)));
+            }
+            System.arraycopy(values, insertAt, values, insertAt + 1, cardinality - insertAt);
+            values[insertAt] = low;
+            cardinality++;
+            return true;
+        }
+
+        private boolean remove(char low) {
+            if (bits != null) {
+                long before = bits[low >>> 6];
+                bits[low >>> 6] = before & ~(1L << low);
+                if (before == bits[low >>> 6]) {
+                    return false;
+                }
+                cardinality--;
+                if (cardinality <= ARRAY_LIMIT / 2) {
+                    toArray();
+                }
+                return true;
+            }
+            int at = Arrays.binarySearch(values, 0, cardinality, low);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(values, at + 1, values, at, cardinality - at - 1);
+            cardinality--;
+            return true;
+        }
+
+        private void toBits() {
+            long[] words = new long[BITMAP_WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            bits = words;
+            values = null;
+        }
+
+        private void toArray() {
+            char[] lows = new char[cardinality];
+            int n = 0;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                for (long w = bits[word]; w != 0; w &= w - 1) {
+                    lows[n++] = (char) ((word << 6) + Long.numberOfTrailingZeros(w));
+                }
+            }
+            values = lows;
+            bits = null;
+        }
+
+        private Container and(Container other) {
+            if (bits != null && other.bits != null) {
+                long[] words = new long[BITMAP_WORDS];
+                int count = 0;
+                for (int i = 0; i < BITMAP_WORDS; i++) {
+                    words[i] = bits[i] & other.bits[i];
+                    count += Long.bitCount(words[i]);
+                }
+                Container result = ofBits(words, count);
+                if (count <= ARRAY_LIMIT) {
+                    result.toArray();
+                }
+                return result;
+            }
+            if (bits != null) {
+                return other.and(this);
+            }
+            char[] lows = new char[cardinality];
+            int n = 0;
+            if (other.bits != null) {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        lows[n++] = values[i];
+                    }
+                }
+                return ofArray(lows, n);
+            }
+            int i = 0;
+            int j = 0;
+            while (i < cardinality && j < other.cardinality) {
+                if (values[i] < other.values[j]) {
+                    i++;
+                } else if (values[i] > other.values[j]) {
+                    j++;
+                } else {
+                    lows[n++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            return ofArray(lows, n);
+        }
+
+        private void forEach(int high, IntConsumer action) {
+            if (bits == null) {
+                for (int i = 0; i < cardinality; i++) {
+                    action.accept(high | values[i]);
+                }
+                return;
+            }
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                for (long w = bits[word]; w != 0; w &= w - 1) {
+                    action.accept(high | ((word << 6) + Long.numberOfTrailingZeros(w)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds an id.
+     *
+     * @return Whether the id was absent.
+     */
+    boolean add(int id) {
+        assert id >= 0 : "Ids must not be negative";
+        char key = (char) (id >>> 16);
+        int at = containerCount > 0 && keys[containerCount - 1] < key
+                ? -(containerCount + 1)
+                : Arrays.binarySearch(keys, 0, containerCount, key);
+        if (at < 0) {
+            at = -at - 1;
+            insertContainer(at, key, Container.ofArray(new char[4], 0));
+        }
+        return containers[at].add((char) id);
+    }
+
+    /**
+     * Removes an id.
+     *
+     * @return Whether the id was present.
+     */
+    boolean remove(int id) {
+        assert id >= 0 : "Ids must not be negative";
+        int at = Arrays.binarySearch(keys, 0, containerCount, (char) (id >>> 16));
+        if (at < 0 || !containers[at].remove((char) id)) {
+            return false;
+        }
+        if (containers[at].cardinality == 0) {
+            System.arraycopy(keys, at + 1, keys, at, containerCount - at - 1);
+            System.arraycopy(containers, at + 1, containers, at, containerCount - at - 1);
+            containers[--containerCount] = null;
+        }
+        return true;
+    }
+
+    boolean contains(int id) {
+        int at = Arrays.binarySearch(keys, 0, containerCount, (char) (id >>> 16));
+        return at >= 0 && containers[at].contains((char) id);
+    }
+
+    /**
+     * Returns the number of ids.
+     */
+    int cardinality() {
+        int count = 0;
+        for (int i = 0; i < containerCount; i++) {
+            count += containers[i].cardinality;
+        }
+        return count;
+    }
+
+    boolean isEmpty() {
+        return containerCount == 0;
+    }
+
+    /**
+     * Returns the ids present in both this bitmap and {@code other}.
+     */
+    TagBitmap and(TagBitmap other) {
+        assert other != null : "Other bitmap must not be null";
+        TagBitmap result = new TagBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < containerCount && j < other.containerCount) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container both = containers[i].and(other.containers[j]);
+                if (both.cardinality > 0) {
+                    result.insertContainer(result.containerCount, keys[i], both);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Passes every id to {@code action} in ascending order.
+     */
+    void forEach(IntConsumer action) {
+        for (int i = 0; i < containerCount; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    private void insertContainer(int at, char key, Container container) {
+        if (containerCount == keys.length) {
+            int capacity = Math.max(4, containerCount * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, at, keys, at + 1, containerCount - at);
+        System.arraycopy(containers, at, containers, at + 1, containerCount - at);
+        keys[at] = key;
+        containers[at] = container;
+        containerCount++;
+    }
+}
@@ -0,0 +1,105 @@
+package aoko.task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps each tag to a compressed bitmap of the tasks carrying it, so tasks with all of several tags are
+ * found by intersecting bitmaps rather than by scanning the list.
+ *
+ * <p>Tasks are identified by the order in which the list added them, which never changes while they stay
+ * in the list, so deletes do not renumber anything. Because that order is also list order, the ids in a
+ * bitmap come out in list order and each maps back to its task with a binary search. The index follows
+ * its {@link TaskList} through {@link TaskListListener} callbacks; an add or delete touches one container
+ * per tag of the task.
+ */
+public class TagIndex implements TaskListListener {
+    private final TaskList tasks;
+    private final Map<String, TagBitmap> byTag = new HashMap<>();
+
+    /**
+     * Creates an index over the current contents of {@code tasks} and keeps it up to date.
+     */
+    public TagIndex(TaskList tasks) {
+        assert tasks != null : "Task list must not be null";
+        this.tasks = tasks;
+        tasksReplaced(tasks.asUnmodifiableList());
+        tasks.addListener(this);
+    }
+
+    /**
+     * Returns the tasks carrying every one of {@code tags}, in list order.
+     *
+     * @param tags Tag names without {@code #}, in any case; must not be empty.
+     */
+    public List<Task> withAllTags(Collection<String> tags) {
+        assert tags != null && !tags.isEmpty() : "At least one tag is required";
+        List<TagBitmap> bitmaps = new ArrayList<>(tags.size());
+        for (String tag : tags) {
+            TagBitmap bitmap = byTag.get(tag.toLowerCase(Locale.ROOT));
+            if (bitmap == null) {
+                return List.of();
+            }
+            bitmaps.add(bitmap);
+        }
+        bitmaps.sort(Comparator.comparingInt(TagBitmap::cardinality));
+
+        TagBitmap matches = bitmaps.get(0);
+        for (int i = 1; i < bitmaps.size() && !matches.isEmpty(); i++) {
+            matches = matches.and(bitmaps.get(i));
+        }
+        List<Task> result = new ArrayList<>(matches.cardinality());
+        matches.forEach(id -> result.add(tasks.getBySequence(id)));
+        return result;
+    }
+
+    /**
+     * Returns the number of tasks carrying {@code tag}.
+     */
+    public int count(String tag) {
+        TagBitmap bitmap = byTag.get(tag.toLowerCase(Locale.ROOT));
+        return bitmap == null ? 0 : bitmap.cardinality();
+    }
+
+    /**
+     * Returns the number of distinct tags in use.
+     */
+    public int tagCount() {
+        return byTag.size();
+    }
+
+    @Override
+    public void taskAdded(int index, Task task) {
+        for (String tag : task.getTags()) {
+            byTag.computeIfAbsent(tag, key -> new TagBitmap()).add(idOf(task));
+        }
+    }
+
+    @Override
+    public void taskRemoved(int index, Task task) {
+        for (String tag : task.getTags()) {
+            TagBitmap bitmap = byTag.get(tag);
+            if (bitmap != null && bitmap.remove(idOf(task)) && bitmap.isEmpty()) {
+                byTag.remove(tag);
+            }
+        }
+    }
+
+    @Override
+    public void tasksReplaced(List<Task> newTasks) {
+        byTag.clear();
+        for (Task task : newTasks) {
+            taskAdded(0, task);
+        }
+    }
+
+    private static int idOf(Task task) {
+        assert task.listSequence <= Integer.MAX_VALUE : "Task id out of range: " + task.listSequence;
+        return (int) task.listSequence;
+    }
+}
@@ -1,11 +1,20 @@
 package aoko.task;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
 /**
  * Base type for all tasks.
  */
 public abstract class Task {
     protected final String description;
     private boolean isDone;
+    private List<String> tags = List.of();
+
+    /** Order in which the owning {@link TaskList} added this task; see {@link TaskList#sortInListOrder}. */
+    long listSequence;
 
     Task(String description) {
         assert description != null : "Task description must not be null";
@@ -43,6 +52,28 @@ public abstract class Task {
         return description;
     }
 
+    /**
+     * Returns the task's tags, lower-cased, without {@code #} and in alphabetical order.
+     */
+    public List<String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Replaces the task's tags; they are lower-cased and de-duplicated.
+     *
+     * <p>Set tags before adding the task to a {@link TaskList}: the tag index does not follow later changes.
+     */
+    public void setTags(Collection<String> newTags) {
+        assert newTags != null : "Tags must not be null";
+        TreeSet<String> normalized = new TreeSet<>();
+        for (String tag : newTags) {
+            assert tag != null && !tag.isBlank() : "Tags must not be blank";
+            normalized.add(tag.toLowerCase(Locale.ROOT));
+        }
+        this.tags = List.copyOf(normalized);
+    }
+
     protected abstract String typeIcon();
 
     /**
@@ -77,6 +108,14 @@ public abstract class Task {
      */
     public String display() {
         assert typeIcon() != null : "Task type icon must not be null";
-        return typeIcon() + statusIcon() + " " + taskDetails();
+        String shown = typeIcon() + statusIcon() + " " + taskDetails();
+        if (tags.isEmpty()) {
+            return shown;
+        }
+        StringBuilder tagged = new StringBuilder(shown);
+        for (String tag : tags) {
+            tagged.append(" #").append(tag);
+        }
+        return tagged.toString();
     }
 }
@@ -0,0 +1,143 @@
+package aoko.task;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Counts of open and done tasks per type and per week they are due, kept up to date as the list changes.
+ *
+ * <p>Each {@link TaskListListener} callback adjusts a few counters in O(1), so reading the totals never
+ * touches the tasks themselves. Deadlines are counted in the week they are due and events in the week
+ * they (first) start; weeks start on Monday.
+ */
+public class TaskAggregates implements TaskListListener {
+    /**
+     * Task types that are counted separately.
+     */
+    public enum Kind {
+        TODO("Todos"),
+        DEADLINE("Deadlines"),
+        EVENT("Events"),
+        RECURRING("Repeating events");
+
+        private final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        static Kind of(Task task) {
+            if (task instanceof Deadline) {
+                return DEADLINE;
+            }
+            if (task instanceof Event) {
+                return EVENT;
+            }
+            if (task instanceof RecurringEvent) {
+                return RECURRING;
+            }
+            return TODO;
+        }
+    }
+
+    private final int[][] byKind = new int[Kind.values().length][2];
+    private final Map<LocalDate, int[]> byWeek = new HashMap<>();
+
+    /**
+     * Creates aggregates over the current contents of {@code tasks} and keeps them up to date.
+     */
+    public TaskAggregates(TaskList tasks) {
+        assert tasks != null : "Task list must not be null";
+        tasksReplaced(tasks.asUnmodifiableList());
+        tasks.addListener(this);
+    }
+
+    /**
+     * Returns the Monday starting the week that contains {@code date}.
+     */
+    public static LocalDate weekOf(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    /**
+     * Returns the number of tasks of a kind that are done, or not done.
+     */
+    public int count(Kind kind, boolean isDone) {
+        return byKind[kind.ordinal()][isDone ? 1 : 0];
+    }
+
+    /**
+     * Returns the number of tasks of any kind that are done, or not done.
+     */
+    public int total(boolean isDone) {
+        int total = 0;
+        for (int[] counts : byKind) {
+            total += counts[isDone ? 1 : 0];
+        }
+        return total;
+    }
+
+    /**
+     * Returns {@code {open, done}} counts of dated tasks keyed by the Monday of the week they are due,
+     * in week order. Costs O(w log w) for w weeks with tasks.
+     */
+    public TreeMap<LocalDate, int[]> countsByWeek() {
+        TreeMap<LocalDate, int[]> weeks = new TreeMap<>();
+        byWeek.forEach((week, counts) -> weeks.put(week, counts.clone()));
+        return weeks;
+    }
+
+    @Override
+    public void taskAdded(int index, Task task) {
+        adjust(task, task.isDone(), 1);
+    }
+
+    @Override
+    public void taskRemoved(int index, Task task) {
+        adjust(task, task.isDone(), -1);
+    }
+
+    @Override
+    public void taskDoneChanged(int index, Task task) {
+        adjust(task, !task.isDone(), -1);
+        adjust(task, task.isDone(), 1);
+    }
+
+    @Override
+    public void tasksReplaced(List<Task> tasks) {
+        for (int[] counts : byKind) {
+            counts[0] = 0;
+            counts[1] = 0;
+        }
+        byWeek.clear();
+        for (Task task : tasks) {
+            taskAdded(0, task);
+        }
+    }
+
+    private void adjust(Task task, boolean isDone, int delta) {
+        int column = isDone ? 1 : 0;
+        byKind[Kind.of(task).ordinal()][column] += delta;
+
+        LocalDateTime due = DeadlineIndex.dueOf(task);
+        if (due == null) {
+            return;
+        }
+        LocalDate week = weekOf(due.toLocalDate());
+        int[] counts = byWeek.computeIfAbsent(week, key -> new int[2]);
+        counts[column] += delta;
+        if (counts[0] == 0 && counts[1] == 0) {
+            byWeek.remove(week);
+        }
+    }
+}
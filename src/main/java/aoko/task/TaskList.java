@@ -2,13 +2,33 @@ package aoko.task;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Stores tasks and provides basic list operations.
+ *
+ * <p>Every mutation is reported to the registered {@link TaskListListener}s, so views and indexes can
+ * follow the list without rescanning it. Every mutation also increments a version number, so callers
+ * can tell whether anything changed between two points by comparing versions.
+ *
+ * <p>Done states are also mirrored into a bitset by position, so counting done or pending tasks and
+ * walking either group never has to dereference the tasks themselves.
  */
 public class TaskList {
     private final List<Task> tasks;
+    private final List<TaskListListener> listeners = new ArrayList<>();
+    private final DoneBits doneBits = new DoneBits();
+    private long version;
+    private long nextSequence;
+    private QueryCache queryCache;
+    private DeadlineIndex deadlineIndex;
+    private EventIndex eventIndex;
+    private FuzzyIndex fuzzyIndex;
+    private TaskAggregates aggregates;
+    private TagIndex tagIndex;
 
     /**
      * Creates an empty task list.
@@ -19,15 +39,12 @@ public class TaskList {
     }
 
     /**
-     * Creates a task list copied from an existing list.
+     * Creates a task list copied from an existing list, keeping the first of any duplicates.
      */
     public TaskList(List<Task> tasks) {
         assert tasks != null : "Source task list must not be null";
-        this.tasks = new ArrayList<>();
-        for (Task task : tasks) {
-            assert task != null : "Source tasks must not contain null";
-            addIfNotDuplicate(task);
-        }
+        this.tasks = new ArrayList<>(tasks.size());
+        appendDistinct(tasks);
         assert this.tasks != null : "Internal tasks list must be initialized";
     }
 
@@ -39,12 +56,151 @@ public class TaskList {
         return tasks.size();
     }
 
+    /**
+     * Returns the number of tasks marked done.
+     */
+    public int countDone() {
+        return doneBits.countDone();
+    }
+
+    /**
+     * Returns the number of tasks not marked done.
+     */
+    public int countPending() {
+        return tasks.size() - doneBits.countDone();
+    }
+
+    /**
+     * Returns the index (0-based) of the first task at or after {@code fromIndex} whose done state is
+     * {@code isDone}, or -1 if there is none.
+     */
+    public int nextIndexWithDone(int fromIndex, boolean isDone) {
+        assert fromIndex >= 0 : "Start index must not be negative";
+        return doneBits.next(fromIndex, isDone);
+    }
+
+    /**
+     * Returns the index (0-based) of the {@code rank}-th (0-based) task whose done state is {@code isDone},
+     * or -1 if there are not that many.
+     */
+    public int indexOfNthWithDone(int rank, boolean isDone) {
+        assert rank >= 0 : "Rank must not be negative";
+        return doneBits.select(rank, isDone);
+    }
+
+    /**
+     * Returns the tasks whose done state is {@code isDone}, in list order.
+     */
+    public List<Task> withDone(boolean isDone) {
+        List<Task> matches = new ArrayList<>(isDone ? countDone() : countPending());
+        for (int i = doneBits.next(0, isDone); i >= 0; i = doneBits.next(i + 1, isDone)) {
+            matches.add(tasks.get(i));
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the version number, which increases whenever the contents or a done state change.
+     *
+     * <p>Calls that leave the list as it was, such as adding a duplicate or marking a done task as done,
+     * keep the version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the cache for query results over this list, creating it on first use.
+     */
+    public QueryCache getQueryCache() {
+        if (queryCache == null) {
+            queryCache = new QueryCache(this);
+        }
+        return queryCache;
+    }
+
+    /**
+     * Returns the index of undone deadlines and events by due time, building it on first use.
+     */
+    public DeadlineIndex getDeadlineIndex() {
+        if (deadlineIndex == null) {
+            deadlineIndex = new DeadlineIndex(this);
+        }
+        return deadlineIndex;
+    }
+
+    /**
+     * Returns the index of undone event time spans, building it on first use.
+     */
+    public EventIndex getEventIndex() {
+        if (eventIndex == null) {
+            eventIndex = new EventIndex(this);
+        }
+        return eventIndex;
+    }
+
+    /**
+     * Returns the index of description words for fuzzy search, building it on first use.
+     */
+    public FuzzyIndex getFuzzyIndex() {
+        if (fuzzyIndex == null) {
+            fuzzyIndex = new FuzzyIndex(this);
+        }
+        return fuzzyIndex;
+    }
+
+    /**
+     * Returns the open and done counts per type and week, building them on first use.
+     */
+    public TaskAggregates getAggregates() {
+        if (aggregates == null) {
+            aggregates = new TaskAggregates(this);
+        }
+        return aggregates;
+    }
+
+    /**
+     * Returns the index of tasks by tag, building it on first use.
+     */
+    public TagIndex getTagIndex() {
+        if (tagIndex == null) {
+            tagIndex = new TagIndex(this);
+        }
+        return tagIndex;
+    }
+
     /**
      * Adds a task.
      */
     public void add(Task task) {
         assert task != null : "Cannot add a null task";
-        tasks.add(task);
+        append(task);
+        recordAdded(tasks.size() - 1, task);
+    }
+
+    /**
+     * Adds several tasks with one version change, without checking them for duplicates.
+     *
+     * <p>Listeners still hear about each task. Callers adding many tasks should filter duplicates
+     * themselves, e.g. against a set of {@link Task#detailsKey()} values, rather than scan the list once per
+     * task.
+     */
+    public void addAll(List<Task> newTasks) {
+        assert newTasks != null : "newTasks must not be null";
+        if (newTasks.isEmpty()) {
+            return;
+        }
+        int firstIndex = tasks.size();
+        for (Task task : newTasks) {
+            assert task != null : "Cannot add a null task";
+            append(task);
+        }
+        version++;
+        for (TaskListListener listener : listeners) {
+            for (int i = 0; i < newTasks.size(); i++) {
+                listener.taskAdded(firstIndex + i, newTasks.get(i));
+            }
+        }
     }
 
     /**
@@ -69,13 +225,88 @@ public class TaskList {
      */
     public boolean addIfNotDuplicate(Task task) {
         assert task != null : "Cannot add a null task";
+        if (!appendIfNotDuplicate(task)) {
+            return false;
+        }
+        recordAdded(tasks.size() - 1, task);
+        return true;
+    }
+
+    private boolean appendIfNotDuplicate(Task task) {
         if (containsDuplicateOf(task)) {
             return false;
         }
-        tasks.add(task);
+        append(task);
         return true;
     }
 
+    /**
+     * Appends the tasks, skipping any whose details match an earlier one, with one set of keys instead of a
+     * scan of the list per task.
+     */
+    private void appendDistinct(List<Task> newTasks) {
+        Set<String> keys = new HashSet<>();
+        for (Task task : newTasks) {
+            assert task != null : "newTasks must not contain null";
+            if (keys.add(task.detailsKey())) {
+                append(task);
+            }
+        }
+    }
+
+    private void append(Task task) {
+        task.listSequence = nextSequence++;
+        tasks.add(task);
+        doneBits.add(task.isDone());
+    }
+
+    /**
+     * Sorts tasks from this list into list order, without looking up their indices.
+     *
+     * <p>Tasks are only ever appended, so the order in which they were added is their order in the list.
+     */
+    public void sortInListOrder(List<Task> tasksInList) {
+        assert tasksInList != null : "Tasks must not be null";
+        tasksInList.sort(Comparator.comparingLong(task -> task.listSequence));
+    }
+
+    /**
+     * Returns a key for the task at the given index (0-based) that stays the same while the task is in the
+     * list, even as earlier tasks are deleted. Keys increase along the list.
+     */
+    public long positionKey(int zeroBasedIndex) {
+        return get(zeroBasedIndex).listSequence;
+    }
+
+    /**
+     * Returns the index (0-based) of the first task whose {@link #positionKey} is at least {@code key}, or
+     * {@link #size()} if there is none. Runs a binary search.
+     */
+    public int indexAtOrAfterKey(long key) {
+        int low = 0;
+        int high = tasks.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (tasks.get(mid).listSequence < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the task that was added with the given sequence number.
+     */
+    Task getBySequence(long sequence) {
+        int index = indexAtOrAfterKey(sequence);
+        if (index == tasks.size() || tasks.get(index).listSequence != sequence) {
+            throw new IllegalArgumentException("No task with sequence " + sequence);
+        }
+        return tasks.get(index);
+    }
+
     /**
      * Returns the task at the given index (0-based).
      */
@@ -91,7 +322,71 @@ public class TaskList {
     public Task remove(int zeroBasedIndex) {
         assert zeroBasedIndex >= 0 && zeroBasedIndex < tasks.size() 
                 : "Index out of bounds: " + zeroBasedIndex;
-        return tasks.remove(zeroBasedIndex);
+        Task removed = tasks.remove(zeroBasedIndex);
+        doneBits.remove(zeroBasedIndex);
+        version++;
+        for (TaskListListener listener : listeners) {
+            listener.taskRemoved(zeroBasedIndex, removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Marks the task at the given index (0-based) as done.
+     *
+     * @return The task.
+     */
+    public Task markDone(int zeroBasedIndex) {
+        return setDone(zeroBasedIndex, true);
+    }
+
+    /**
+     * Marks the task at the given index (0-based) as not done.
+     *
+     * @return The task.
+     */
+    public Task markNotDone(int zeroBasedIndex) {
+        return setDone(zeroBasedIndex, false);
+    }
+
+    private Task setDone(int zeroBasedIndex, boolean isDone) {
+        Task task = get(zeroBasedIndex);
+        if (task.isDone() == isDone) {
+            return task;
+        }
+        if (isDone) {
+            task.markDone();
+        } else {
+            task.markNotDone();
+        }
+        doneBits.set(zeroBasedIndex, isDone);
+        version++;
+        for (TaskListListener listener : listeners) {
+            listener.taskDoneChanged(zeroBasedIndex, task);
+        }
+        return task;
+    }
+
+    /**
+     * Registers a listener for subsequent changes.
+     */
+    public void addListener(TaskListListener listener) {
+        assert listener != null : "Listener must not be null";
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener; does nothing if it was not registered.
+     */
+    public void removeListener(TaskListListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void recordAdded(int zeroBasedIndex, Task task) {
+        version++;
+        for (TaskListListener listener : listeners) {
+            listener.taskAdded(zeroBasedIndex, task);
+        }
     }
 
     /**
@@ -110,10 +405,14 @@ public class TaskList {
     public void replaceWith(List<Task> newTasks) {
         assert newTasks != null : "newTasks must not be null";
         tasks.clear();
+        doneBits.clear();
+        nextSequence = 0;
+        appendDistinct(newTasks);
 
-        for (Task task : newTasks) {
-            assert task != null : "newTasks must not contain null";
-            addIfNotDuplicate(task);
+        version++;
+        List<Task> view = asUnmodifiableList();
+        for (TaskListListener listener : listeners) {
+            listener.tasksReplaced(view);
         }
     }
 }
@@ -0,0 +1,35 @@
+package aoko.task;
+
+import java.util.List;
+
+/**
+ * Receives changes made to a {@link TaskList}, one call per change.
+ *
+ * <p>Callbacks run synchronously on the thread that mutated the list, after the change has been
+ * applied. Indices are 0-based positions at the time of the change.
+ */
+public interface TaskListListener {
+    /**
+     * Called after {@code task} was inserted at {@code index}.
+     */
+    default void taskAdded(int index, Task task) {
+    }
+
+    /**
+     * Called after {@code task} was removed from {@code index}.
+     */
+    default void taskRemoved(int index, Task task) {
+    }
+
+    /**
+     * Called after the done state of the task at {@code index} changed.
+     */
+    default void taskDoneChanged(int index, Task task) {
+    }
+
+    /**
+     * Called after the whole contents were replaced; {@code tasks} is a read-only view of the new contents.
+     */
+    default void tasksReplaced(List<Task> tasks) {
+    }
+}
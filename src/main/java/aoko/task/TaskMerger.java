@@ -0,0 +1,127 @@
+package aoko.task;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Merges tasks from another list, such as another machine's save file, into a {@link TaskList}.
+ *
+ * <p>Tasks are matched on {@link Task#detailsKey()} with a hash join: the current list is put into a hash
+ * map once and each incoming task is looked up in it, so a merge costs O(n + m) rather than a scan of the
+ * list per incoming task. Matched tasks stay where they are, with their done state settled by a
+ * {@link Policy}; the rest are appended in their incoming order with one version change.
+ */
+public final class TaskMerger {
+    /**
+     * How to settle the done state of a task present in both lists.
+     */
+    public enum Policy {
+        /** Done if it is done in either list. */
+        KEEP_DONE,
+        /** Keep the current done state. */
+        KEEP_CURRENT,
+        /** Take the incoming done state. */
+        PREFER_INCOMING;
+
+        /**
+         * Parses {@code keep-done}, {@code keep-current} or {@code prefer-incoming}, in any case.
+         *
+         * @return Parsed policy, or {@code null} if invalid.
+         */
+        public static Policy parse(String raw) {
+            if (raw == null) {
+                return null;
+            }
+            String name = raw.trim().replace('-', '_').toUpperCase(Locale.ROOT);
+            for (Policy policy : values()) {
+                if (policy.name().equals(name)) {
+                    return policy;
+                }
+            }
+            return null;
+        }
+
+        private boolean resolve(boolean isCurrentDone, boolean isIncomingDone) {
+            return switch (this) {
+            case KEEP_DONE -> isCurrentDone || isIncomingDone;
+            case KEEP_CURRENT -> isCurrentDone;
+            case PREFER_INCOMING -> isIncomingDone;
+            };
+        }
+    }
+
+    /**
+     * Counts of what a merge did with the incoming tasks.
+     */
+    public static class Result {
+        public final int added;
+        public final int updated;
+        public final int unchanged;
+
+        /**
+         * Creates a merge result.
+         *
+         * @param added Number of incoming tasks appended to the list.
+         * @param updated Number of matched tasks whose done state changed.
+         * @param unchanged Number of matched tasks left as they were.
+         */
+        Result(int added, int updated, int unchanged) {
+            this.added = added;
+            this.updated = updated;
+            this.unchanged = unchanged;
+        }
+    }
+
+    private TaskMerger() {
+        // utility class
+    }
+
+    /**
+     * Merges {@code incoming} into {@code tasks}.
+     *
+     * <p>Incoming tasks that are appended become part of {@code tasks}, so they must not belong to another
+     * list. A task repeated within {@code incoming} is merged at its first occurrence only, and the later
+     * copies are left out of the counts.
+     *
+     * @return What happened to the incoming tasks.
+     */
+    public static Result merge(TaskList tasks, List<Task> incoming, Policy policy) {
+        assert tasks != null : "Task list must not be null";
+        assert incoming != null : "Incoming tasks must not be null";
+        assert policy != null : "Policy must not be null";
+
+        int size = tasks.size();
+        Map<String, Integer> indexByKey = new HashMap<>(Math.max(16, (int) ((size + incoming.size()) / 0.75f) + 1));
+        for (int i = 0; i < size; i++) {
+            indexByKey.put(tasks.get(i).detailsKey(), i);
+        }
+
+        List<Task> added = new ArrayList<>();
+        int updated = 0;
+        int unchanged = 0;
+        for (Task task : incoming) {
+            assert task != null : "Incoming tasks must not contain null";
+            Integer index = indexByKey.put(task.detailsKey(), -1);
+            if (index == null) {
+                added.add(task);
+            } else if (index >= 0) {
+                boolean isDone = tasks.get(index).isDone();
+                boolean isMergedDone = policy.resolve(isDone, task.isDone());
+                if (isMergedDone == isDone) {
+                    unchanged++;
+                } else if (isMergedDone) {
+                    tasks.markDone(index);
+                    updated++;
+                } else {
+                    tasks.markNotDone(index);
+                    updated++;
+                }
+            }
+        }
+        tasks.addAll(added);
+        return new Result(added.size(), updated, unchanged);
+    }
+}
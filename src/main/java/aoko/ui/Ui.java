@@ -1,12 +1,17 @@
 package aoko.ui;
 
 import java.io.PrintStream;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.TreeMap;
 
+import aoko.task.EventIndex;
 import aoko.task.Task;
+import aoko.task.TaskAggregates;
 import aoko.task.TaskList;
 
 /**
@@ -17,6 +22,7 @@ public class Ui {
     private static final DateTimeFormatter DISPLAY_DATE_ONLY = DateTimeFormatter.ofPattern(
             "MMM dd yyyy",
             Locale.ENGLISH);
+    private static final DateTimeFormatter DISPLAY_TIME = DateTimeFormatter.ofPattern("HH:mm", Locale.ENGLISH);
 
     private final PrintStream out;
 
@@ -80,13 +86,83 @@ public class Ui {
     public void showList(TaskList tasks) {
         assert tasks != null : "Task list must not be null";
         showLine();
-        out.println("Here, the tasks in your list:");
+        out.println(listHeading(null));
         for (int i = 0; i < tasks.size(); i++) {
             out.println((i + 1) + "." + tasks.get(i).display());
         }
         showLine();
     }
 
+    /**
+     * Prints the tasks whose done state is {@code isDone}, numbered by their position in the whole list.
+     */
+    public void showList(TaskList tasks, boolean isDone) {
+        assert tasks != null : "Task list must not be null";
+        showLine();
+        int first = tasks.nextIndexWithDone(0, isDone);
+        if (first < 0) {
+            out.println(isDone ? "No done tasks yet." : "No pending tasks. All clear!");
+            showLine();
+            return;
+        }
+
+        out.println(listHeading(isDone));
+        for (int i = first; i >= 0; i = tasks.nextIndexWithDone(i + 1, isDone)) {
+            out.println((i + 1) + "." + tasks.get(i).display());
+        }
+        showLine();
+    }
+
+    /**
+     * Prints up to {@code limit} tasks from list index {@code fromIndex} on, numbered by their position in the
+     * whole list, and says whether there are more.
+     *
+     * @param isDone Shows only tasks with this done state, or every task if {@code null}.
+     * @return Index (0-based) of the next task that would have been shown, or -1 if the list ran out.
+     */
+    public int showListPage(TaskList tasks, Boolean isDone, int fromIndex, int limit) {
+        assert tasks != null : "Task list must not be null";
+        assert fromIndex >= 0 && limit > 0 : "Page bounds must be positive";
+        showLine();
+        int index = nextListed(tasks, isDone, fromIndex);
+        if (index < 0) {
+            out.println("No more tasks to show.");
+            showLine();
+            return -1;
+        }
+
+        out.println(listHeading(isDone));
+        for (int shown = 0; index >= 0 && shown < limit; shown++) {
+            out.println((index + 1) + "." + tasks.get(index).display());
+            index = nextListed(tasks, isDone, index + 1);
+        }
+        out.println(index < 0 ? "That's the end of the list." : "Type \"more\" to see the next " + limit + ".");
+        showLine();
+        return index;
+    }
+
+    private static int nextListed(TaskList tasks, Boolean isDone, int fromIndex) {
+        if (isDone != null) {
+            return tasks.nextIndexWithDone(fromIndex, isDone);
+        }
+        return fromIndex < tasks.size() ? fromIndex : -1;
+    }
+
+    private static String listHeading(Boolean isDone) {
+        if (isDone == null) {
+            return "Here, the tasks in your list:";
+        }
+        return isDone ? "Here, the tasks you're done with:" : "Here, the tasks still pending:";
+    }
+
+    /**
+     * Prints how many tasks there are, and how many of them are done and pending.
+     */
+    public void showListCounts(int total, int done, int pending) {
+        assert total == done + pending : "Done and pending counts must add up to the total";
+        showMessageBlock("You have " + total + " tasks: " + done + " done, " + pending + " pending.");
+    }
+
     /**
      * Prints confirmation of a task being marked done.
      */
@@ -163,6 +239,197 @@ public class Ui {
         showLine();
     }
 
+    /**
+     * Prints the next undone deadlines and events.
+     */
+    public void showUpcoming(List<Task> upcoming) {
+        assert upcoming != null : "Upcoming list must not be null";
+        showNumberedTasks(upcoming, "Here are your upcoming deadlines and events:",
+                "Nothing coming up. Enjoy the free time!");
+    }
+
+    /**
+     * Prints undone deadlines that are past due.
+     */
+    public void showOverdue(List<Task> overdue) {
+        assert overdue != null : "Overdue list must not be null";
+        showNumberedTasks(overdue, "These deadlines have passed:", "No overdue deadlines.");
+    }
+
+    /**
+     * Prints a reminder for deadlines and events that are coming up soon.
+     */
+    public void showReminders(List<Task> tasks) {
+        assert tasks != null : "Reminder list must not be null";
+        showNumberedTasks(tasks, "Reminder! These are coming up soon:", "Nothing coming up. Enjoy the free time!");
+    }
+
+    /**
+     * Prints the undone events that a newly added event overlaps.
+     */
+    public void showConflicts(List<Task> conflicts) {
+        assert conflicts != null : "Conflict list must not be null";
+        showNumberedTasks(conflicts, "Heads up, that clashes with:", "No clashes.");
+    }
+
+    /**
+     * Prints the free slots on a date.
+     *
+     * @param date Date that was searched.
+     * @param slots Free slots, in order.
+     */
+    public void showFreeSlots(LocalDate date, List<EventIndex.Slot> slots) {
+        assert date != null : "Date must not be null";
+        assert slots != null : "Slot list must not be null";
+        showLine();
+        if (slots.isEmpty()) {
+            out.println("No free slots on " + date.format(DISPLAY_DATE_ONLY) + ".");
+            showLine();
+            return;
+        }
+
+        out.println("Here is your free time on " + date.format(DISPLAY_DATE_ONLY) + ":");
+        for (int i = 0; i < slots.size(); i++) {
+            EventIndex.Slot slot = slots.get(i);
+            String end = slot.getEnd().toLocalDate().isAfter(date) ? "24:00" : slot.getEnd().format(DISPLAY_TIME);
+            out.println((i + 1) + "." + slot.getStart().format(DISPLAY_TIME) + " - " + end);
+        }
+        showLine();
+    }
+
+    /**
+     * Prints the steps a query plan takes.
+     */
+    public void showQueryPlan(List<String> steps) {
+        assert steps != null : "Plan steps must not be null";
+        showLine();
+        out.println("Query plan:");
+        for (String step : steps) {
+            out.println(step);
+        }
+        showLine();
+    }
+
+    /**
+     * Prints open and done counts per task type, then per week due: weeks before {@code firstWeek} and
+     * after the {@code weeksShown} weeks from it are each combined into one line.
+     */
+    public void showSummary(TaskAggregates aggregates, LocalDate firstWeek, int weeksShown) {
+        assert aggregates != null : "Aggregates must not be null";
+        assert firstWeek != null : "First week must not be null";
+        showLine();
+        out.println("Here is a summary of your tasks:");
+        for (TaskAggregates.Kind kind : TaskAggregates.Kind.values()) {
+            out.println(kind.getLabel() + ": " + formatCounts(aggregates.count(kind, false),
+                    aggregates.count(kind, true)));
+        }
+        out.println("Total: " + formatCounts(aggregates.total(false), aggregates.total(true)));
+
+        TreeMap<LocalDate, int[]> weeks = aggregates.countsByWeek();
+        LocalDate endWeek = firstWeek.plusWeeks(weeksShown);
+        out.println("Due by week:");
+        if (weeks.isEmpty()) {
+            out.println("No deadlines or events.");
+        }
+        printCombinedWeeks("Before " + firstWeek.format(DISPLAY_DATE_ONLY), weeks.headMap(firstWeek).values());
+        weeks.subMap(firstWeek, endWeek).forEach((week, counts) -> out.println("Week of "
+                + week.format(DISPLAY_DATE_ONLY) + ": " + formatCounts(counts[0], counts[1])));
+        printCombinedWeeks("From " + endWeek.format(DISPLAY_DATE_ONLY), weeks.tailMap(endWeek).values());
+        showLine();
+    }
+
+    private void printCombinedWeeks(String label, Collection<int[]> weeks) {
+        int open = 0;
+        int done = 0;
+        for (int[] counts : weeks) {
+            open += counts[0];
+            done += counts[1];
+        }
+        if (open + done > 0) {
+            out.println(label + ": " + formatCounts(open, done));
+        }
+    }
+
+    private static String formatCounts(int open, int done) {
+        return open + " open, " + done + " done";
+    }
+
+    private void showNumberedTasks(List<Task> tasks, String heading, String emptyMessage) {
+        showLine();
+        if (tasks.isEmpty()) {
+            out.println(emptyMessage);
+            showLine();
+            return;
+        }
+
+        out.println(heading);
+        for (int i = 0; i < tasks.size(); i++) {
+            assert tasks.get(i) != null : "Tasks must not contain null";
+            out.println((i + 1) + "." + tasks.get(i).display());
+        }
+        showLine();
+    }
+
+    /**
+     * Prints confirmation of an export.
+     */
+    public void showExported(int count, String format, Path path) {
+        assert path != null : "Export path must not be null";
+        showMessageBlock("Exported " + count + " tasks to " + path + " as " + format + ".");
+    }
+
+    /**
+     * Prints the outcome of an import.
+     *
+     * @param imported Number of tasks added.
+     * @param duplicates Number of records skipped because the task already existed.
+     * @param rejected Number of records that did not make a valid task.
+     * @param newSize Number of tasks in the list afterwards.
+     */
+    public void showImported(int imported, int duplicates, int rejected, int newSize) {
+        showMessageBlock("Imported " + imported + " tasks (" + duplicates + " duplicates, " + rejected
+                + " rejected).", "Now you have " + newSize + " tasks in the list.");
+    }
+
+    /**
+     * Prints the outcome of a merge.
+     *
+     * @param added Number of tasks added from the other file.
+     * @param updated Number of tasks whose done state changed.
+     * @param unchanged Number of tasks already in the list as they were.
+     * @param newSize Number of tasks in the list afterwards.
+     */
+    public void showMerged(int added, int updated, int unchanged, int newSize) {
+        showMessageBlock("Merged: " + added + " added, " + updated + " updated, " + unchanged + " unchanged.",
+                "Now you have " + newSize + " tasks in the list.");
+    }
+
+    /**
+     * Prints the workspace now in use.
+     *
+     * @param name Workspace name.
+     * @param taskCount Number of tasks in it.
+     */
+    public void showWorkspace(String name, int taskCount) {
+        showMessageBlock("Now using workspace \"" + name + "\" with " + taskCount + " tasks.");
+    }
+
+    /**
+     * Prints the names of all workspaces, marking the active one.
+     *
+     * @param names Workspace names in display order.
+     * @param activeName Name of the workspace in use.
+     */
+    public void showWorkspaces(List<String> names, String activeName) {
+        assert names != null : "Workspace names must not be null";
+        showLine();
+        out.println("Workspaces (switch with \"use <name>\"):");
+        for (String name : names) {
+            out.println((name.equals(activeName) ? "* " : "  ") + name);
+        }
+        showLine();
+    }
+
     /**
      * Prints a message for unrecognized commands.
      */
@@ -170,7 +437,8 @@ public class Ui {
         showLine();
         out.println("That's not a command I recognize.");
         out.println("Available commands: ");
-        out.println("list, mark, unmark, delete, todo, deadline, event, on, find, undo, bye");
+        out.println("list, more, mark, unmark, delete, todo, deadline, event, on, find, query, upcoming, "
+                + "overdue, free, summary, export, import, merge, use, undo, stats, bye");
         showLine();
     }
 
@@ -188,6 +456,29 @@ public class Ui {
         showMessageBlock("Undid the most recent change.");
     }
 
+    /**
+     * Prints engine statistics: task count, save file size, query cache counters and a latency table.
+     *
+     * @param taskCount Number of tasks in the list.
+     * @param fileBytes Size of the save file in bytes, or a negative value if there is none.
+     * @param cacheHits Number of find/on queries answered from the query cache.
+     * @param cacheMisses Number of find/on queries that had to scan the list.
+     * @param latencyRows Pre-formatted latency table rows.
+     */
+    public void showStats(int taskCount, long fileBytes, long cacheHits, long cacheMisses, List<String> latencyRows) {
+        assert latencyRows != null : "Latency rows must not be null";
+        showLine();
+        out.println("Tasks: " + taskCount);
+        out.println("Data file: " + (fileBytes < 0 ? "not saved yet" : fileBytes + " bytes"));
+        out.println("Query cache: " + cacheHits + " hits, " + cacheMisses + " misses");
+        out.println("Latency per phase and command:");
+        for (String row : latencyRows) {
+            assert row != null : "Latency rows must not contain null";
+            out.println(row);
+        }
+        showLine();
+    }
+
     /**
      * Prints one or more lines surrounded by divider lines.
      */
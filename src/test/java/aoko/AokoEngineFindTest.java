@@ -0,0 +1,62 @@
+package aoko;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AokoEngineFindTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void fuzzyFind_toleratesTyposAndFollowsEdits() {
+        AokoEngine engine = new AokoEngine(tempDir.resolve("aoko.txt"));
+        engine.processToString("todo read book");
+        engine.processToString("todo project meeting");
+
+        assertTrue(engine.processToString("find ~mteeing").output.contains("1.[T][ ] project meeting"));
+        assertTrue(engine.processToString("find ~mteeing /max 1").output.contains("No matching tasks found."));
+        engine.processToString("delete 2");
+        assertTrue(engine.processToString("find ~mteeing").output.contains("No matching tasks found."));
+        assertTrue(engine.processToString("find ~bok /max 9").output.contains("find ~<keyword>"));
+    }
+
+    @Test
+    void query_explainShowsPlanThenResults() {
+        AokoEngine engine = new AokoEngine(tempDir.resolve("aoko.txt"));
+        engine.processToString("deadline submit report /by 2026-11-30");
+        engine.processToString("todo report bug");
+
+        String output = engine.processToString("query explain type:D done:0 before:2026-12-01 text:report").output;
+        assertTrue(output.contains("Query plan:"));
+        assertTrue(output.contains("1.[D][ ] submit report"));
+        assertFalse(output.contains("report bug"));
+        assertTrue(engine.processToString("query colour:red").output.contains("Please use: query [explain]"));
+    }
+
+    @Test
+    void findTags_intersectsTagsAndSurvivesUndo() {
+        AokoEngine engine = new AokoEngine(tempDir.resolve("aoko.txt"));
+        engine.processToString("todo write slides #work");
+        engine.processToString("deadline fix issue #12 /by 2030-01-01 #work #urgent");
+        engine.processToString("event on-call #urgent /from 2030-01-02 /to 2030-01-03");
+
+        String both = engine.processToString("find #work #urgent").output;
+        assertTrue(both.contains("1.[D][ ] fix issue #12 (by: Jan 01 2030) #urgent #work"), both);
+        assertFalse(both.contains("slides"));
+        assertTrue(engine.processToString("find #12").output.contains("fix issue #12"));
+        String mixed = engine.processToString("find #work slides").output;
+        assertTrue(mixed.contains("1.[T][ ] write slides #work"), mixed);
+        assertFalse(mixed.contains("fix issue"));
+
+        engine.processToString("delete 2");
+        assertTrue(engine.processToString("find #work #urgent").output.contains("No matching tasks found."));
+        engine.processToString("undo");
+        assertTrue(engine.processToString("find #urgent").output.contains("2.[E][ ] on-call"));
+    }
+}
@@ -0,0 +1,81 @@
+package aoko;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AokoEngineListTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void listDoneAndPending_keepListNumbers() {
+        AokoEngine engine = new AokoEngine(tempDir.resolve("aoko.txt"));
+        engine.processToString("todo read book");
+        engine.processToString("todo buy milk");
+        engine.processToString("todo return book");
+        engine.processToString("mark 2");
+
+        String done = engine.processToString("list done").output;
+        assertTrue(done.contains("2.[T][X] buy milk"));
+        assertFalse(done.contains("read book"));
+        String pending = engine.processToString("list pending").output;
+        assertTrue(pending.contains("1.[T][ ] read book"));
+        assertTrue(pending.contains("3.[T][ ] return book"));
+        assertTrue(engine.processToString("list count").output.contains("You have 3 tasks: 1 done, 2 pending."));
+
+        engine.processToString("delete 2");
+        assertTrue(engine.processToString("list done").output.contains("No done tasks yet."));
+        assertTrue(engine.processToString("list later").output.contains("Please use: list"));
+    }
+
+    @Test
+    void pagedList_continuesWithMoreAcrossDeletes() {
+        AokoEngine engine = new AokoEngine(tempDir.resolve("aoko.txt"));
+        for (int i = 1; i <= 7; i++) {
+            engine.processToString("todo task " + i);
+        }
+        engine.processToString("mark 6");
+
+        String first = engine.processToString("list 1 3").output;
+        assertTrue(first.contains("2.[T][ ] task 2"));
+        assertTrue(first.contains("4.[T][ ] task 4"));
+        assertFalse(first.contains("task 5"));
+        assertTrue(first.contains("Type \"more\" to see the next 3."));
+
+        engine.processToString("delete 1");
+        String second = engine.processToString("more").output;
+        assertTrue(second.contains("4.[T][ ] task 5"), second);
+        assertTrue(second.contains("6.[T][ ] task 7"));
+        assertTrue(second.contains("That's the end of the list."));
+        assertTrue(engine.processToString("more").output.contains("Nothing more to show."));
+
+        String pending = engine.processToString("list pending 4 1").output;
+        assertTrue(pending.contains("6.[T][ ] task 7"), pending);
+        assertTrue(engine.processToString("list 10").output.contains("No more tasks to show."));
+        assertTrue(engine.processToString("list 2 0").output.contains("Please use: list"));
+    }
+
+    @Test
+    void pagedList_moreAfterUndoStartsAgainInsteadOfSkipping() {
+        AokoEngine engine = new AokoEngine(tempDir.resolve("aoko.txt"));
+        for (int i = 1; i <= 5; i++) {
+            engine.processToString("todo task " + i);
+        }
+        engine.processToString("delete 1");
+        assertTrue(engine.processToString("list 0 2").output.contains("2.[T][ ] task 3"));
+        engine.processToString("todo task 6");
+        engine.processToString("undo");
+
+        String more = engine.processToString("more").output;
+        assertTrue(more.contains("Nothing more to show."), more);
+        String restarted = engine.processToString("list 2 2").output;
+        assertTrue(restarted.contains("3.[T][ ] task 4"), restarted);
+        assertTrue(restarted.contains("4.[T][ ] task 5"), restarted);
+    }
+}
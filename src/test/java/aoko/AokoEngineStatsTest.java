@@ -0,0 +1,60 @@
+package aoko;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import aoko.metrics.EngineMetrics;
+import aoko.parser.Parser;
+
+public class AokoEngineStatsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void stats_reportsTaskCountFileSizeAndCommandCounters() throws Exception {
+        Path saveFile = tempDir.resolve("aoko.txt");
+        AokoEngine engine = new AokoEngine(saveFile);
+
+        engine.processToString("todo read book");
+        engine.processToString("todo write essay");
+        engine.processToString("list");
+        engine.processToString("find book");
+        engine.processToString("find BOOK");
+        AokoEngine.EngineResponse resp = engine.processToString("stats");
+
+        assertTrue(resp.output.contains("Tasks: 2"));
+        assertTrue(resp.output.contains("Query cache: 1 hits, 1 misses"));
+        assertTrue(resp.output.contains("Data file: " + Files.size(saveFile) + " bytes"));
+        assertTrue(resp.output.contains("persist"));
+        assertEquals(2, engine.getMetrics().command(Parser.Command.TODO).count());
+        assertEquals(1, engine.getMetrics().command(Parser.Command.LIST).count());
+        assertEquals(2, engine.getMetrics().phase(EngineMetrics.Phase.PERSIST).count());
+        assertEquals(2, engine.getMetrics().phase(EngineMetrics.Phase.UNDO_SNAPSHOT).count());
+    }
+
+    @Test
+    void shutdown_withMetricsFileProperty_dumpsTable() throws Exception {
+        Path metricsFile = tempDir.resolve("metrics.txt");
+        AokoEngine engine = new AokoEngine(tempDir.resolve("aoko.txt"));
+        engine.processToString("todo read book");
+
+        System.setProperty(AokoEngine.METRICS_FILE_PROPERTY, metricsFile.toString());
+        try {
+            engine.shutdown();
+        } finally {
+            System.clearProperty(AokoEngine.METRICS_FILE_PROPERTY);
+        }
+
+        List<String> lines = Files.readAllLines(metricsFile, StandardCharsets.UTF_8);
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("todo")));
+    }
+}
@@ -0,0 +1,90 @@
+package aoko;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AokoEngineTransferTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void export_writesFileAndReportsCount() throws Exception {
+        AokoEngine engine = new AokoEngine(tempDir.resolve("aoko.txt"));
+        engine.processToString("todo read book #home");
+        engine.processToString("deadline report /by 2030-01-01");
+        Path target = tempDir.resolve("export/tasks.jsonl");
+
+        String output = engine.processToString("export JSONL " + target).output;
+
+        assertTrue(output.contains("Exported 2 tasks to " + target + " as JSONL."), output);
+        assertEquals(2, Files.readAllLines(target, StandardCharsets.UTF_8).size());
+        assertTrue(engine.processToString("export pdf out.pdf").output.contains("export <csv|jsonl|ics>"));
+        assertTrue(engine.processToString("export csv").output.contains("export <csv|jsonl|ics>"));
+    }
+
+    @Test
+    void import_addsNewTasksSavesOnceAndUndoesAsOne() throws Exception {
+        Path saveFile = tempDir.resolve("aoko.txt");
+        AokoEngine engine = new AokoEngine(saveFile);
+        engine.processToString("todo read book");
+        Path source = tempDir.resolve("tasks.csv");
+        Files.write(source, List.of(
+                "type,done,description,start,end,repeat,tags",
+                "todo,false,read book,,,,",
+                "todo,true,write essay,,,,school",
+                "deadline,false,report,2030-01-01,,,",
+                "deadline,false,report,not a date,,,"), StandardCharsets.UTF_8);
+
+        String output = engine.processToString("import " + source).output;
+
+        assertTrue(output.contains("Imported 2 tasks (1 duplicates, 1 rejected)."), output);
+        assertTrue(output.contains("Now you have 3 tasks in the list."), output);
+        assertEquals(3, Files.readAllLines(saveFile, StandardCharsets.UTF_8).size());
+        assertTrue(engine.processToString("list").output.contains("[T][X] write essay #school"));
+
+        engine.processToString("undo");
+        assertEquals(1, Files.readAllLines(saveFile, StandardCharsets.UTF_8).size());
+        assertTrue(engine.processToString("import").output.contains("Please use: import"));
+        assertTrue(engine.processToString("import notes.txt").output.contains("Please use: import"));
+        assertTrue(engine.processToString("import " + tempDir.resolve("missing.csv")).output
+                .contains("I couldn't find"));
+    }
+
+    @Test
+    void merge_addsAndUpdatesFromAnotherSaveFileAndUndoesAsOne() throws Exception {
+        Path otherFile = tempDir.resolve("laptop/aoko.txt");
+        AokoEngine other = new AokoEngine(otherFile);
+        other.processToString("todo read book");
+        other.processToString("mark 1");
+        other.processToString("todo write essay");
+        Path saveFile = tempDir.resolve("aoko.txt");
+        AokoEngine engine = new AokoEngine(saveFile);
+        engine.processToString("todo read book");
+        engine.processToString("todo buy milk");
+
+        String output = engine.processToString("merge " + otherFile).output;
+
+        assertTrue(output.contains("Merged: 1 added, 1 updated, 0 unchanged."), output);
+        assertTrue(output.contains("Now you have 3 tasks in the list."), output);
+        assertEquals(3, Files.readAllLines(saveFile, StandardCharsets.UTF_8).size());
+        assertTrue(engine.processToString("list").output.contains("1.[T][X] read book"));
+        assertEquals(2, Files.readAllLines(otherFile, StandardCharsets.UTF_8).size());
+
+        engine.processToString("undo");
+        assertEquals(2, Files.readAllLines(saveFile, StandardCharsets.UTF_8).size());
+        assertTrue(engine.processToString("merge " + otherFile + " keep-current").output
+                .contains("Merged: 1 added, 0 updated, 1 unchanged."));
+        assertTrue(engine.processToString("merge").output.contains("Please use: merge"));
+        assertTrue(engine.processToString("merge " + tempDir.resolve("missing.txt")).output
+                .contains("I couldn't find"));
+    }
+}
@@ -66,4 +66,20 @@ public class AokoEngineUndoTest {
         AokoEngine.EngineResponse resp = engine.processToString("undo");
         assertTrue(resp.output.contains("Nothing to undo"));
     }
+
+    @Test
+    void undo_afterNoOpMutations_skipsThem() throws Exception {
+        Path saveFile = tempDir.resolve("aoko.txt");
+        AokoEngine engine = new AokoEngine(saveFile);
+
+        engine.processToString("todo read book");
+        engine.processToString("unmark 1");
+        engine.processToString("todo read book");
+        engine.processToString("delete 5");
+
+        engine.processToString("undo");
+        assertEquals(0, Files.readAllLines(saveFile, StandardCharsets.UTF_8).size());
+        AokoEngine.EngineResponse resp = engine.processToString("undo");
+        assertTrue(resp.output.contains("Nothing to undo"));
+    }
 }
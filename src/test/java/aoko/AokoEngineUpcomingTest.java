@@ -0,0 +1,82 @@
+package aoko;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AokoEngineUpcomingTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void upcomingAndOverdue_followAddsAndMarks() {
+        AokoEngine engine = new AokoEngine(tempDir.resolve("aoko.txt"));
+        engine.processToString("deadline file taxes /by 2000-04-15");
+        engine.processToString("deadline renew passport /by 2999-01-01");
+        engine.processToString("event launch party /from 2999-06-01 1800 /to 2000");
+
+        String upcoming = engine.processToString("upcoming 1").output;
+        assertTrue(upcoming.contains("1.[D][ ] renew passport"));
+        assertFalse(upcoming.contains("launch party"));
+        assertTrue(engine.processToString("overdue").output.contains("1.[D][ ] file taxes"));
+
+        engine.processToString("mark 1");
+        assertTrue(engine.processToString("overdue").output.contains("No overdue deadlines."));
+        engine.processToString("undo");
+        assertTrue(engine.processToString("overdue").output.contains("file taxes"));
+    }
+
+    @Test
+    void recurringEvent_expandsForOnAndUpcoming() {
+        AokoEngine engine = new AokoEngine(tempDir.resolve("aoko.txt"));
+        engine.processToString("event standup /from 2990-01-01 0900 /to 0915 /every day /until 2999-12-31");
+
+        assertTrue(engine.processToString("on 2995-03-04").output.contains("[E][ ] standup (from: Mar 04 2995 09:00"));
+        assertTrue(engine.processToString("on 3000-01-01").output.contains("No tasks found on"));
+        assertTrue(engine.processToString("upcoming").output.contains("1.[E][ ] standup (from: Jan 01 2990 09:00"));
+        assertTrue(engine.processToString("event x /from 2990-01-01 /to 2990-01-01 /every fortnight").output
+                .contains("/every <day|week|month>"));
+    }
+
+    @Test
+    void eventClash_warnsAndFreeListsGaps() {
+        AokoEngine engine = new AokoEngine(tempDir.resolve("aoko.txt"));
+        engine.processToString("event review /from 2030-05-06 0900 /to 1100");
+
+        String added = engine.processToString("event call /from 2030-05-06 1030 /to 1200").output;
+        assertTrue(added.contains("Heads up, that clashes with:"));
+        assertTrue(added.contains("1.[E][ ] review"));
+        assertFalse(engine.processToString("event lunch /from 2030-05-06 1200 /to 1300").output.contains("clashes"));
+
+        String free = engine.processToString("free 2030-05-06 2h").output;
+        assertTrue(free.contains("1.00:00 - 09:00"));
+        assertTrue(free.contains("2.13:00 - 24:00"));
+        assertTrue(engine.processToString("free 2030-05-06 forever").output.contains("duration"));
+    }
+
+    @Test
+    void summary_countsByTypeAndWeek() {
+        AokoEngine engine = new AokoEngine(tempDir.resolve("aoko.txt"));
+        engine.processToString("todo read book");
+        engine.processToString("deadline file taxes /by 2000-04-15");
+        engine.processToString("mark 2");
+
+        String summary = engine.processToString("summary").output;
+        assertTrue(summary.contains("Todos: 1 open, 0 done"));
+        assertTrue(summary.contains("Deadlines: 0 open, 1 done"));
+        assertTrue(summary.contains("Total: 1 open, 1 done"));
+        assertTrue(summary.contains("Before "));
+    }
+
+    @Test
+    void upcoming_invalidCount_showsUsage() {
+        AokoEngine engine = new AokoEngine(tempDir.resolve("aoko.txt"));
+
+        assertTrue(engine.processToString("upcoming soon").output.contains("positive number"));
+    }
+}
@@ -0,0 +1,108 @@
+package aoko;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import aoko.task.Task;
+import aoko.task.TaskListListener;
+
+public class AokoEngineWorkspaceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void use_switchesBetweenSaveFilesInTheDataDirectory() throws Exception {
+        Path saveFile = tempDir.resolve("aoko.txt");
+        AokoEngine engine = new AokoEngine(saveFile, 2);
+        engine.processToString("todo read book");
+
+        String output = engine.processToString("use Work").output;
+        assertTrue(output.contains("Now using workspace \"work\" with 0 tasks."), output);
+        engine.processToString("todo write report");
+        engine.processToString("todo book room");
+
+        assertEquals(List.of("T | 0 | write report", "T | 0 | book room"),
+                Files.readAllLines(tempDir.resolve("work.txt"), StandardCharsets.UTF_8));
+        assertEquals(1, Files.readAllLines(saveFile, StandardCharsets.UTF_8).size());
+        assertTrue(engine.processToString("use aoko").output.contains("with 1 tasks."));
+        assertTrue(engine.processToString("list").output.contains("1.[T][ ] read book"));
+
+        String listing = engine.processToString("use").output;
+        assertTrue(listing.contains("* aoko"), listing);
+        assertTrue(listing.contains("  work"), listing);
+        assertTrue(engine.processToString("use ../secrets").output.contains("Workspace names use"));
+        assertEquals("aoko", engine.getWorkspaceName());
+    }
+
+    @Test
+    void use_keepsUndoHistoryAndPagingPerWorkspace() {
+        AokoEngine engine = new AokoEngine(tempDir.resolve("aoko.txt"), 2);
+        engine.processToString("todo read book");
+        engine.processToString("use work");
+        engine.processToString("todo write report");
+        engine.processToString("todo book room");
+        engine.processToString("list 0 1");
+
+        engine.processToString("use aoko");
+        assertTrue(engine.processToString("more").output.contains("Nothing more to show."));
+        engine.processToString("undo");
+        assertFalse(engine.processToString("list").output.contains("read book"));
+
+        engine.processToString("use work");
+        assertTrue(engine.processToString("more").output.contains("2.[T][ ] book room"));
+        engine.processToString("undo");
+        assertFalse(engine.processToString("list").output.contains("book room"));
+        assertTrue(engine.processToString("list").output.contains("write report"));
+    }
+
+    @Test
+    void use_beyondTheLimitUnloadsTheLeastRecentWorkspace() throws Exception {
+        AokoEngine engine = new AokoEngine(tempDir.resolve("aoko.txt"), 2);
+        engine.processToString("todo read book");
+        engine.processToString("use a");
+        engine.processToString("todo alpha");
+        engine.processToString("use b");
+
+        assertTrue(engine.processToString("use aoko").output.contains("with 1 tasks."));
+        assertTrue(engine.processToString("undo").output.contains("Nothing to undo."));
+        assertTrue(engine.processToString("use a").output.contains("with 1 tasks."));
+        assertEquals(List.of("T | 0 | alpha"), Files.readAllLines(tempDir.resolve("a.txt"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void use_movesListenersToTheNewWorkspace() {
+        AokoEngine engine = new AokoEngine(tempDir.resolve("aoko.txt"), 1);
+        engine.processToString("todo read book");
+        List<String> seen = new ArrayList<>();
+        engine.addTaskListListener(new TaskListListener() {
+            @Override
+            public void taskAdded(int index, Task task) {
+                seen.add("added " + task.getDescription());
+            }
+
+            @Override
+            public void tasksReplaced(List<Task> tasks) {
+                seen.add("replaced " + tasks.size());
+            }
+        });
+
+        engine.processToString("use work");
+        engine.processToString("todo write report");
+        engine.processToString("use aoko");
+        engine.processToString("todo buy milk");
+
+        assertEquals(List.of("replaced 1", "replaced 0", "added write report", "replaced 1", "added buy milk"),
+                seen);
+    }
+}
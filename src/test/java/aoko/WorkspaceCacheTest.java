@@ -0,0 +1,76 @@
+package aoko;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import aoko.task.Todo;
+
+public class WorkspaceCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void get_loadsLazilyAndFlushesTheLeastRecentlyUsedOnEviction() throws Exception {
+        Files.write(tempDir.resolve("b.txt"), List.of("T | 0 | from disk"), StandardCharsets.UTF_8);
+        AtomicInteger saves = new AtomicInteger();
+        WorkspaceCache cache = new WorkspaceCache(tempDir.resolve("main.txt"), 2, nanos -> saves.incrementAndGet());
+        assertEquals(0, cache.loadedCount());
+
+        Workspace main = cache.get("main");
+        main.tasks.add(new Todo("unsaved"));
+        Workspace b = cache.get("b");
+        assertEquals(1, b.tasks.size());
+        assertSame(main, cache.get("main"));
+        cache.get("c");
+
+        assertEquals(2, cache.loadedCount());
+        assertTrue(cache.isLoaded("main"));
+        assertFalse(cache.isLoaded("b"));
+        assertEquals(0, saves.get());
+
+        cache.get("b");
+        assertFalse(cache.isLoaded("main"));
+        assertEquals(1, saves.get());
+        assertEquals(List.of("T | 0 | unsaved"),
+                Files.readAllLines(tempDir.resolve("main.txt"), StandardCharsets.UTF_8));
+        assertEquals(1, cache.get("main").tasks.size());
+        assertEquals(List.of("b", "main"), List.copyOf(cache.names()));
+        assertFalse(Files.exists(tempDir.resolve("c.txt")));
+    }
+
+    @Test
+    void get_evictingAWorkspaceSavedByItsCommands_doesNotSaveItAgain() {
+        AtomicInteger saves = new AtomicInteger();
+        WorkspaceCache cache = new WorkspaceCache(tempDir.resolve("main.txt"), 1, nanos -> saves.incrementAndGet());
+
+        Workspace main = cache.get("main");
+        main.tasks.add(new Todo("saved"));
+        main.storage.save(main.tasks);
+        cache.get("b");
+
+        assertFalse(cache.isLoaded("main"));
+        assertEquals(1, saves.get());
+    }
+
+    @Test
+    void normalizeName_acceptsOnlyFileSafeNames() {
+        assertEquals("work-2026_q1", Workspace.normalizeName(" Work-2026_Q1 "));
+        assertNull(Workspace.normalizeName("../aoko"));
+        assertNull(Workspace.normalizeName("-work"));
+        assertNull(Workspace.normalizeName(""));
+        assertNull(Workspace.normalizeName("a".repeat(65)));
+    }
+}
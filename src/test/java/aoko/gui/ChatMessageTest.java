@@ -0,0 +1,64 @@
+package aoko.gui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class ChatMessageTest {
+    private static final String DIVIDER = "    ____________________";
+
+    @Test
+    void split_shortMessage_singlePartWithoutDividerLines() {
+        String text = DIVIDER + "\n     Got it.\n     Now you have 1 task.\n" + DIVIDER + "\n";
+
+        List<ChatMessage> parts = ChatMessage.split(ChatMessage.Speaker.AOKO, text);
+
+        assertEquals(1, parts.size());
+        ChatMessage part = parts.get(0);
+        assertTrue(part.isFirstPart());
+        assertTrue(part.isLastPart());
+        assertTrue(part.hasDividers());
+        assertEquals("Got it.\n     Now you have 1 task.", part.displayText());
+    }
+
+    @Test
+    void split_longMessage_partsCoverEveryLineOnce() {
+        StringBuilder text = new StringBuilder(DIVIDER).append("\r\n");
+        for (int i = 1; i <= 95; i++) {
+            text.append("  ").append(i).append(".[T][ ] task ").append(i).append("\r\n");
+        }
+        text.append(DIVIDER).append("\r\n");
+
+        List<ChatMessage> parts = ChatMessage.split(ChatMessage.Speaker.AOKO, text.toString(), 40);
+
+        assertEquals(3, parts.size());
+        assertTrue(parts.get(0).isFirstPart());
+        assertFalse(parts.get(0).isLastPart());
+        assertFalse(parts.get(1).isFirstPart());
+        assertTrue(parts.get(2).isLastPart());
+
+        StringBuilder joined = new StringBuilder();
+        for (ChatMessage part : parts) {
+            String shown = part.displayText();
+            assertFalse(shown.contains("_____"), "Divider lines must not be shown");
+            assertFalse(shown.contains("\r"), "Carriage returns must be dropped");
+            joined.append(shown).append('\n');
+        }
+        assertTrue(joined.toString().startsWith("1.[T][ ] task 1\n  2.[T][ ] task 2\n"));
+        assertTrue(joined.toString().contains("  40.[T][ ] task 40\n  41.[T][ ] task 41\n"));
+        assertTrue(joined.toString().endsWith("  95.[T][ ] task 95\n"));
+    }
+
+    @Test
+    void split_emptyMessage_singleEmptyPart() {
+        List<ChatMessage> parts = ChatMessage.split(ChatMessage.Speaker.USER, "");
+
+        assertEquals(1, parts.size());
+        assertEquals("", parts.get(0).displayText());
+        assertFalse(parts.get(0).hasDividers());
+    }
+}
@@ -0,0 +1,55 @@
+package aoko.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    void bucketUpperBound_coversEveryValueWithBoundedError() {
+        long[] samples = { 0, 1, 31, 32, 33, 47, 48, 1_000, 65_535, 1_000_000, 123_456_789L, Long.MAX_VALUE };
+        for (long value : samples) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long upper = LatencyHistogram.bucketUpperBound(index);
+            assertTrue(upper >= value, "upper bound below value " + value);
+            assertTrue(upper - value <= value / 16 + 1, "bucket too wide for " + value);
+        }
+    }
+
+    @Test
+    void bucketIndex_isMonotonic() {
+        int previous = -1;
+        for (long value = 0; value < 100_000; value++) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(index >= previous);
+            previous = index;
+        }
+    }
+
+    @Test
+    void percentiles_reflectRecordedDistribution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000L);
+        }
+
+        assertEquals(1000, histogram.count());
+        assertEquals(1_000_000L, histogram.maxNanos());
+        assertWithin(500_000L, histogram.percentileNanos(50));
+        assertWithin(900_000L, histogram.percentileNanos(90));
+        assertWithin(990_000L, histogram.percentileNanos(99));
+        assertEquals(1_000_000L, histogram.percentileNanos(100));
+    }
+
+    @Test
+    void percentile_emptyHistogram_isZero() {
+        assertEquals(0, new LatencyHistogram().percentileNanos(99));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / 16,
+                "expected about " + expected + " but was " + actual);
+    }
+}
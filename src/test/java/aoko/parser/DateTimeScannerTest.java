@@ -0,0 +1,262 @@
+package aoko.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Property-style checks that the single-pass scanner agrees with the original formatter chain.
+ */
+public class DateTimeScannerTest {
+    private static final long SEED = 20261019L;
+    private static final int RANDOM_CASES = 200_000;
+
+    private static final DateTimeFormatter[] DATE_TIME_FORMATS = new DateTimeFormatter[] {
+        strict("uuuu-MM-dd HHmm"),
+        strict("uuuu-MM-dd HH:mm"),
+        strict("d/M/uuuu HHmm"),
+        strict("d/M/uuuu H:mm")
+    };
+    private static final DateTimeFormatter DMY_DATE = strict("d/M/uuuu");
+    private static final DateTimeFormatter[] TIME_ONLY_FORMATS = new DateTimeFormatter[] {
+        strict("HHmm"),
+        strict("H:mm"),
+        strict("HH:mm")
+    };
+
+    private static final String[] SEPARATORS = { "-", "/", " ", ":", "T", "t", "+", ".", "x", "  " };
+
+    private static DateTimeFormatter strict(String pattern) {
+        return DateTimeFormatter.ofPattern(pattern).withResolverStyle(ResolverStyle.STRICT);
+    }
+
+    @Test
+    void handPickedEdgeCases_matchFormatterChain() {
+        List<String> cases = List.of(
+                "2019-10-15", "2019-10-15 1400", "2019-10-15 14:00", "2019-10-15 9:05",
+                "2/12/2019", "02/12/2019 1800", "2/12/2019 9:05", "2/12/2019 09:05", "2/12/2019 0905",
+                "0000000000002/1/2019", "2/12/20190", "2/12/201", "2020-02-29", "2019-02-29",
+                "29/2/2020", "29/2/2019", "31/4/2019", "0/1/2019", "1/0/2019", "1/13/2019",
+                "2019-13-01", "2019-00-10", "2019-10-00", "2019-10-15 2400", "2019-10-15 2360",
+                "2/12/2019 24:00", "2/12/2019 23:60", "+2019-10-15", "+12019-10-15", "-2019-10-15",
+                "1/1/+12019", "1/1/-2019", "1/1/-0000", "-1/1/2019", "1/-1/2019", "2019-10-15 +900",
+                "2019-10-15T14:00", "2019-10-15T14:00:59", "2019-10-15T14:00:60", "2019-10-15T14:00:00.5",
+                "2019-10-15T14:00:00.", "2019-10-15t14:00", "2019-10-15T1400", "2019-10-15 14:00:00",
+                "1400", "14:00", "9:05", "09:05", "900", "0900", "24:00", "2400", "-1:00", "+1:00",
+                "12345", "1:5", "1:555", "00000000000000000009:05", "99999999999999999999:00",
+                "2019-1-15", "2019-10-5", "19-10-15", "2019/10/15", "15-10-2019");
+        for (String input : cases) {
+            assertAgreesWithFormatters(input);
+        }
+    }
+
+    @Test
+    void randomStructuredInputs_matchFormatterChain() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < RANDOM_CASES; i++) {
+            assertAgreesWithFormatters(randomInput(random));
+        }
+    }
+
+    @Test
+    void scannerNeverDefersOrdinaryShapes() {
+        Random random = new Random(SEED + 1);
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime value = LocalDateTime.of(1000 + random.nextInt(9000), 1 + random.nextInt(12),
+                    1 + random.nextInt(28), random.nextInt(24), random.nextInt(60));
+            String iso = value.format(DateTimeFormatter.ofPattern("uuuu-MM-dd HHmm"));
+            String dmy = value.format(DateTimeFormatter.ofPattern("d/M/uuuu H:mm"));
+            assertEquals(false, DateTimeScanner.needsFormatter(iso), iso);
+            assertEquals(false, DateTimeScanner.needsFormatter(dmy), dmy);
+            assertEquals(value, DateTimeScanner.scanDateTime(iso).dateTime, iso);
+            assertEquals(value, DateTimeScanner.scanDateTime(dmy).dateTime, dmy);
+        }
+    }
+
+    private static void assertAgreesWithFormatters(String input) {
+        Parser.ParsedDateTime start = new Parser.ParsedDateTime(LocalDateTime.of(2019, 8, 6, 14, 0), true);
+
+        assertSameParsed(referenceDateTime(input), Parser.parseDateTime(input), "parseDateTime: " + input);
+        assertEquals(referenceDateOnly(input), Parser.parseDateOnly(input), "parseDateOnly: " + input);
+        assertSameParsed(referenceIso(input), Parser.parseIsoDateOrDateTime(input),
+                "parseIsoDateOrDateTime: " + input);
+        assertSameParsed(referenceEventEnd(start, input), Parser.parseEventEnd(start, input),
+                "parseEventEnd: " + input);
+    }
+
+    private static void assertSameParsed(Parser.ParsedDateTime expected, Parser.ParsedDateTime actual,
+            String message) {
+        if (expected == null || actual == null) {
+            assertEquals(expected, actual, message);
+            return;
+        }
+        assertEquals(expected.dateTime, actual.dateTime, message);
+        assertEquals(expected.hasTime, actual.hasTime, message);
+    }
+
+    private static String randomInput(Random random) {
+        String candidate = random.nextBoolean() ? randomShapedInput(random) : randomTokenSoup(random);
+        return random.nextInt(4) == 0 ? mutate(random, candidate) : candidate;
+    }
+
+    /**
+     * Builds an input from one of the supported shapes, with field values near their valid ranges.
+     */
+    private static String randomShapedInput(Random random) {
+        String year = padded(random, 1990 + random.nextInt(40), random.nextInt(10) == 0 ? 3 : 4);
+        String month = padded(random, random.nextInt(14), random.nextInt(3) == 0 ? 1 : 2);
+        String day = padded(random, random.nextInt(33), random.nextInt(3) == 0 ? 1 : 2);
+        String hour = padded(random, random.nextInt(26), random.nextInt(3) == 0 ? 1 : 2);
+        String minute = padded(random, random.nextInt(62), 2);
+        return switch (random.nextInt(9)) {
+        case 0 -> year + "-" + month + "-" + day;
+        case 1 -> year + "-" + month + "-" + day + " " + hour + minute;
+        case 2 -> year + "-" + month + "-" + day + " " + hour + ":" + minute;
+        case 3 -> day + "/" + month + "/" + year;
+        case 4 -> day + "/" + month + "/" + year + " " + hour + minute;
+        case 5 -> day + "/" + month + "/" + year + " " + hour + ":" + minute;
+        case 6 -> year + "-" + month + "-" + day + "T" + hour + ":" + minute;
+        case 7 -> year + "-" + month + "-" + day + "T" + hour + ":" + minute + ":" + minute;
+        default -> random.nextBoolean() ? hour + minute : hour + ":" + minute;
+        };
+    }
+
+    private static String padded(Random random, int value, int width) {
+        StringBuilder sb = new StringBuilder(Integer.toString(value));
+        while (sb.length() < width) {
+            sb.insert(0, '0');
+        }
+        return sb.length() > width && random.nextBoolean() ? sb.substring(sb.length() - width) : sb.toString();
+    }
+
+    private static String mutate(Random random, String input) {
+        StringBuilder sb = new StringBuilder(input);
+        int at = random.nextInt(sb.length() + 1);
+        switch (random.nextInt(3)) {
+        case 0:
+            sb.insert(at, SEPARATORS[random.nextInt(SEPARATORS.length)]);
+            break;
+        case 1:
+            if (at < sb.length()) {
+                sb.deleteCharAt(at);
+            }
+            break;
+        default:
+            sb.insert(at, (char) ('0' + random.nextInt(10)));
+            break;
+        }
+        return sb.toString();
+    }
+
+    private static String randomTokenSoup(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int segments = 1 + random.nextInt(5);
+        for (int i = 0; i < segments; i++) {
+            if (i > 0 || random.nextInt(8) == 0) {
+                sb.append(SEPARATORS[random.nextInt(random.nextInt(4) == 0 ? SEPARATORS.length : 5)]);
+            }
+            sb.append(randomDigits(random));
+        }
+        return sb.toString();
+    }
+
+    private static String randomDigits(Random random) {
+        int choice = random.nextInt(10);
+        int length = choice < 3 ? 2 : choice < 5 ? 4 : choice < 8 ? 1 : random.nextInt(7);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('0' + random.nextInt(10)));
+        }
+        return sb.toString();
+    }
+
+    private static Parser.ParsedDateTime referenceDateTime(String raw) {
+        String s = raw == null ? "" : raw.trim();
+        if (s.isEmpty()) {
+            return null;
+        }
+        try {
+            return new Parser.ParsedDateTime(
+                    LocalDate.parse(s, DateTimeFormatter.ISO_LOCAL_DATE).atStartOfDay(), false);
+        } catch (DateTimeParseException ignored) {
+            // fall through
+        }
+        for (DateTimeFormatter formatter : DATE_TIME_FORMATS) {
+            try {
+                return new Parser.ParsedDateTime(LocalDateTime.parse(s, formatter), true);
+            } catch (DateTimeParseException ignored) {
+                // try next
+            }
+        }
+        try {
+            return new Parser.ParsedDateTime(LocalDate.parse(s, DMY_DATE).atStartOfDay(), false);
+        } catch (DateTimeParseException ignored) {
+            return null;
+        }
+    }
+
+    private static LocalDate referenceDateOnly(String raw) {
+        String s = raw == null ? "" : raw.trim();
+        if (s.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(s, DateTimeFormatter.ISO_LOCAL_DATE);
+        } catch (DateTimeParseException ignored) {
+            // fall through
+        }
+        try {
+            return LocalDate.parse(s, DMY_DATE);
+        } catch (DateTimeParseException ignored) {
+            return null;
+        }
+    }
+
+    private static Parser.ParsedDateTime referenceIso(String raw) {
+        String s = raw == null ? "" : raw.trim();
+        if (s.isEmpty()) {
+            return null;
+        }
+        try {
+            if (s.contains("T")) {
+                return new Parser.ParsedDateTime(LocalDateTime.parse(s, DateTimeFormatter.ISO_LOCAL_DATE_TIME), true);
+            }
+            return new Parser.ParsedDateTime(
+                    LocalDate.parse(s, DateTimeFormatter.ISO_LOCAL_DATE).atStartOfDay(), false);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static Parser.ParsedDateTime referenceEventEnd(Parser.ParsedDateTime from, String raw) {
+        Parser.ParsedDateTime full = referenceDateTime(raw);
+        if (full != null) {
+            return full;
+        }
+        String s = raw == null ? "" : raw.trim();
+        if (s.isEmpty()) {
+            return null;
+        }
+        LocalDate date = from.dateTime.toLocalDate();
+        if (s.equals("2400") || s.equals("24:00")) {
+            return new Parser.ParsedDateTime(LocalDateTime.of(date, LocalTime.MIDNIGHT), true);
+        }
+        for (DateTimeFormatter formatter : TIME_ONLY_FORMATS) {
+            try {
+                return new Parser.ParsedDateTime(LocalDateTime.of(date, LocalTime.parse(s, formatter)), true);
+            } catch (DateTimeParseException ignored) {
+                // try next
+            }
+        }
+        return null;
+    }
+}
@@ -1,7 +1,9 @@
 package aoko.parser;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -34,6 +36,29 @@ public class ParserTest {
         assertNull(Parser.parseIndex(new String[] { "mark", "  " }));
     }
 
+    @Test
+    void parseDuration_acceptsMinutesHoursAndBoth() {
+        assertEquals(Duration.ofMinutes(90), Parser.parseDuration("90"));
+        assertEquals(Duration.ofMinutes(45), Parser.parseDuration("45m"));
+        assertEquals(Duration.ofHours(2), Parser.parseDuration("2H"));
+        assertEquals(Duration.ofMinutes(90), Parser.parseDuration("1h30m"));
+        assertNull(Parser.parseDuration("0m"));
+        assertNull(Parser.parseDuration("h"));
+        assertNull(Parser.parseDuration("soon"));
+    }
+
+    @Test
+    void extractTags_takesOutTagWordsOnly() {
+        Parser.TaggedText tagged = Parser.extractTags("fix  issue #12 #work /by 2026-01-01 #on-call");
+        assertEquals("fix issue #12 /by 2026-01-01", tagged.text);
+        assertEquals(List.of("work", "on-call"), tagged.tags);
+
+        Parser.TaggedText untagged = Parser.extractTags("read  book #1");
+        assertEquals("read  book #1", untagged.text);
+        assertTrue(untagged.tags.isEmpty());
+        assertFalse(Parser.isTag("#"));
+    }
+
     @Test
     void parseDateOnly_acceptsIsoDate() {
         LocalDate date = Parser.parseDateOnly("2019-10-15");
@@ -0,0 +1,87 @@
+package aoko.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import aoko.task.Deadline;
+import aoko.task.Event;
+import aoko.task.Task;
+import aoko.task.TaskList;
+import aoko.task.Todo;
+
+public class QueryPlanTest {
+
+    private static TaskList sampleTasks() {
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < 20; i++) {
+            tasks.add(new Todo("chore " + i));
+        }
+        tasks.add(new Deadline("quarterly report", LocalDateTime.of(2026, 3, 31, 0, 0), false));
+        tasks.add(new Deadline("annual report", LocalDateTime.of(2026, 12, 31, 17, 0), true));
+        tasks.add(new Deadline("tax return", LocalDateTime.of(2026, 4, 15, 0, 0), false));
+        tasks.add(new Event("report review", LocalDateTime.of(2026, 4, 1, 10, 0), true,
+                LocalDateTime.of(2026, 4, 1, 11, 0), true));
+        tasks.add(new Todo("write report draft"));
+        tasks.markDone(22);
+        return tasks;
+    }
+
+    private static List<String> run(TaskList tasks, String query) {
+        List<String> descriptions = new ArrayList<>();
+        for (Task task : QueryPlan.plan(Query.parse(query), tasks).execute()) {
+            descriptions.add(task.getDescription());
+        }
+        return descriptions;
+    }
+
+    @Test
+    void execute_appliesEveryClauseInListOrder() {
+        TaskList tasks = sampleTasks();
+
+        assertEquals(List.of("quarterly report", "annual report", "report review", "write report draft"),
+                run(tasks, "text:report"));
+        assertEquals(List.of("quarterly report"), run(tasks, "type:D done:0 before:2026-12-01 text:report"));
+        assertEquals(List.of("tax return"), run(tasks, "type:d,e done:1"));
+        assertEquals(List.of("annual report"), run(tasks, "after:2026-04-01 done:0"));
+        assertEquals(List.of("write report draft"), run(tasks, "type:T text:draft"));
+    }
+
+    @Test
+    void plan_pushesMostSelectiveClauseIntoAnIndex() {
+        TaskList tasks = sampleTasks();
+
+        String textPlan = String.join("\n", QueryPlan.plan(Query.parse("type:D text:report"), tasks).describe());
+        assertTrue(textPlan.contains("Access: word index, words containing \"report\" (4 candidates)"), textPlan);
+        assertTrue(textPlan.contains("Filter: type in D (one pass)"), textPlan);
+
+        String datePlan = String.join("\n",
+                QueryPlan.plan(Query.parse("done:0 before:2026-04-01 text:re"), tasks).describe());
+        assertTrue(datePlan.contains("Access: due-date index, undone tasks due before Apr 01 2026 (1 candidates)"),
+                datePlan);
+        assertTrue(datePlan.contains("Filter: text contains \"re\""), datePlan);
+
+        String donePlan = String.join("\n", QueryPlan.plan(Query.parse("type:d,e done:1"), tasks).describe());
+        assertTrue(donePlan.contains("Access: done bitset, done tasks (1 candidates)"), donePlan);
+        assertTrue(donePlan.contains("Filter: type in D,E (one pass)"), donePlan);
+        assertTrue(donePlan.endsWith("3. Order: list order"), donePlan);
+
+        String scanPlan = String.join("\n", QueryPlan.plan(Query.parse("type:T"), tasks).describe());
+        assertTrue(scanPlan.contains("Access: full scan (25 tasks)"), scanPlan);
+    }
+
+    @Test
+    void parse_invalidClauses_throwWithMessage() {
+        assertThrows(IllegalArgumentException.class, () -> Query.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> Query.parse("colour:red"));
+        assertThrows(IllegalArgumentException.class, () -> Query.parse("type:X"));
+        assertThrows(IllegalArgumentException.class, () -> Query.parse("before:someday"));
+        assertThrows(IllegalArgumentException.class, () -> Query.parse("report"));
+    }
+}
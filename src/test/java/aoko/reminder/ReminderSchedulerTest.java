@@ -0,0 +1,109 @@
+package aoko.reminder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import aoko.task.Deadline;
+import aoko.task.Event;
+import aoko.task.Task;
+import aoko.task.TaskList;
+import aoko.task.Todo;
+
+public class ReminderSchedulerTest {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    /**
+     * Clock that only moves when told to.
+     */
+    private static class ManualClock extends Clock {
+        private Instant now = START.toInstant(ZoneOffset.UTC);
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private final ManualClock clock = new ManualClock();
+    private final List<String> fired = new ArrayList<>();
+    private final ReminderScheduler scheduler = new ReminderScheduler(clock, Duration.ofMinutes(30),
+            tasks -> tasks.forEach(task -> fired.add(task.getDescription())));
+
+    private void advanceMinutes(int minutes) {
+        clock.advance(Duration.ofMinutes(minutes));
+        scheduler.tick();
+    }
+
+    @Test
+    void tick_remindsLeadTimeBeforeDeadlinesAndEvents() {
+        TaskList tasks = new TaskList();
+        tasks.addListener(scheduler);
+        tasks.add(new Deadline("report", START.plusHours(2), true));
+        tasks.add(new Event("meeting", START.plusHours(1), true, START.plusHours(2), true));
+        tasks.add(new Todo("read"));
+
+        advanceMinutes(29);
+        assertEquals(List.of(), fired);
+        advanceMinutes(1);
+        assertEquals(List.of("meeting"), fired);
+        advanceMinutes(60);
+        assertEquals(List.of("meeting", "report"), fired);
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    void markAndDelete_cancelReminders_unmarkReschedules() {
+        TaskList tasks = new TaskList();
+        tasks.addListener(scheduler);
+        tasks.add(new Deadline("a", START.plusHours(1), true));
+        tasks.add(new Deadline("b", START.plusHours(1), true));
+
+        tasks.markDone(0);
+        tasks.remove(1);
+        assertEquals(0, scheduler.pendingCount());
+        tasks.markNotDone(0);
+
+        advanceMinutes(30);
+        assertEquals(List.of("a"), fired);
+    }
+
+    @Test
+    void tasksReplaced_skipsPastTasksAndRemindsDateOnlyAtStartOfDay() {
+        List<Task> loaded = List.of(
+                new Deadline("past", START.minusDays(1), true),
+                new Deadline("today", START.toLocalDate().atStartOfDay(), false),
+                new Deadline("tomorrow", START.toLocalDate().plusDays(1).atStartOfDay(), false));
+
+        scheduler.tasksReplaced(loaded);
+        assertEquals(2, scheduler.pendingCount());
+
+        advanceMinutes(1);
+        assertEquals(List.of("today"), fired);
+        advanceMinutes(15 * 60);
+        assertEquals(List.of("today", "tomorrow"), fired);
+    }
+}
@@ -0,0 +1,80 @@
+package aoko.reminder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class TimerWheelTest {
+
+    @Test
+    void advanceTo_firesEachTimeoutAtItsDeadline() {
+        TimerWheel<Long> wheel = new TimerWheel<>(1_000);
+        Random random = new Random(38);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = 1_001 + (long) Math.pow(random.nextInt(300), 3);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+
+        long tick = 1_000;
+        while (wheel.size() > 0) {
+            long previous = tick;
+            tick += 1 + random.nextInt(500);
+            long now = tick;
+            wheel.advanceTo(now, deadline -> assertTrue(deadline > previous && deadline <= now,
+                    "deadline " + deadline + " fired while advancing to " + now));
+            deadlines.removeIf(deadline -> deadline <= now);
+            assertEquals(deadlines.size(), wheel.size());
+        }
+    }
+
+    @Test
+    void advanceTo_singleTicks_fireOnExactTick() {
+        TimerWheel<String> wheel = new TimerWheel<>(0);
+        wheel.schedule(5, "five");
+        wheel.schedule(64, "sixty-four");
+        wheel.schedule(4_097, "far");
+        List<String> fired = new ArrayList<>();
+
+        for (long tick = 1; tick <= 5_000; tick++) {
+            long now = tick;
+            wheel.advanceTo(tick, payload -> fired.add(now + " " + payload));
+        }
+
+        assertEquals(List.of("5 five", "64 sixty-four", "4097 far"), fired);
+    }
+
+    @Test
+    void cancel_removesTimeout() {
+        TimerWheel<String> wheel = new TimerWheel<>(0);
+        TimerWheel.Timeout<String> kept = wheel.schedule(10, "kept");
+        TimerWheel.Timeout<String> cancelled = wheel.schedule(10, "cancelled");
+        wheel.cancel(cancelled);
+        wheel.cancel(cancelled);
+        List<String> fired = new ArrayList<>();
+
+        wheel.advanceTo(10, fired::add);
+
+        assertEquals(List.of("kept"), fired);
+        assertFalse(kept.isPending());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedule_pastDeadline_firesOnNextTick() {
+        TimerWheel<String> wheel = new TimerWheel<>(100);
+        wheel.schedule(50, "late");
+        List<String> fired = new ArrayList<>();
+
+        wheel.advanceTo(101, fired::add);
+
+        assertEquals(List.of("late"), fired);
+    }
+}
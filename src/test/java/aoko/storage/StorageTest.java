@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -15,6 +16,8 @@ import org.junit.jupiter.api.io.TempDir;
 
 import aoko.task.Deadline;
 import aoko.task.Event;
+import aoko.task.Recurrence;
+import aoko.task.RecurringEvent;
 import aoko.task.Task;
 import aoko.task.TaskList;
 import aoko.task.Todo;
@@ -69,6 +72,54 @@ public class StorageTest {
                 true);
     }
 
+    @Test
+    void saveThenLoad_recurringEventIsOneLine() throws IOException {
+        Path saveFile = tempDir.resolve("aoko.txt");
+        Storage storage = new Storage(saveFile);
+        TaskList taskList = new TaskList();
+        taskList.add(new RecurringEvent("standup",
+                LocalDateTime.of(2024, 1, 1, 9, 0), true,
+                LocalDateTime.of(2024, 1, 1, 9, 15), true,
+                Recurrence.until(Recurrence.Frequency.DAILY, LocalDate.of(2033, 12, 31))));
+        taskList.add(new RecurringEvent("rent",
+                LocalDateTime.of(2024, 1, 31, 0, 0), false,
+                LocalDateTime.of(2024, 1, 31, 0, 0), false,
+                Recurrence.times(Recurrence.Frequency.MONTHLY, 12)));
+
+        storage.save(taskList);
+
+        assertEquals(List.of(
+                "R | 0 | standup | 2024-01-01T09:00:00 | 2024-01-01T09:15:00 | daily | until 2033-12-31",
+                "R | 0 | rent | 2024-01-31 | 2024-01-31 | monthly | count 12"),
+                Files.readAllLines(saveFile, StandardCharsets.UTF_8));
+        List<Task> loaded = storage.load();
+        assertEquals(2, loaded.size());
+        assertEquals(taskList.get(0).detailsKey(), loaded.get(0).detailsKey());
+        assertEquals(taskList.get(1).detailsKey(), loaded.get(1).detailsKey());
+    }
+
+    @Test
+    void saveThenLoad_roundTripsTags() throws IOException {
+        Path saveFile = tempDir.resolve("aoko.txt");
+        Storage storage = new Storage(saveFile);
+        TaskList taskList = new TaskList();
+        Todo todo = new Todo("fix issue #12");
+        todo.setTags(List.of("Work", "urgent"));
+        Deadline deadline = new Deadline("report", LocalDateTime.of(2026, 3, 31, 0, 0), false);
+        deadline.setTags(List.of("work"));
+        taskList.add(todo);
+        taskList.add(deadline);
+
+        storage.save(taskList);
+
+        assertEquals(List.of("T | 0 | fix issue #12 | #urgent #work", "D | 0 | report | 2026-03-31 | #work"),
+                Files.readAllLines(saveFile, StandardCharsets.UTF_8));
+        List<Task> loaded = storage.load();
+        assertEquals("fix issue #12", loaded.get(0).getDescription());
+        assertEquals(List.of("urgent", "work"), loaded.get(0).getTags());
+        assertEquals(List.of("work"), loaded.get(1).getTags());
+    }
+
     private static void assertTodo(Task task, String expectedDescription, boolean expectedDone) {
         assertTrue(task instanceof Todo);
         assertEquals(expectedDescription, task.getDescription());
@@ -0,0 +1,101 @@
+package aoko.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import aoko.task.Deadline;
+import aoko.task.Event;
+import aoko.task.Recurrence;
+import aoko.task.RecurringEvent;
+import aoko.task.Task;
+import aoko.task.Todo;
+
+public class TaskExporterTest {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-19T08:30:00Z"), ZoneOffset.UTC);
+
+    @TempDir
+    Path tempDir;
+
+    private static List<Task> sampleTasks() {
+        Todo todo = new Todo("buy \"good\" milk, eggs");
+        todo.markDone();
+        todo.setTags(List.of("home"));
+        Deadline deadline = new Deadline("report", LocalDateTime.of(2026, 3, 31, 0, 0), false);
+        Event event = new Event("review", LocalDateTime.of(2026, 4, 1, 10, 0), true,
+                LocalDateTime.of(2026, 4, 1, 11, 30), true);
+        RecurringEvent standup = new RecurringEvent("standup", LocalDateTime.of(2026, 1, 5, 9, 0), true,
+                LocalDateTime.of(2026, 1, 5, 9, 15), true, Recurrence.until(Recurrence.Frequency.WEEKLY,
+                LocalDate.of(2026, 12, 31)));
+        return List.of(todo, deadline, event, standup);
+    }
+
+    @Test
+    void exportCsv_quotesFieldsAndWritesOneRowPerTask() throws IOException {
+        Path file = tempDir.resolve("out/tasks.csv");
+
+        assertEquals(4, TaskExporter.export(sampleTasks(), TaskExporter.Format.CSV, file, CLOCK));
+
+        assertEquals(List.of(
+                TaskExporter.CSV_HEADER,
+                "todo,true,\"buy \"\"good\"\" milk, eggs\",,,,home",
+                "deadline,false,report,2026-03-31,,,",
+                "event,false,review,2026-04-01T10:00:00,2026-04-01T11:30:00,,",
+                "event,false,standup,2026-01-05T09:00:00,2026-01-05T09:15:00,weekly until 2026-12-31,"),
+                Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportJsonLines_writesOneObjectPerLine() throws IOException {
+        Path file = tempDir.resolve("tasks.jsonl");
+
+        TaskExporter.export(sampleTasks(), TaskExporter.Format.JSONL, file, CLOCK);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(4, lines.size());
+        assertEquals("{\"type\":\"todo\",\"done\":true,\"description\":\"buy \\\"good\\\" milk, eggs\","
+                + "\"start\":null,\"end\":null,\"repeat\":null,\"tags\":[\"home\"]}", lines.get(0));
+        assertEquals("{\"type\":\"deadline\",\"done\":false,\"description\":\"report\",\"start\":\"2026-03-31\","
+                + "\"end\":null,\"repeat\":null,\"tags\":[]}", lines.get(1));
+        assertTrue(lines.get(3).contains("\"repeat\":\"weekly until 2026-12-31\""), lines.get(3));
+    }
+
+    @Test
+    void exportIcs_writesComponentsAndFoldsLongLines() throws IOException {
+        Path file = tempDir.resolve("tasks.ics");
+        Todo longTodo = new Todo("a".repeat(100));
+        RecurringEvent allDay = new RecurringEvent("retreat", LocalDateTime.of(2026, 6, 1, 0, 0), false,
+                LocalDateTime.of(2026, 6, 2, 0, 0), false, Recurrence.until(Recurrence.Frequency.MONTHLY,
+                LocalDate.of(2026, 12, 31)));
+
+        TaskExporter.export(List.of(sampleTasks().get(0), sampleTasks().get(1), sampleTasks().get(3), longTodo,
+                allDay), TaskExporter.Format.ICS, file, CLOCK);
+
+        String ics = Files.readString(file, StandardCharsets.UTF_8);
+        assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"), ics);
+        assertTrue(ics.contains("SUMMARY:buy \"good\" milk\\, eggs\r\n"), ics);
+        assertTrue(ics.contains("STATUS:COMPLETED\r\nCATEGORIES:home\r\n"), ics);
+        assertTrue(ics.contains("DTSTAMP:20261019T083000Z\r\n"), ics);
+        assertTrue(ics.contains("DUE;VALUE=DATE:20260331\r\nSTATUS:NEEDS-ACTION\r\n"), ics);
+        assertTrue(ics.contains("BEGIN:VEVENT\r\n"), ics);
+        assertTrue(ics.contains("DTSTART:20260105T090000\r\nDTEND:20260105T091500\r\n"
+                + "RRULE:FREQ=WEEKLY;UNTIL=20261231T235959\r\n"), ics);
+        assertTrue(ics.contains("DTSTART;VALUE=DATE:20260601\r\nDTEND;VALUE=DATE:20260603\r\n"
+                + "RRULE:FREQ=MONTHLY;UNTIL=20261231\r\n"), ics);
+        assertTrue(ics.contains("SUMMARY:" + "a".repeat(67) + "\r\n " + "a".repeat(33) + "\r\n"), ics);
+        assertTrue(ics.endsWith("END:VCALENDAR\r\n"), ics);
+    }
+}
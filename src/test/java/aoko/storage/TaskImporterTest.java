@@ -0,0 +1,219 @@
+package aoko.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import aoko.task.Deadline;
+import aoko.task.Event;
+import aoko.task.Recurrence;
+import aoko.task.RecurringEvent;
+import aoko.task.Task;
+import aoko.task.TaskList;
+import aoko.task.Todo;
+
+public class TaskImporterTest {
+    private static final ZoneId SINGAPORE = ZoneId.of("Asia/Singapore");
+
+    @TempDir
+    Path tempDir;
+
+    private static List<Task> sampleTasks() {
+        Todo todo = new Todo("buy \"good\" milk, eggs");
+        todo.markDone();
+        todo.setTags(List.of("home", "shopping"));
+        Deadline deadline = new Deadline("report", LocalDateTime.of(2026, 3, 31, 0, 0), false);
+        Event event = new Event("review", LocalDateTime.of(2026, 4, 1, 10, 0), true,
+                LocalDateTime.of(2026, 4, 1, 11, 30), true);
+        Event trip = new Event("trip", LocalDateTime.of(2026, 5, 1, 0, 0), false,
+                LocalDateTime.of(2026, 5, 3, 0, 0), false);
+        RecurringEvent standup = new RecurringEvent("standup", LocalDateTime.of(2026, 1, 5, 9, 0), true,
+                LocalDateTime.of(2026, 1, 5, 9, 15), true, Recurrence.until(Recurrence.Frequency.WEEKLY,
+                LocalDate.of(2026, 12, 31)));
+        return List.of(todo, deadline, event, trip, standup);
+    }
+
+    private static List<String> displays(TaskList tasks) {
+        List<String> lines = new ArrayList<>();
+        for (Task task : tasks.asUnmodifiableList()) {
+            lines.add(task.display());
+        }
+        return lines;
+    }
+
+    private Path write(String name, String... lines) throws IOException {
+        Path file = tempDir.resolve(name);
+        Files.write(file, List.of(lines), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    @Test
+    void importInto_roundTripsEveryExportFormat() throws IOException {
+        TaskList original = new TaskList(sampleTasks());
+        for (TaskExporter.Format format : TaskExporter.Format.values()) {
+            Path file = tempDir.resolve("tasks." + format.name().toLowerCase());
+            TaskExporter.export(original.asUnmodifiableList(), format, file);
+            TaskList imported = new TaskList();
+
+            TaskImporter.Result result = TaskImporter.importInto(file, format, imported, SINGAPORE);
+
+            assertEquals(5, result.imported, format.name());
+            assertEquals(0, result.rejected, format.name());
+            assertEquals(displays(original), displays(imported), format.name());
+        }
+    }
+
+    @Test
+    void importInto_skipsDuplicatesOfTheListAndOfEarlierRecords() throws IOException {
+        TaskList tasks = new TaskList();
+        tasks.add(new Todo("read book"));
+        Path file = write("tasks.csv",
+                "description,type",
+                "read book,todo",
+                "write essay,todo",
+                "write essay,todo",
+                "",
+                "call mum,TODO");
+
+        TaskImporter.Result result = TaskImporter.importInto(file, TaskExporter.Format.CSV, tasks, SINGAPORE);
+
+        assertEquals(2, result.imported);
+        assertEquals(2, result.duplicates);
+        assertEquals(0, result.rejected);
+        assertEquals(3, tasks.size());
+        assertEquals("call mum", tasks.get(2).getDescription());
+    }
+
+    @Test
+    void importInto_rejectsRecordsThatAreNotValidTasks() throws IOException {
+        TaskList tasks = new TaskList();
+        Path file = write("tasks.jsonl",
+                "{\"type\":\"deadline\",\"description\":\"essay\",\"start\":\"2/12/2019 1800\"}",
+                "{\"type\":\"event\",\"description\":\"camp\",\"start\":\"2026-05-03\",\"end\":\"2026-05-01\"}",
+                "{\"type\":\"deadline\",\"description\":\"essay\",\"start\":\"someday\"}",
+                "{\"type\":\"todo\",\"description\":\"a | b\"}",
+                "{\"type\":\"todo\",\"description\":\"tagged\",\"tags\":[\"12\"]}",
+                "{\"type\":\"chore\",\"description\":\"sweep\"}",
+                "{\"type\":\"todo\",\"description\":\"sweep\",\"done\":\"maybe\"}",
+                "{\"type\":\"event\",\"description\":\"gym\",\"start\":\"2026-05-01 0900\",\"end\":\"1000\","
+                        + "\"repeat\":\"weekly count 0\"}",
+                "not json",
+                "{\"type\":\"todo\",\"description\":\"unterminated}",
+                "{\"type\":\"event\",\"description\":\"gym\",\"start\":\"2026-05-01 0900\",\"end\":\"1000\","
+                        + "\"repeat\":\"daily count 3\",\"tags\":[\"#fit\"]}");
+
+        TaskImporter.Result result = TaskImporter.importInto(file, TaskExporter.Format.JSONL, tasks, SINGAPORE);
+
+        assertEquals(2, result.imported);
+        assertEquals(9, result.rejected);
+        assertEquals(LocalDateTime.of(2019, 12, 2, 18, 0), ((Deadline) tasks.get(0)).getBy());
+        RecurringEvent gym = (RecurringEvent) tasks.get(1);
+        assertEquals(LocalDateTime.of(2026, 5, 1, 10, 0), gym.getTo());
+        assertEquals(3, gym.getRecurrence().getCount());
+        assertEquals(List.of("fit"), gym.getTags());
+    }
+
+    @Test
+    void importInto_readsCalendarsFromOtherPrograms() throws IOException {
+        TaskList tasks = new TaskList();
+        Path file = write("cal.ics",
+                "BEGIN:VCALENDAR",
+                "BEGIN:VEVENT",
+                "SUMMARY:Team sync\\, weekly",
+                "DTSTART;TZID=Europe/London:20260105T090000",
+                "DTEND;TZID=Europe/London:20260105T093000",
+                "RRULE:FREQ=WEEKLY;COUNT=4",
+                "BEGIN:VALARM",
+                "SUMMARY:Reminder",
+                "END:VALARM",
+                "END:VEVENT",
+                "BEGIN:VEVENT",
+                "SUMMARY:Flight",
+                "DTSTART:20260201T010000Z",
+                "END:VEVENT",
+                "BEGIN:VEVENT",
+                "SUMMARY:Holiday",
+                "DTSTART;VALUE=DATE:20260301",
+                "DTEND;VALUE=DATE:20260302",
+                "CATEGORIES:Family,Out of office",
+                "END:VEVENT",
+                "BEGIN:VEVENT",
+                "SUMMARY:Every other week",
+                "DTSTART:20260105T090000",
+                "RRULE:FREQ=WEEKLY;INTERVAL=2",
+                "END:VEVENT",
+                "BEGIN:VTODO",
+                "SUMMARY:Pay a very long bill whose name needs folding because it goes on and on and on ",
+                " and on",
+                "DUE;VALUE=DATE:20260115",
+                "STATUS:COMPLETED",
+                "END:VTODO",
+                "BEGIN:VTODO",
+                "SUMMARY:Water plants",
+                "END:VTODO",
+                "END:VCALENDAR");
+
+        TaskImporter.Result result = TaskImporter.importInto(file, TaskExporter.Format.ICS, tasks, SINGAPORE);
+
+        assertEquals(5, result.imported);
+        assertEquals(1, result.rejected);
+        RecurringEvent sync = (RecurringEvent) tasks.get(0);
+        assertEquals("Team sync, weekly", sync.getDescription());
+        assertEquals(LocalDateTime.of(2026, 1, 5, 17, 0), sync.getFrom());
+        assertEquals(4, sync.getRecurrence().getCount());
+        Event flight = (Event) tasks.get(1);
+        assertEquals(LocalDateTime.of(2026, 2, 1, 9, 0), flight.getFrom());
+        assertEquals(flight.getFrom(), flight.getTo());
+        Event holiday = (Event) tasks.get(2);
+        assertEquals(holiday.getFrom(), holiday.getTo());
+        assertFalse(holiday.hasToTime());
+        assertEquals(List.of("family", "out-of-office"), holiday.getTags());
+        Deadline bill = (Deadline) tasks.get(3);
+        assertTrue(bill.getDescription().endsWith("on and on"), bill.getDescription());
+        assertTrue(bill.isDone());
+        assertTrue(tasks.get(4) instanceof Todo);
+    }
+
+    @Test
+    void importInto_appendsInChunksWithOneVersionChangeEach() throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("type,description");
+        for (int i = 0; i < 10_000; i++) {
+            lines.add("todo,task " + i);
+        }
+        Path file = write("many.csv", lines.toArray(new String[0]));
+        TaskList tasks = new TaskList();
+        long versionBefore = tasks.getVersion();
+
+        TaskImporter.Result result = TaskImporter.importInto(file, TaskExporter.Format.CSV, tasks, ZoneOffset.UTC);
+
+        assertEquals(10_000, result.imported);
+        assertEquals(10_000, tasks.size());
+        assertEquals(versionBefore + 3, tasks.getVersion());
+        assertEquals("task 9999", tasks.get(9_999).getDescription());
+    }
+
+    @Test
+    void formatOf_usesTheFileExtension() {
+        assertEquals(TaskExporter.Format.CSV, TaskImporter.formatOf(Path.of("data/tasks.CSV")));
+        assertEquals(TaskExporter.Format.JSONL, TaskImporter.formatOf(Path.of("tasks.jsonl")));
+        assertEquals(TaskExporter.Format.ICS, TaskImporter.formatOf(Path.of("cal.ics")));
+        assertNull(TaskImporter.formatOf(Path.of("tasks.txt")));
+        assertNull(TaskImporter.formatOf(Path.of("tasks")));
+    }
+}
@@ -0,0 +1,109 @@
+package aoko.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class DeadlineIndexTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 10, 12, 0);
+
+    private static Deadline deadline(String description, LocalDateTime by) {
+        return new Deadline(description, by, true);
+    }
+
+    private static Event event(String description, LocalDateTime from) {
+        return new Event(description, from, true, from.plusHours(1), true);
+    }
+
+    private static List<String> descriptions(List<Task> tasks) {
+        List<String> result = new ArrayList<>();
+        for (Task task : tasks) {
+            result.add(task.getDescription());
+        }
+        return result;
+    }
+
+    @Test
+    void upcoming_mergesDeadlinesAndEventsInDueOrder() {
+        TaskList tasks = new TaskList();
+        tasks.add(deadline("late", NOW.plusDays(3)));
+        tasks.add(new Todo("no date"));
+        tasks.add(event("soon", NOW.plusHours(1)));
+        tasks.add(deadline("past", NOW.minusDays(1)));
+        tasks.add(event("middle", NOW.plusDays(2)));
+
+        DeadlineIndex index = tasks.getDeadlineIndex();
+
+        assertEquals(List.of("soon", "middle"), descriptions(index.upcoming(NOW, 2)));
+        assertEquals(List.of("soon", "middle", "late"), descriptions(index.upcoming(NOW, 10)));
+        assertEquals(List.of("past"), descriptions(index.overdue(NOW)));
+    }
+
+    @Test
+    void mutations_keepIndexInSync() {
+        TaskList tasks = new TaskList();
+        DeadlineIndex index = tasks.getDeadlineIndex();
+        tasks.add(deadline("a", NOW.plusDays(1)));
+        tasks.add(deadline("b", NOW.plusDays(2)));
+        tasks.add(deadline("c", NOW.minusDays(2)));
+
+        tasks.markDone(0);
+        assertEquals(List.of("b"), descriptions(index.upcoming(NOW, 5)));
+        tasks.markNotDone(0);
+        assertEquals(List.of("a", "b"), descriptions(index.upcoming(NOW, 5)));
+        tasks.remove(1);
+        assertEquals(List.of("a"), descriptions(index.upcoming(NOW, 5)));
+        assertEquals(List.of("c"), descriptions(index.overdue(NOW)));
+
+        tasks.replaceWith(List.of(deadline("d", NOW.plusDays(4))));
+        assertEquals(List.of("d"), descriptions(index.upcoming(NOW, 5)));
+        assertEquals(List.of(), index.overdue(NOW));
+    }
+
+    @Test
+    void dateOnlyDeadline_isDueAtEndOfDay() {
+        TaskList tasks = new TaskList();
+        tasks.add(new Deadline("today", NOW.toLocalDate().atStartOfDay(), false));
+
+        assertEquals(List.of("today"), descriptions(tasks.getDeadlineIndex().upcoming(NOW, 5)));
+        assertEquals(List.of(), tasks.getDeadlineIndex().overdue(NOW));
+    }
+
+    @Test
+    void upcoming_matchesSortedScanForRandomLists() {
+        Random random = new Random(37);
+        TaskList tasks = new TaskList();
+        DeadlineIndex index = tasks.getDeadlineIndex();
+        for (int i = 0; i < 2_000; i++) {
+            LocalDateTime due = NOW.plusMinutes(random.nextInt(20_000) - 10_000);
+            tasks.add(random.nextBoolean() ? deadline("d" + i, due) : event("e" + i, due));
+            if (random.nextInt(4) == 0) {
+                tasks.markDone(random.nextInt(tasks.size()));
+            }
+            if (random.nextInt(6) == 0) {
+                tasks.remove(random.nextInt(tasks.size()));
+            }
+        }
+
+        List<Task> expected = new ArrayList<>();
+        for (Task task : tasks.asUnmodifiableList()) {
+            if (!task.isDone() && !DeadlineIndex.dueOf(task).isBefore(NOW)) {
+                expected.add(task);
+            }
+        }
+        expected.sort(Comparator.comparing(DeadlineIndex::dueOf));
+
+        List<Task> actual = index.upcoming(NOW, 50);
+        assertEquals(50, actual.size());
+        for (int i = 0; i < actual.size(); i++) {
+            assertEquals(DeadlineIndex.dueOf(expected.get(i)), DeadlineIndex.dueOf(actual.get(i)));
+        }
+        assertEquals(expected.size(), index.upcoming(NOW, Integer.MAX_VALUE).size());
+    }
+}
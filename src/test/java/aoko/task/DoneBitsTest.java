@@ -0,0 +1,81 @@
+package aoko.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class DoneBitsTest {
+
+    private static int next(List<Boolean> flags, int from, boolean isDone) {
+        for (int i = from; i < flags.size(); i++) {
+            if (flags.get(i) == isDone) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int select(List<Boolean> flags, int rank, boolean isDone) {
+        int seen = 0;
+        for (int i = 0; i < flags.size(); i++) {
+            if (flags.get(i) == isDone && seen++ == rank) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    void randomEdits_matchBooleanList() {
+        DoneBits bits = new DoneBits();
+        List<Boolean> flags = new ArrayList<>();
+        Random random = new Random(7);
+        for (int step = 0; step < 5000; step++) {
+            int choice = random.nextInt(10);
+            if (choice < 5 || flags.isEmpty()) {
+                boolean isDone = random.nextBoolean();
+                bits.add(isDone);
+                flags.add(isDone);
+            } else if (choice < 8) {
+                int index = random.nextInt(flags.size());
+                boolean isDone = random.nextBoolean();
+                bits.set(index, isDone);
+                flags.set(index, isDone);
+            } else {
+                int index = random.nextInt(flags.size());
+                bits.remove(index);
+                flags.remove(index);
+            }
+
+            assertEquals(flags.size(), bits.size());
+            int rank = random.nextInt(flags.size() + 1);
+            assertEquals(select(flags, rank, true), bits.select(rank, true), "step " + step);
+            assertEquals(select(flags, rank, false), bits.select(rank, false), "step " + step);
+            int from = random.nextInt(flags.size() + 1);
+            assertEquals(next(flags, from, true), bits.next(from, true), "step " + step);
+            assertEquals(next(flags, from, false), bits.next(from, false), "step " + step);
+        }
+        assertEquals((int) flags.stream().filter(flag -> flag).count(), bits.countDone());
+        for (int i = 0; i < flags.size(); i++) {
+            assertEquals(flags.get(i), bits.get(i), "index " + i);
+        }
+    }
+
+    @Test
+    void clear_resetsCountsAndReusesWords() {
+        DoneBits bits = new DoneBits();
+        for (int i = 0; i < 200; i++) {
+            bits.add(true);
+        }
+        bits.clear();
+        bits.add(false);
+
+        assertEquals(0, bits.countDone());
+        assertEquals(-1, bits.next(0, true));
+        assertEquals(0, bits.next(0, false));
+    }
+}
@@ -0,0 +1,105 @@
+package aoko.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class EventIndexTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 6);
+
+    private static Event event(String description, int fromHour, int toHour) {
+        return new Event(description, DAY.atTime(fromHour, 0), true, DAY.atTime(toHour, 0), true);
+    }
+
+    private static List<String> describe(List<Task> tasks) {
+        List<String> descriptions = new ArrayList<>();
+        for (Task task : tasks) {
+            descriptions.add(task.getDescription());
+        }
+        return descriptions;
+    }
+
+    private static List<String> describeSlots(List<EventIndex.Slot> slots) {
+        List<String> descriptions = new ArrayList<>();
+        for (EventIndex.Slot slot : slots) {
+            descriptions.add(slot.getStart().toLocalTime() + "-" + slot.getEnd());
+        }
+        return descriptions;
+    }
+
+    @Test
+    void conflictsWith_reportsOverlapsOnlyAndSkipsDoneEvents() {
+        TaskList tasks = new TaskList();
+        tasks.add(event("morning", 9, 11));
+        tasks.add(event("lunch", 12, 13));
+        tasks.add(event("done", 10, 12));
+        tasks.markDone(2);
+        tasks.add(new Event("conference", DAY.atStartOfDay(), false, DAY.atStartOfDay(), false));
+        EventIndex index = tasks.getEventIndex();
+
+        assertEquals(List.of("conference", "morning"), describe(index.conflictsWith(event("call", 10, 12))));
+        assertEquals(List.of("conference"), describe(index.conflictsWith(event("gap", 11, 12))));
+        assertEquals(List.of(), describe(index.conflictsWith(new Event("next day",
+                DAY.plusDays(1).atTime(0, 0), true, DAY.plusDays(1).atTime(1, 0), true))));
+    }
+
+    @Test
+    void freeSlots_sweepsMergedBusyTimeIncludingRecurringOccurrences() {
+        TaskList tasks = new TaskList();
+        tasks.add(event("a", 9, 11));
+        tasks.add(event("b", 10, 12));
+        tasks.add(new Event("overnight", DAY.minusDays(1).atTime(22, 0), true, DAY.atTime(1, 0), true));
+        tasks.add(new RecurringEvent("standup", DAY.minusDays(30).atTime(15, 0), true,
+                DAY.minusDays(30).atTime(15, 15), true, Recurrence.forever(Recurrence.Frequency.DAILY)));
+        EventIndex index = tasks.getEventIndex();
+
+        assertEquals(List.of("01:00-2024-05-06T09:00", "12:00-2024-05-06T15:00", "15:15-2024-05-07T00:00"),
+                describeSlots(index.freeSlots(DAY, Duration.ofMinutes(30))));
+        assertEquals(List.of("01:00-2024-05-06T09:00", "15:15-2024-05-07T00:00"),
+                describeSlots(index.freeSlots(DAY, Duration.ofHours(4))));
+    }
+
+    @Test
+    void intervalTree_matchesNaiveScanAfterRandomEdits() {
+        // Payloads are compared by identity, so each id is boxed once and shared.
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        List<long[]> intervals = new ArrayList<>();
+        List<Integer> live = new ArrayList<>();
+        Random random = new Random(40);
+        for (int i = 0; i < 500; i++) {
+            long start = random.nextInt(10_000);
+            intervals.add(new long[] {start, start + random.nextInt(300)});
+            Integer id = i;
+            tree.add(intervals.get(i)[0], intervals.get(i)[1], id);
+            live.add(id);
+            if (random.nextInt(4) == 0) {
+                Integer removed = live.remove(random.nextInt(live.size()));
+                tree.remove(removed);
+            }
+        }
+
+        for (int query = 0; query < 200; query++) {
+            long start = random.nextInt(10_000);
+            long end = start + random.nextInt(500);
+            List<Integer> expected = new ArrayList<>();
+            for (int i : live) {
+                if (intervals.get(i)[0] < end && intervals.get(i)[1] > start) {
+                    expected.add(i);
+                }
+            }
+            List<Integer> actual = new ArrayList<>();
+            tree.forEachOverlapping(start, end, actual::add);
+            actual.sort(null);
+            expected.sort(null);
+            assertEquals(expected, actual);
+        }
+        assertEquals(live.size(), tree.size());
+    }
+}
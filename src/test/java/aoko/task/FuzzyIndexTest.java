@@ -0,0 +1,89 @@
+package aoko.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class FuzzyIndexTest {
+
+    private static List<String> describe(List<FuzzyIndex.Match> matches) {
+        List<String> descriptions = new ArrayList<>();
+        for (FuzzyIndex.Match match : matches) {
+            descriptions.add(match.getTask().getDescription() + "=" + match.getDistance());
+        }
+        return descriptions;
+    }
+
+    @Test
+    void distance_countsInsertionsDeletionsAndSubstitutions() {
+        assertEquals(0, FuzzyIndex.distance("book", "book"));
+        assertEquals(1, FuzzyIndex.distance("bok", "book"));
+        assertEquals(3, FuzzyIndex.distance("kitten", "sitting"));
+        assertEquals(4, FuzzyIndex.distance("", "four"));
+    }
+
+    @Test
+    void search_ranksByDistanceThenListOrder() {
+        TaskList tasks = new TaskList();
+        tasks.add(new Todo("return library books"));
+        tasks.add(new Todo("read book"));
+        tasks.add(new Todo("project meeting"));
+        tasks.add(new Todo("cook dinner"));
+        FuzzyIndex index = tasks.getFuzzyIndex();
+
+        assertEquals(List.of("read book=1", "return library books=2", "cook dinner=2"),
+                describe(index.search("bok", 2)));
+        assertEquals(List.of("read book=1"), describe(index.search("bok", -1)));
+        assertEquals(List.of("project meeting=2"), describe(index.search("projet meting", 1)));
+    }
+
+    @Test
+    void search_followsRemovalsAndRebuilds() {
+        TaskList tasks = new TaskList();
+        FuzzyIndex index = tasks.getFuzzyIndex();
+        tasks.add(new Todo("alpha"));
+        tasks.add(new Todo("beta"));
+        tasks.add(new Todo("gamma"));
+
+        tasks.remove(0);
+        tasks.remove(0);
+
+        assertEquals(List.of(), index.search("alpha", 1));
+        assertEquals(List.of("gamma=1"), describe(index.search("gama", 1)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void search_matchesNaiveScan() {
+        TaskList tasks = new TaskList();
+        Random random = new Random(41);
+        for (int i = 0; i < 300; i++) {
+            StringBuilder description = new StringBuilder();
+            for (int length = 3 + random.nextInt(5); length > 0; length--) {
+                description.append((char) ('a' + random.nextInt(4)));
+            }
+            tasks.addIfNotDuplicate(new Todo(description.toString()));
+        }
+        FuzzyIndex index = tasks.getFuzzyIndex();
+
+        for (String query : List.of("abc", "dddd", "abcabc", "ba")) {
+            List<String> expected = new ArrayList<>();
+            for (Task task : tasks.asUnmodifiableList()) {
+                if (FuzzyIndex.distance(query, task.getDescription()) <= 2) {
+                    expected.add(task.getDescription());
+                }
+            }
+            List<String> actual = new ArrayList<>();
+            for (FuzzyIndex.Match match : index.search(query, 2)) {
+                actual.add(match.getTask().getDescription());
+            }
+            actual.sort(null);
+            expected.sort(null);
+            assertEquals(expected, actual);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package aoko.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+public class QueryCacheTest {
+
+    private static Supplier<List<Task>> counting(AtomicInteger runs, List<Task> result) {
+        return () -> {
+            runs.incrementAndGet();
+            return result;
+        };
+    }
+
+    @Test
+    void get_sameKeyAndVersion_returnsCachedResult() {
+        TaskList tasks = new TaskList();
+        tasks.add(new Todo("read book"));
+        QueryCache cache = new QueryCache(tasks);
+        AtomicInteger runs = new AtomicInteger();
+
+        List<Task> first = cache.get("find:book", counting(runs, tasks.asUnmodifiableList()));
+        List<Task> second = cache.get("find:book", counting(runs, tasks.asUnmodifiableList()));
+
+        assertSame(first, second);
+        assertEquals(1, runs.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void get_afterMutation_recomputes() {
+        TaskList tasks = new TaskList();
+        tasks.add(new Todo("read book"));
+        QueryCache cache = new QueryCache(tasks);
+        AtomicInteger runs = new AtomicInteger();
+
+        cache.get("find:book", counting(runs, List.of()));
+        tasks.markDone(0);
+        cache.get("find:book", counting(runs, List.of()));
+        cache.get("find:book", counting(runs, List.of()));
+
+        assertEquals(2, runs.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void get_beyondMaxEntries_evictsLeastRecentlyUsed() {
+        TaskList tasks = new TaskList();
+        QueryCache cache = new QueryCache(tasks, 2, 100);
+        AtomicInteger runs = new AtomicInteger();
+
+        cache.get("a", counting(runs, List.of()));
+        cache.get("b", counting(runs, List.of()));
+        cache.get("a", counting(runs, List.of()));
+        cache.get("c", counting(runs, List.of()));
+        cache.get("a", counting(runs, List.of()));
+        cache.get("b", counting(runs, List.of()));
+
+        assertEquals(4, runs.get());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void get_resultsLargerThanBound_areNotCached() {
+        TaskList tasks = new TaskList();
+        tasks.add(new Todo("a"));
+        tasks.add(new Todo("b"));
+        QueryCache cache = new QueryCache(tasks, 8, 1);
+        AtomicInteger runs = new AtomicInteger();
+
+        cache.get("all", counting(runs, tasks.asUnmodifiableList()));
+        cache.get("all", counting(runs, tasks.asUnmodifiableList()));
+
+        assertEquals(2, runs.get());
+        assertEquals(0, cache.size());
+    }
+}
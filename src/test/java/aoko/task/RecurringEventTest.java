@@ -0,0 +1,72 @@
+package aoko.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class RecurringEventTest {
+    private static final LocalDateTime FIRST = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private static RecurringEvent standup(Recurrence recurrence) {
+        return new RecurringEvent("standup", FIRST, true, FIRST.plusMinutes(15), true, recurrence);
+    }
+
+    @Test
+    void occurrencesBetween_tenYearDaily_expandsOnlyTheWindow() {
+        RecurringEvent series = standup(Recurrence.until(Recurrence.Frequency.DAILY, LocalDate.of(2033, 12, 31)));
+
+        List<Event> window = series.occurrencesBetween(LocalDateTime.of(2030, 6, 1, 0, 0),
+                LocalDateTime.of(2030, 6, 3, 23, 59), 100);
+
+        assertEquals(3, window.size());
+        assertEquals(LocalDateTime.of(2030, 6, 1, 9, 0), window.get(0).getFrom());
+        assertEquals(LocalDateTime.of(2030, 6, 3, 9, 15), window.get(2).getTo());
+        assertFalse(series.occursOn(LocalDate.of(2034, 1, 1)));
+    }
+
+    @Test
+    void occursOn_weeklyWithCount_stopsAfterCount() {
+        RecurringEvent series = standup(Recurrence.times(Recurrence.Frequency.WEEKLY, 3));
+
+        assertTrue(series.occursOn(LocalDate.of(2024, 1, 15)));
+        assertFalse(series.occursOn(LocalDate.of(2024, 1, 16)));
+        assertFalse(series.occursOn(LocalDate.of(2024, 1, 22)));
+    }
+
+    @Test
+    void monthly_fromThirtyFirst_clampsWithoutDrifting() {
+        LocalDateTime first = LocalDateTime.of(2024, 1, 31, 0, 0);
+        RecurringEvent rent = new RecurringEvent("rent", first, false, first, false,
+                Recurrence.forever(Recurrence.Frequency.MONTHLY));
+
+        assertTrue(rent.occursOn(LocalDate.of(2024, 2, 29)));
+        assertTrue(rent.occursOn(LocalDate.of(2024, 3, 31)));
+        assertFalse(rent.occursOn(LocalDate.of(2024, 3, 29)));
+    }
+
+    @Test
+    void nextOccurrence_returnsFirstNotStartedAndNullAfterEnd() {
+        RecurringEvent series = standup(Recurrence.times(Recurrence.Frequency.DAILY, 5));
+
+        assertEquals(LocalDateTime.of(2024, 1, 3, 9, 0),
+                series.nextOccurrence(LocalDateTime.of(2024, 1, 2, 9, 1)).getFrom());
+        assertEquals(LocalDateTime.of(2024, 1, 4, 9, 0),
+                series.occurrenceAfter(LocalDateTime.of(2024, 1, 3, 9, 0)).getFrom());
+        assertNull(series.nextOccurrence(LocalDateTime.of(2024, 1, 5, 9, 1)));
+    }
+
+    @Test
+    void display_showsFirstOccurrenceAndRule() {
+        RecurringEvent series = standup(Recurrence.until(Recurrence.Frequency.WEEKLY, LocalDate.of(2024, 3, 1)));
+
+        assertEquals("[R][ ] standup (from: Jan 01 2024 09:00 to: 09:15, every week until Mar 01 2024)",
+                series.display());
+    }
+}
@@ -0,0 +1,68 @@
+package aoko.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+public class TagBitmapTest {
+
+    private static List<Integer> toList(TagBitmap bitmap) {
+        List<Integer> ids = new ArrayList<>();
+        bitmap.forEach(ids::add);
+        return ids;
+    }
+
+    @Test
+    void addAndRemove_matchTreeSetAcrossContainerKinds() {
+        TagBitmap bitmap = new TagBitmap();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 20_000; i++) {
+            int id = random.nextInt(6000) + (random.nextBoolean() ? 0 : 70_000);
+            assertEquals(expected.add(id), bitmap.add(id));
+        }
+        assertEquals(new ArrayList<>(expected), toList(bitmap));
+
+        for (int i = 0; i < 20_000; i++) {
+            int id = random.nextInt(6000) + (random.nextBoolean() ? 0 : 70_000);
+            assertEquals(expected.remove(id), bitmap.remove(id));
+        }
+        assertEquals(new ArrayList<>(expected), toList(bitmap));
+        assertEquals(expected.size(), bitmap.cardinality());
+        for (int id : expected) {
+            assertTrue(bitmap.contains(id));
+        }
+    }
+
+    @Test
+    void and_keepsOnlyCommonIds() {
+        TagBitmap dense = new TagBitmap();
+        TagBitmap sparse = new TagBitmap();
+        TagBitmap everyThird = new TagBitmap();
+        for (int id = 0; id < 200_000; id++) {
+            dense.add(id);
+            if (id % 3 == 0) {
+                everyThird.add(id);
+            }
+        }
+        for (int id = 5; id < 200_000; id += 1000) {
+            sparse.add(id);
+        }
+
+        assertEquals(toList(sparse), toList(dense.and(sparse)));
+        assertEquals(toList(sparse), toList(sparse.and(dense)));
+        assertEquals(toList(everyThird), toList(dense.and(everyThird)));
+        TagBitmap both = sparse.and(everyThird);
+        assertEquals(67, both.cardinality());
+        assertTrue(both.contains(1005));
+        assertFalse(both.contains(2005));
+        assertTrue(new TagBitmap().and(dense).isEmpty());
+    }
+}
@@ -0,0 +1,46 @@
+package aoko.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TagIndexTest {
+
+    private static Todo tagged(String description, String... tags) {
+        Todo todo = new Todo(description);
+        todo.setTags(List.of(tags));
+        return todo;
+    }
+
+    private static List<String> descriptions(List<Task> tasks) {
+        List<String> result = new ArrayList<>();
+        for (Task task : tasks) {
+            result.add(task.getDescription());
+        }
+        return result;
+    }
+
+    @Test
+    void withAllTags_intersectsInListOrderAndFollowsEdits() {
+        TaskList tasks = new TaskList();
+        tasks.add(tagged("a", "work", "urgent"));
+        tasks.add(tagged("b", "work"));
+        TagIndex index = tasks.getTagIndex();
+        tasks.add(tagged("c", "urgent", "WORK"));
+        tasks.add(tagged("d", "home"));
+
+        assertEquals(List.of("a", "c"), descriptions(index.withAllTags(List.of("work", "Urgent"))));
+        assertEquals(3, index.count("work"));
+
+        tasks.remove(0);
+        assertEquals(List.of("c"), descriptions(index.withAllTags(List.of("urgent", "work"))));
+        assertEquals(List.of(), index.withAllTags(List.of("work", "missing")));
+
+        tasks.replaceWith(List.of(tagged("x", "home"), tagged("y", "home", "work")));
+        assertEquals(List.of("x", "y"), descriptions(index.withAllTags(List.of("home"))));
+        assertEquals(2, index.tagCount());
+    }
+}
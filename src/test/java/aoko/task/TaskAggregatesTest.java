@@ -0,0 +1,83 @@
+package aoko.task;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+public class TaskAggregatesTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 4, 9, 0);
+
+    private static Task randomTask(Random random, int i) {
+        LocalDateTime when = BASE.plusDays(random.nextInt(40));
+        return switch (random.nextInt(4)) {
+        case 0 -> new Todo("todo " + i);
+        case 1 -> new Deadline("deadline " + i, when, random.nextBoolean());
+        case 2 -> new Event("event " + i, when, true, when.plusHours(1), true);
+        default -> new RecurringEvent("series " + i, when, true, when.plusHours(1), true,
+                Recurrence.forever(Recurrence.Frequency.WEEKLY));
+        };
+    }
+
+    @Test
+    void counters_matchRecountAfterRandomMutations() {
+        TaskList tasks = new TaskList();
+        TaskAggregates aggregates = tasks.getAggregates();
+        Random random = new Random(43);
+        for (int step = 0; step < 2_000; step++) {
+            int action = random.nextInt(10);
+            if (action < 5 || tasks.size() == 0) {
+                tasks.add(randomTask(random, step));
+            } else if (action < 8) {
+                int index = random.nextInt(tasks.size());
+                if (random.nextBoolean()) {
+                    tasks.markDone(index);
+                } else {
+                    tasks.markNotDone(index);
+                }
+            } else if (action < 9) {
+                tasks.remove(random.nextInt(tasks.size()));
+            } else if (step % 100 == 9) {
+                tasks.replaceWith(List.copyOf(tasks.asUnmodifiableList()));
+            }
+        }
+
+        TaskAggregates recount = new TaskAggregates(tasks);
+        for (TaskAggregates.Kind kind : TaskAggregates.Kind.values()) {
+            assertEquals(recount.count(kind, false), aggregates.count(kind, false), kind + " open");
+            assertEquals(recount.count(kind, true), aggregates.count(kind, true), kind + " done");
+        }
+        TreeMap<LocalDate, int[]> expectedWeeks = recount.countsByWeek();
+        TreeMap<LocalDate, int[]> actualWeeks = aggregates.countsByWeek();
+        assertEquals(expectedWeeks.keySet(), actualWeeks.keySet());
+        for (Map.Entry<LocalDate, int[]> week : expectedWeeks.entrySet()) {
+            assertArrayEquals(week.getValue(), actualWeeks.get(week.getKey()));
+        }
+    }
+
+    @Test
+    void countsByWeek_bucketsByMondayAndDropsEmptyWeeks() {
+        TaskList tasks = new TaskList();
+        tasks.add(new Deadline("sunday", LocalDateTime.of(2024, 3, 10, 0, 0), false));
+        tasks.add(new Event("monday", LocalDateTime.of(2024, 3, 11, 9, 0), true,
+                LocalDateTime.of(2024, 3, 11, 10, 0), true));
+        tasks.add(new Todo("undated"));
+        TaskAggregates aggregates = tasks.getAggregates();
+
+        tasks.markDone(0);
+        tasks.remove(1);
+
+        TreeMap<LocalDate, int[]> weeks = aggregates.countsByWeek();
+        assertEquals(List.of(LocalDate.of(2024, 3, 4)), List.copyOf(weeks.keySet()));
+        assertArrayEquals(new int[] {0, 1}, weeks.get(LocalDate.of(2024, 3, 4)));
+        assertEquals(1, aggregates.total(false));
+        assertEquals(1, aggregates.total(true));
+    }
+}
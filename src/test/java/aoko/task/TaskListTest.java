@@ -0,0 +1,162 @@
+package aoko.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TaskListTest {
+
+    /**
+     * Records each callback as a short string such as {@code "added 0 a"}.
+     */
+    private static class RecordingListener implements TaskListListener {
+        private final List<String> calls = new ArrayList<>();
+
+        @Override
+        public void taskAdded(int index, Task task) {
+            calls.add("added " + index + " " + task.getDescription());
+        }
+
+        @Override
+        public void taskRemoved(int index, Task task) {
+            calls.add("removed " + index + " " + task.getDescription());
+        }
+
+        @Override
+        public void taskDoneChanged(int index, Task task) {
+            calls.add("done " + index + " " + task.isDone());
+        }
+
+        @Override
+        public void tasksReplaced(List<Task> tasks) {
+            calls.add("replaced " + tasks.size());
+        }
+    }
+
+    @Test
+    void mutations_notifyListenerWithIndices() {
+        TaskList tasks = new TaskList();
+        RecordingListener listener = new RecordingListener();
+        tasks.addListener(listener);
+
+        tasks.add(new Todo("a"));
+        assertTrue(tasks.addIfNotDuplicate(new Todo("b")));
+        assertFalse(tasks.addIfNotDuplicate(new Todo("b")));
+        tasks.markDone(1);
+        tasks.markNotDone(1);
+        tasks.remove(0);
+
+        assertEquals(List.of("added 0 a", "added 1 b", "done 1 true", "done 1 false", "removed 0 a"),
+                listener.calls);
+    }
+
+    @Test
+    void markDone_alreadyDone_doesNotNotify() {
+        TaskList tasks = new TaskList();
+        tasks.add(new Todo("a"));
+        tasks.markDone(0);
+        RecordingListener listener = new RecordingListener();
+        tasks.addListener(listener);
+
+        tasks.markDone(0);
+
+        assertTrue(tasks.get(0).isDone());
+        assertEquals(List.of(), listener.calls);
+    }
+
+    @Test
+    void replaceWith_sendsSingleReplacedEventWithoutDuplicates() {
+        TaskList tasks = new TaskList();
+        tasks.add(new Todo("old"));
+        RecordingListener listener = new RecordingListener();
+        tasks.addListener(listener);
+
+        tasks.replaceWith(List.of(new Todo("x"), new Todo("y"), new Todo("x")));
+
+        assertEquals(2, tasks.size());
+        assertEquals(List.of("replaced 2"), listener.calls);
+    }
+
+    @Test
+    void removeListener_stopsNotifications() {
+        TaskList tasks = new TaskList();
+        RecordingListener listener = new RecordingListener();
+        tasks.addListener(listener);
+        tasks.removeListener(listener);
+
+        tasks.add(new Todo("a"));
+
+        assertEquals(List.of(), listener.calls);
+    }
+
+    @Test
+    void getVersion_changesOnlyWhenListChanges() {
+        TaskList tasks = new TaskList();
+        long initial = tasks.getVersion();
+
+        tasks.add(new Todo("a"));
+        long afterAdd = tasks.getVersion();
+        assertFalse(tasks.addIfNotDuplicate(new Todo("a")));
+        tasks.markNotDone(0);
+        assertEquals(afterAdd, tasks.getVersion());
+
+        tasks.markDone(0);
+        long afterMark = tasks.getVersion();
+        tasks.remove(0);
+        long afterRemove = tasks.getVersion();
+        tasks.replaceWith(List.of());
+
+        assertTrue(initial < afterAdd);
+        assertTrue(afterAdd < afterMark);
+        assertTrue(afterMark < afterRemove);
+        assertTrue(afterRemove < tasks.getVersion());
+    }
+
+    @Test
+    void doneViews_followMarksRemovalsAndReplace() {
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < 130; i++) {
+            Todo todo = new Todo("t" + i);
+            if (i % 3 == 0) {
+                todo.markDone();
+            }
+            tasks.add(todo);
+        }
+        assertEquals(44, tasks.countDone());
+        assertEquals(86, tasks.countPending());
+
+        tasks.markDone(64);
+        tasks.markNotDone(63);
+        tasks.remove(0);
+        assertEquals(43, tasks.countDone());
+        assertEquals(2, tasks.nextIndexWithDone(0, true));
+        assertEquals(63, tasks.nextIndexWithDone(60, true));
+        assertEquals(-1, tasks.nextIndexWithDone(129, true));
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).isDone(), tasks.withDone(true).contains(tasks.get(i)), "task " + i);
+        }
+
+        tasks.replaceWith(List.of(new Todo("x")));
+        assertEquals(0, tasks.countDone());
+        assertEquals(List.of(tasks.get(0)), tasks.withDone(false));
+    }
+
+    @Test
+    void copyConstructor_keepsFirstOfEachDuplicateInOrder() {
+        Todo first = new Todo("read book");
+        Todo repeat = new Todo("read book");
+        repeat.markDone();
+
+        TaskList tasks = new TaskList(List.of(first, new Todo("write essay"), repeat, new Todo("buy milk")));
+
+        assertEquals(3, tasks.size());
+        assertTrue(tasks.get(0) == first);
+        assertEquals("buy milk", tasks.get(2).getDescription());
+        assertEquals(0, tasks.countDone());
+    }
+}
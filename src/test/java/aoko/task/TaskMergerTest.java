@@ -0,0 +1,113 @@
+package aoko.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TaskMergerTest {
+
+    private static Todo todo(String description, boolean isDone) {
+        Todo todo = new Todo(description);
+        if (isDone) {
+            todo.markDone();
+        }
+        return todo;
+    }
+
+    private static TaskList current() {
+        TaskList tasks = new TaskList();
+        tasks.add(todo("done here", true));
+        tasks.add(todo("done there", false));
+        tasks.add(new Deadline("report", LocalDateTime.of(2026, 3, 31, 0, 0), false));
+        return tasks;
+    }
+
+    private static List<Task> incoming() {
+        List<Task> incoming = new ArrayList<>();
+        incoming.add(todo("done there", true));
+        incoming.add(todo("done here", false));
+        incoming.add(new Deadline("report", LocalDateTime.of(2026, 4, 30, 0, 0), false));
+        incoming.add(todo("new", true));
+        incoming.add(todo("new", false));
+        return incoming;
+    }
+
+    @Test
+    void merge_keepDone_marksTasksDoneInEitherList() {
+        TaskList tasks = current();
+
+        TaskMerger.Result result = TaskMerger.merge(tasks, incoming(), TaskMerger.Policy.KEEP_DONE);
+
+        assertEquals(2, result.added);
+        assertEquals(1, result.updated);
+        assertEquals(1, result.unchanged);
+        assertEquals(5, tasks.size());
+        assertTrue(tasks.get(0).isDone());
+        assertTrue(tasks.get(1).isDone());
+        assertEquals("report", tasks.get(3).getDescription());
+        assertEquals("new", tasks.get(4).getDescription());
+        assertTrue(tasks.get(4).isDone());
+        assertEquals(3, tasks.countDone());
+    }
+
+    @Test
+    void merge_keepCurrentAndPreferIncoming_settleMatchedDoneStates() {
+        TaskList kept = current();
+        TaskMerger.Result keptResult = TaskMerger.merge(kept, incoming(), TaskMerger.Policy.KEEP_CURRENT);
+        assertEquals(0, keptResult.updated);
+        assertTrue(kept.get(0).isDone());
+        assertFalse(kept.get(1).isDone());
+
+        TaskList preferred = current();
+        TaskMerger.Result preferredResult = TaskMerger.merge(preferred, incoming(),
+                TaskMerger.Policy.PREFER_INCOMING);
+        assertEquals(2, preferredResult.updated);
+        assertFalse(preferred.get(0).isDone());
+        assertTrue(preferred.get(1).isDone());
+        assertEquals(List.of(preferred.get(1), preferred.get(4)), preferred.withDone(true));
+    }
+
+    @Test
+    void merge_repeatedIncomingTask_isResolvedOnce() {
+        TaskList tasks = current();
+        List<Task> incoming = List.of(todo("done there", true), todo("done there", false), todo("new", false),
+                todo("new", true));
+
+        TaskMerger.Result result = TaskMerger.merge(tasks, incoming, TaskMerger.Policy.PREFER_INCOMING);
+
+        assertEquals(1, result.added);
+        assertEquals(1, result.updated);
+        assertEquals(0, result.unchanged);
+        assertTrue(tasks.get(1).isDone());
+        assertFalse(tasks.get(3).isDone());
+    }
+
+    @Test
+    void merge_listOfItself_changesNothing() {
+        TaskList tasks = current();
+        long version = tasks.getVersion();
+
+        TaskMerger.Result result = TaskMerger.merge(tasks, new ArrayList<>(tasks.asUnmodifiableList()),
+                TaskMerger.Policy.PREFER_INCOMING);
+
+        assertEquals(0, result.added + result.updated);
+        assertEquals(3, result.unchanged);
+        assertEquals(version, tasks.getVersion());
+    }
+
+    @Test
+    void policyParse_acceptsHyphenatedNames() {
+        assertEquals(TaskMerger.Policy.KEEP_DONE, TaskMerger.Policy.parse("keep-done"));
+        assertEquals(TaskMerger.Policy.KEEP_CURRENT, TaskMerger.Policy.parse(" Keep-Current "));
+        assertEquals(TaskMerger.Policy.PREFER_INCOMING, TaskMerger.Policy.parse("prefer-incoming"));
+        assertNull(TaskMerger.Policy.parse("newest"));
+        assertNull(TaskMerger.Policy.parse(null));
+    }
+}